@@ -0,0 +1,62 @@
+package org.folio.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.FundDistribution;
+import org.folio.rest.jaxrs.model.Invoice;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+import org.folio.services.adjusment.AdjustmentsService;
+import org.folio.services.caches.CommonSettingsCache;
+import org.folio.services.exchange.CacheableExchangeRateService;
+import org.folio.services.invoice.InvoiceFundDistributionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.vertx.core.Future;
+
+/**
+ * Conversion of the line fund distributions to the system currency. The invoice has a custom exchange rate
+ * and the system currency is stubbed, so the futures are completed synchronously without any remote call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FundDistributionBenchmark {
+
+  @Param({"1", "100", "1000", "10000"})
+  private int lineCount;
+
+  private InvoiceFundDistributionService fundDistributionService;
+  private RequestContext requestContext;
+  private Invoice invoice;
+  private List<InvoiceLine> lines;
+
+  @Setup
+  public void setUp() {
+    var commonSettingsCache = new CommonSettingsCache(null) {
+      @Override
+      public Future<String> getSystemCurrency(RequestContext requestContext) {
+        return Future.succeededFuture(InvoiceFixtures.SYSTEM_CURRENCY);
+      }
+    };
+    fundDistributionService = new InvoiceFundDistributionService(new AdjustmentsService(), commonSettingsCache,
+      new CacheableExchangeRateService(null));
+    requestContext = new RequestContext(null, Map.of());
+    invoice = InvoiceFixtures.createInvoice(InvoiceFixtures.PRORATE_TYPES);
+    lines = InvoiceFixtures.createInvoiceLines(invoice, lineCount);
+  }
+
+  @Benchmark
+  public List<FundDistribution> getAllFundDistributions() {
+    return fundDistributionService.getAllFundDistributions(lines, invoice, requestContext).result();
+  }
+}
@@ -0,0 +1,88 @@
+package org.folio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.folio.rest.jaxrs.model.Adjustment;
+import org.folio.rest.jaxrs.model.FundDistribution;
+import org.folio.rest.jaxrs.model.Invoice;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Deterministic invoices for benchmarks: lines with varying sub-totals and quantities,
+ * each line split between several funds, and prorated and not prorated invoice level adjustments.
+ */
+@UtilityClass
+public class InvoiceFixtures {
+
+  public static final String INVOICE_CURRENCY = "EUR";
+  public static final String SYSTEM_CURRENCY = "USD";
+  public static final double EXCHANGE_RATE = 1.0837d;
+
+  public static final List<Adjustment.Prorate> PRORATE_TYPES = List.of(Adjustment.Prorate.BY_AMOUNT,
+    Adjustment.Prorate.BY_QUANTITY, Adjustment.Prorate.BY_LINE);
+
+  private static final int FUNDS_PER_LINE = 3;
+  private static final long SEED = 20240601L;
+
+  /**
+   * @param prorates prorate types of the invoice level adjustments, one amount and one percentage adjustment per type
+   */
+  public static Invoice createInvoice(List<Adjustment.Prorate> prorates) {
+    List<Adjustment> adjustments = new ArrayList<>();
+    for (Adjustment.Prorate prorate : prorates) {
+      adjustments.add(createAdjustment(prorate, Adjustment.Type.AMOUNT, 100.99d));
+      adjustments.add(createAdjustment(prorate, Adjustment.Type.PERCENTAGE, 7.5d));
+    }
+    adjustments.add(createAdjustment(Adjustment.Prorate.NOT_PRORATED, Adjustment.Type.AMOUNT, 15.5d)
+      .withFundDistributions(createFundDistributions(0)));
+    return new Invoice()
+      .withId(UUID.randomUUID().toString())
+      .withCurrency(INVOICE_CURRENCY)
+      .withExchangeRate(EXCHANGE_RATE)
+      .withAdjustments(adjustments);
+  }
+
+  public static List<InvoiceLine> createInvoiceLines(Invoice invoice, int lineCount) {
+    Random random = new Random(SEED);
+    List<InvoiceLine> lines = new ArrayList<>(lineCount);
+    for (int i = 1; i <= lineCount; i++) {
+      double subTotal = Math.round(random.nextDouble() * 100_000) / 100d;
+      lines.add(new InvoiceLine()
+        .withId(UUID.randomUUID().toString())
+        .withInvoiceId(invoice.getId())
+        .withInvoiceLineNumber(String.valueOf(i))
+        .withQuantity(1 + random.nextInt(20))
+        .withSubTotal(subTotal)
+        .withTotal(subTotal)
+        .withFundDistributions(createFundDistributions(i)));
+    }
+    return lines;
+  }
+
+  private static Adjustment createAdjustment(Adjustment.Prorate prorate, Adjustment.Type type, double value) {
+    return new Adjustment()
+      .withId(UUID.randomUUID().toString())
+      .withDescription(prorate + " " + type)
+      .withProrate(prorate)
+      .withType(type)
+      .withValue(value)
+      .withRelationToTotal(Adjustment.RelationToTotal.IN_ADDITION_TO);
+  }
+
+  private static List<FundDistribution> createFundDistributions(int index) {
+    List<FundDistribution> fundDistributions = new ArrayList<>(FUNDS_PER_LINE);
+    for (int i = 0; i < FUNDS_PER_LINE; i++) {
+      fundDistributions.add(new FundDistribution()
+        .withFundId(UUID.nameUUIDFromBytes(("fund" + (index + i) % 10).getBytes()).toString())
+        .withCode("FUND" + (index + i) % 10)
+        .withDistributionType(FundDistribution.DistributionType.PERCENTAGE)
+        .withValue(100d / FUNDS_PER_LINE));
+    }
+    return fundDistributions;
+  }
+}
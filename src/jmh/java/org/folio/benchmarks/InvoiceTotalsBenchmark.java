@@ -0,0 +1,54 @@
+package org.folio.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.invoices.utils.HelperUtils;
+import org.folio.rest.jaxrs.model.Invoice;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+import org.folio.services.adjusment.AdjustmentsService;
+import org.folio.services.invoice.BaseInvoiceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Line totals with prorated adjustments already applied and invoice totals calculated from the lines
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvoiceTotalsBenchmark {
+
+  @Param({"1", "100", "1000", "10000"})
+  private int lineCount;
+
+  private BaseInvoiceService invoiceService;
+  private Invoice invoice;
+  private List<InvoiceLine> lines;
+
+  @Setup
+  public void setUp() {
+    invoiceService = new BaseInvoiceService(null, null, null);
+    invoice = InvoiceFixtures.createInvoice(InvoiceFixtures.PRORATE_TYPES);
+    lines = InvoiceFixtures.createInvoiceLines(invoice, lineCount);
+    new AdjustmentsService().applyProratedAdjustments(lines, invoice);
+  }
+
+  @Benchmark
+  public List<InvoiceLine> calculateInvoiceLineTotals() {
+    lines.forEach(line -> HelperUtils.calculateInvoiceLineTotals(line, invoice));
+    return lines;
+  }
+
+  @Benchmark
+  public Invoice calculateInvoiceTotals() {
+    invoiceService.calculateTotals(invoice, lines);
+    return invoice;
+  }
+}
@@ -0,0 +1,49 @@
+package org.folio.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.rest.jaxrs.model.Adjustment;
+import org.folio.rest.jaxrs.model.Invoice;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+import org.folio.services.adjusment.AdjustmentsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Proration of invoice level adjustments to the lines. Re-applying the same adjustments replaces the values
+ * calculated by the previous invocation, so the lines are prepared once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProrationBenchmark {
+
+  @Param({"1", "100", "1000", "10000"})
+  private int lineCount;
+
+  @Param({"BY_AMOUNT", "BY_QUANTITY", "BY_LINE"})
+  private Adjustment.Prorate prorate;
+
+  private AdjustmentsService adjustmentsService;
+  private Invoice invoice;
+  private List<InvoiceLine> lines;
+
+  @Setup
+  public void setUp() {
+    adjustmentsService = new AdjustmentsService();
+    invoice = InvoiceFixtures.createInvoice(List.of(prorate));
+    lines = InvoiceFixtures.createInvoiceLines(invoice, lineCount);
+  }
+
+  @Benchmark
+  public List<InvoiceLine> applyProratedAdjustments() {
+    return adjustmentsService.applyProratedAdjustments(lines, invoice);
+  }
+}
@@ -0,0 +1,209 @@
+package org.folio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.InvoiceWorkflowDataHolderBuilder;
+import org.folio.models.InvoiceWorkflowDataHolder;
+import org.folio.rest.acq.model.finance.AwaitingPayment;
+import org.folio.rest.acq.model.finance.Encumbrance;
+import org.folio.rest.acq.model.finance.FiscalYear;
+import org.folio.rest.acq.model.finance.Transaction;
+import org.folio.rest.acq.model.finance.TransactionCollection;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.jaxrs.model.FundDistribution;
+import org.folio.rest.jaxrs.model.Invoice;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+import org.folio.services.finance.transaction.BaseTransactionService;
+import org.folio.services.finance.transaction.EncumbranceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.vertx.core.Future;
+
+/**
+ * Matching of encumbrances and pending payments to the holders of an invoice, 3 holders per line.
+ * The {@code legacy*} benchmarks run copies of the previous linear scan implementations, the setup fails
+ * if the current implementations pair any holder with another transaction than the previous ones.
+ * Transactions are returned by a stubbed service in a shuffled order, some fund distributions have an expense class
+ * different from their encumbrance and some po lines have duplicate encumbrances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionMatchingBenchmark {
+
+  private static final long SEED = 20240601L;
+  private static final List<String> EXPENSE_CLASS_IDS = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+  @Param({"10", "100", "1000", "2000"})
+  private int lineCount;
+
+  private EncumbranceService encumbranceService;
+  private InvoiceWorkflowDataHolderBuilder holderBuilder;
+  private RequestContext requestContext;
+  private String fiscalYearId;
+  private List<InvoiceWorkflowDataHolder> holders;
+  private List<Transaction> encumbrances;
+  private List<Transaction> pendingPayments;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(SEED);
+    fiscalYearId = UUID.randomUUID().toString();
+    Invoice invoice = InvoiceFixtures.createInvoice(List.of());
+    FiscalYear fiscalYear = new FiscalYear().withId(fiscalYearId).withCurrency(InvoiceFixtures.SYSTEM_CURRENCY);
+    holders = new ArrayList<>();
+    encumbrances = new ArrayList<>();
+    pendingPayments = new ArrayList<>();
+    for (InvoiceLine line : InvoiceFixtures.createInvoiceLines(invoice, lineCount)) {
+      line.setPoLineId(UUID.randomUUID().toString());
+      for (FundDistribution fundDistribution : line.getFundDistributions()) {
+        String expenseClassId = EXPENSE_CLASS_IDS.get(random.nextInt(EXPENSE_CLASS_IDS.size()));
+        fundDistribution.setExpenseClassId(expenseClassId);
+        holders.add(new InvoiceWorkflowDataHolder()
+          .withInvoice(invoice)
+          .withInvoiceLine(line)
+          .withFundDistribution(fundDistribution)
+          .withFiscalYear(fiscalYear));
+        // About a quarter of the encumbrances have the other expense class and about an eighth are duplicated
+        int encumbranceCount = random.nextInt(8) == 0 ? 2 : 1;
+        for (int i = 0; i < encumbranceCount; i++) {
+          String encumbranceExpenseClassId = random.nextInt(4) == 0 ? otherExpenseClassId(expenseClassId) : expenseClassId;
+          encumbrances.add(new Transaction()
+            .withId(UUID.randomUUID().toString())
+            .withFiscalYearId(fiscalYearId)
+            .withFromFundId(fundDistribution.getFundId())
+            .withExpenseClassId(encumbranceExpenseClassId)
+            .withEncumbrance(new Encumbrance().withSourcePoLineId(line.getPoLineId())));
+        }
+        pendingPayments.add(new Transaction()
+          .withId(UUID.randomUUID().toString())
+          .withFromFundId(fundDistribution.getFundId())
+          .withSourceInvoiceLineId(line.getId())
+          .withExpenseClassId(expenseClassId)
+          .withAwaitingPayment(new AwaitingPayment().withEncumbranceId(UUID.randomUUID().toString())));
+      }
+    }
+    Collections.shuffle(encumbrances, random);
+    Collections.shuffle(pendingPayments, random);
+
+    var transactionService = new BaseTransactionService(null) {
+      @Override
+      public Future<TransactionCollection> getTransactions(String query, int offset, int limit, RequestContext requestContext) {
+        List<Transaction> transactions = query.startsWith("transactionType==Encumbrance") ? encumbrances : pendingPayments;
+        return Future.succeededFuture(new TransactionCollection()
+          .withTransactions(new ArrayList<>(transactions))
+          .withTotalRecords(transactions.size()));
+      }
+    };
+    encumbranceService = new EncumbranceService(transactionService);
+    holderBuilder = new InvoiceWorkflowDataHolderBuilder(null, null, transactionService, null, null, null);
+    requestContext = new RequestContext(null, Map.of());
+    verifyEquivalence();
+  }
+
+  @Benchmark
+  public List<InvoiceLine> updateEncumbranceLinks() {
+    return encumbranceService.updateInvoiceLinesEncumbranceLinks(holders, fiscalYearId, requestContext).result();
+  }
+
+  @Benchmark
+  public Map<InvoiceWorkflowDataHolder, Transaction> legacyMatchEncumbrances() {
+    return legacyMatchEncumbrancesToHolders(holders, encumbrances);
+  }
+
+  @Benchmark
+  public List<InvoiceWorkflowDataHolder> mapExistingTransactions() {
+    return holderBuilder.withExistingTransactions(holders, requestContext).result();
+  }
+
+  @Benchmark
+  public List<Transaction> legacyMapExistingTransactions() {
+    return legacyMapTransactionsToHolders(new ArrayList<>(pendingPayments), holders);
+  }
+
+  private void verifyEquivalence() {
+    Map<InvoiceWorkflowDataHolder, Transaction> expectedEncumbrances = legacyMatchEncumbrancesToHolders(holders, encumbrances);
+    updateEncumbranceLinks();
+    for (InvoiceWorkflowDataHolder holder : holders) {
+      String expectedId = Objects.requireNonNull(expectedEncumbrances.get(holder)).getId();
+      if (!expectedId.equals(holder.getFundDistribution().getEncumbrance())) {
+        throw new IllegalStateException("Encumbrance of line " + holder.getInvoiceLineId() + " differs from the previous implementation");
+      }
+    }
+
+    List<Transaction> expectedTransactions = legacyMapExistingTransactions();
+    mapExistingTransactions();
+    for (int i = 0; i < holders.size(); i++) {
+      if (expectedTransactions.get(i) != holders.get(i).getExistingTransaction()) {
+        throw new IllegalStateException("Pending payment of line " + holders.get(i).getInvoiceLineId() + " differs from the previous implementation");
+      }
+    }
+  }
+
+  private static String otherExpenseClassId(String expenseClassId) {
+    return EXPENSE_CLASS_IDS.stream().filter(id -> !id.equals(expenseClassId)).findFirst().orElseThrow();
+  }
+
+  private static Map<InvoiceWorkflowDataHolder, Transaction> legacyMatchEncumbrancesToHolders(List<InvoiceWorkflowDataHolder> holders,
+                                                                                             List<Transaction> encumbrances) {
+    Map<InvoiceWorkflowDataHolder, Transaction> matched = new HashMap<>();
+    for (InvoiceWorkflowDataHolder holder : holders) {
+      encumbrances.stream()
+        .filter(enc -> legacyMatchesPoLineAndFund(holder, enc))
+        .filter(enc -> Objects.equals(enc.getExpenseClassId(), holder.getFundDistribution().getExpenseClassId()))
+        .findFirst()
+        .ifPresent(enc -> matched.put(holder, enc));
+    }
+    for (InvoiceWorkflowDataHolder holder : holders) {
+      if (matched.containsKey(holder)) {
+        continue;
+      }
+      encumbrances.stream()
+        .filter(enc -> legacyMatchesPoLineAndFund(holder, enc))
+        .findFirst()
+        .ifPresent(enc -> matched.put(holder, enc));
+    }
+    return matched;
+  }
+
+  private static boolean legacyMatchesPoLineAndFund(InvoiceWorkflowDataHolder holder, Transaction enc) {
+    return enc.getEncumbrance().getSourcePoLineId().equals(holder.getInvoiceLine().getPoLineId())
+      && enc.getFromFundId().equals(holder.getFundId());
+  }
+
+  private static List<Transaction> legacyMapTransactionsToHolders(List<Transaction> transactions, List<InvoiceWorkflowDataHolder> holders) {
+    List<Transaction> result = new ArrayList<>(holders.size());
+    for (InvoiceWorkflowDataHolder holder : holders) {
+      Transaction transaction = transactions.stream()
+        .filter(tr -> legacyIsTransactionRefersToHolder(tr, holder))
+        .findFirst()
+        .orElseGet(() -> new Transaction().withAmount(0d).withCurrency(holder.getFyCurrency()));
+      transactions.remove(transaction);
+      result.add(transaction);
+    }
+    return result;
+  }
+
+  private static boolean legacyIsTransactionRefersToHolder(Transaction transaction, InvoiceWorkflowDataHolder holder) {
+    return !transaction.getFromFundId().equals(holder.getFundId())
+      || !Objects.equals(transaction.getSourceInvoiceLineId(), holder.getInvoiceLineId())
+      || !Objects.equals(transaction.getExpenseClassId(), holder.getFundDistribution().getEncumbrance())
+      || !Objects.nonNull(transaction.getAwaitingPayment())
+      || Objects.equals(transaction.getAwaitingPayment().getEncumbranceId(), holder.getFundDistribution().getEncumbrance());
+  }
+}
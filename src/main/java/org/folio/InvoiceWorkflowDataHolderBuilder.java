@@ -6,8 +6,12 @@ import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.folio.invoices.utils.ErrorCodes.MULTIPLE_FISCAL_YEARS;
+import static org.folio.metrics.ModuleMetrics.BUILD_HOLDERS_WORKFLOW;
+import static org.folio.metrics.ModuleMetrics.timeStage;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -70,18 +74,63 @@ public class InvoiceWorkflowDataHolderBuilder {
                                                                       List<InvoiceLine> invoiceLines,
                                                                       boolean ignoreMissingBudgets,
                                                                       RequestContext requestContext) {
+    return buildCompleteHolders(invoice, invoiceLines, ignoreMissingBudgets, false, requestContext);
+  }
+
+  /**
+   * Builds holders with all the finance data. Enrichment stages run as soon as their inputs are ready:
+   * <ul>
+   *   <li>funds, budgets, encumbrances and expense classes need only the skeleton holders, budgets wait for funds
+   *   when the invoice has no fiscal year</li>
+   *   <li>the fiscal year needs budgets and funds (fund codes are reported by the multiple fiscal years check)</li>
+   *   <li>the exchange rate needs the fiscal year</li>
+   * </ul>
+   * When several stages fail, the error is returned in the order of the sequential workflow: funds, budgets,
+   * fiscal year, encumbrances, expense classes and exchange rate, i.e. a funds, budgets or fiscal year error
+   * takes priority over the errors of encumbrances and expense classes even though they run concurrently.
+   *
+   * @param useBudgetCache allows cached budgets, should be used only by flows which do not rely on budget balances
+   */
+  public Future<List<InvoiceWorkflowDataHolder>> buildCompleteHolders(Invoice invoice,
+                                                                      List<InvoiceLine> invoiceLines,
+                                                                      boolean ignoreMissingBudgets,
+                                                                      boolean useBudgetCache,
+                                                                      RequestContext requestContext) {
     List<InvoiceWorkflowDataHolder> dataHolders = buildHoldersSkeleton(invoiceLines, invoice);
-    return withFunds(dataHolders, requestContext)
-      .compose(holders -> withBudgets(holders, ignoreMissingBudgets, requestContext))
-      .compose(holders -> {
-        if (ignoreMissingBudgets) {
-          return Future.succeededFuture();
-        }
-        return withFiscalYear(checkMultipleFiscalYears(holders), requestContext)
-          .compose(updatedHolders -> withEncumbrances(updatedHolders, requestContext))
-          .compose(updatedHolders -> withExpenseClasses(updatedHolders, requestContext))
-          .compose(updatedHolders -> withExchangeRate(updatedHolders, requestContext));
-      });
+    Future<List<InvoiceWorkflowDataHolder>> funds = timeStage(BUILD_HOLDERS_WORKFLOW, "funds",
+      () -> withFunds(dataHolders, requestContext));
+    // Without the fiscal year of the invoice, current budgets are found by the ledgers of the funds
+    Future<List<InvoiceWorkflowDataHolder>> budgets = invoice.getFiscalYearId() == null
+      ? funds.compose(holders -> timeStage(BUILD_HOLDERS_WORKFLOW, "budgets",
+          () -> withBudgets(dataHolders, ignoreMissingBudgets, useBudgetCache, requestContext)))
+      : timeStage(BUILD_HOLDERS_WORKFLOW, "budgets",
+          () -> withBudgets(dataHolders, ignoreMissingBudgets, useBudgetCache, requestContext));
+    if (ignoreMissingBudgets) {
+      return joinStages(List.of(funds, budgets)).mapEmpty();
+    }
+    Future<List<InvoiceWorkflowDataHolder>> encumbrances = timeStage(BUILD_HOLDERS_WORKFLOW, "encumbrances",
+      () -> withEncumbrances(dataHolders, requestContext));
+    Future<List<InvoiceWorkflowDataHolder>> expenseClasses = timeStage(BUILD_HOLDERS_WORKFLOW, "expense-classes",
+      () -> withExpenseClasses(dataHolders, requestContext));
+    Future<List<InvoiceWorkflowDataHolder>> fiscalYear = joinStages(List.of(funds, budgets))
+      .compose(v -> timeStage(BUILD_HOLDERS_WORKFLOW, "fiscal-year",
+        () -> withFiscalYear(checkMultipleFiscalYears(budgets.result()), requestContext)));
+    Future<List<InvoiceWorkflowDataHolder>> exchangeRate = fiscalYear
+      .compose(holders -> timeStage(BUILD_HOLDERS_WORKFLOW, "exchange-rate", () -> withExchangeRate(holders, requestContext)));
+    return joinStages(List.of(fiscalYear, encumbrances, expenseClasses, exchangeRate))
+      .map(v -> exchangeRate.result());
+  }
+
+  /**
+   * @return future completed when all the stages are completed, failed with the cause of the first failed stage
+   */
+  private Future<Void> joinStages(List<Future<List<InvoiceWorkflowDataHolder>>> stages) {
+    return Future.join(stages)
+      .transform(ar -> stages.stream()
+        .filter(Future::failed)
+        .findFirst()
+        .<Future<Void>>map(failed -> Future.failedFuture(failed.cause()))
+        .orElseGet(Future::succeededFuture));
   }
 
   public List<InvoiceWorkflowDataHolder> buildHoldersSkeleton(List<InvoiceLine> lines, Invoice invoice) {
@@ -135,12 +184,18 @@ public class InvoiceWorkflowDataHolderBuilder {
 
   public Future<List<InvoiceWorkflowDataHolder>> withBudgets(List<InvoiceWorkflowDataHolder> holders,
                                                              boolean ignoreMissingBudgets, RequestContext requestContext) {
+    return withBudgets(holders, ignoreMissingBudgets, false, requestContext);
+  }
+
+  public Future<List<InvoiceWorkflowDataHolder>> withBudgets(List<InvoiceWorkflowDataHolder> holders, boolean ignoreMissingBudgets,
+                                                             boolean useCache, RequestContext requestContext) {
     if (holders.isEmpty()) {
       return succeededFuture(holders);
     }
     List<String> fundIds = holders.stream().map(InvoiceWorkflowDataHolder::getFundId).distinct().collect(toList());
+    List<Fund> funds = holders.stream().map(InvoiceWorkflowDataHolder::getFund).filter(Objects::nonNull).distinct().toList();
     String invoiceFiscalYearId = holders.getFirst().getInvoice().getFiscalYearId();
-    return budgetService.getBudgetsByFundIds(fundIds, invoiceFiscalYearId, ignoreMissingBudgets, requestContext)
+    return budgetService.getBudgetsByFundIds(fundIds, funds, invoiceFiscalYearId, ignoreMissingBudgets, useCache, requestContext)
       .map(budgets -> {
         if (ignoreMissingBudgets && CollectionUtils.isEmpty(budgets)) {
           return List.of();
@@ -233,18 +288,24 @@ public class InvoiceWorkflowDataHolderBuilder {
   }
 
   private List<InvoiceWorkflowDataHolder> mapTransactionsToHolders(List<Transaction> transactions, List<InvoiceWorkflowDataHolder> holders) {
-    return holders.stream().map(holder -> holder.withExistingTransaction(mapTransactionToHolder(holder, transactions))).collect(toList());
+    // Transactions not taken by the previous holders, in the original order
+    List<Transaction> remainingTransactions = new LinkedList<>(transactions);
+    return holders.stream().map(holder -> holder.withExistingTransaction(mapTransactionToHolder(holder, remainingTransactions))).collect(toList());
   }
 
-  private Transaction mapTransactionToHolder(InvoiceWorkflowDataHolder holder, List<Transaction> transactions) {
-    Transaction transaction = transactions.stream()
-      .filter(tr -> isTransactionRefersToHolder(tr, holder))
-      .findFirst()
-      .orElseGet(() -> new Transaction().withAmount(0d).withCurrency(holder.getFyCurrency()));
-    // Added remove so that in case of multiple transaction update our holder won't hold the same transaction because of findFirst().
+  private Transaction mapTransactionToHolder(InvoiceWorkflowDataHolder holder, List<Transaction> remainingTransactions) {
+    // Removing the taken transaction so that in case of multiple transaction update our holder won't hold the same transaction.
     // And in this case we can avoid "Primary Key Violation" when working with invoice summaries.
-    transactions.remove(transaction);
-    return transaction;
+    // Usually the first remaining transaction refers to the holder, so the lookup does not scan the whole list.
+    Iterator<Transaction> iterator = remainingTransactions.iterator();
+    while (iterator.hasNext()) {
+      Transaction transaction = iterator.next();
+      if (isTransactionRefersToHolder(transaction, holder)) {
+        iterator.remove();
+        return transaction;
+      }
+    }
+    return new Transaction().withAmount(0d).withCurrency(holder.getFyCurrency());
   }
 
   private boolean isTransactionRefersToHolder(Transaction transaction, InvoiceWorkflowDataHolder holder) {
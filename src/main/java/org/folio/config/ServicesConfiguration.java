@@ -1,7 +1,12 @@
 package org.folio.config;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
 import org.folio.InvoiceWorkflowDataHolderBuilder;
 import org.folio.converters.AddressConverter;
+import org.folio.metrics.ModuleMetrics;
 import org.folio.rest.core.RestClient;
 import org.folio.services.AcquisitionsUnitsService;
 import org.folio.services.BatchGroupService;
@@ -11,6 +16,7 @@ import org.folio.services.VendorRetrieveService;
 import org.folio.services.VoucherLineService;
 import org.folio.services.adjusment.AdjustmentsService;
 import org.folio.services.caches.CommonSettingsCache;
+import org.folio.services.caches.FinanceReferenceDataCache;
 import org.folio.services.exchange.CacheableExchangeRateService;
 import org.folio.services.finance.FundService;
 import org.folio.services.finance.budget.BudgetExpenseClassService;
@@ -35,6 +41,8 @@ import org.folio.services.order.OrderService;
 import org.folio.services.validator.InvoiceValidator;
 import org.folio.services.validator.VoucherValidator;
 import org.folio.services.voucher.BatchVoucherExportConfigService;
+import org.folio.services.voucher.BatchVoucherArtifactCache;
+import org.folio.services.voucher.BatchVoucherExportScheduler;
 import org.folio.services.voucher.BatchVoucherExportsService;
 import org.folio.services.voucher.BatchVoucherGenerateService;
 import org.folio.services.voucher.BatchVoucherService;
@@ -42,8 +50,11 @@ import org.folio.services.voucher.VoucherCommandService;
 import org.folio.services.voucher.VoucherCreationService;
 import org.folio.services.voucher.VoucherNumberService;
 import org.folio.services.voucher.VoucherService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 
+import io.vertx.core.Vertx;
+
 public class ServicesConfiguration {
   @Bean
   BaseTransactionService transactionService(RestClient restClient) {
@@ -65,18 +76,19 @@ public class ServicesConfiguration {
   }
 
   @Bean
-  FiscalYearService fiscalYearService(RestClient fiscalYearRestClient){
-    return new FiscalYearService(fiscalYearRestClient);
+  FiscalYearService fiscalYearService(RestClient fiscalYearRestClient, FinanceReferenceDataCache financeReferenceDataCache){
+    return new FiscalYearService(fiscalYearRestClient, financeReferenceDataCache);
   }
 
   @Bean
-  CurrentFiscalYearService currentFiscalYearService(RestClient restClient, FundService fundService) {
-    return new CurrentFiscalYearService(restClient, fundService);
+  CurrentFiscalYearService currentFiscalYearService(RestClient restClient, FundService fundService,
+                                                    FinanceReferenceDataCache financeReferenceDataCache) {
+    return new CurrentFiscalYearService(restClient, fundService, financeReferenceDataCache);
   }
 
   @Bean
-  FundService fundService(RestClient restClient) {
-    return new FundService(restClient);
+  FundService fundService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache) {
+    return new FundService(restClient, financeReferenceDataCache);
   }
 
   @Bean
@@ -103,8 +115,9 @@ public class ServicesConfiguration {
   }
 
   @Bean
-  InvoiceLineService invoiceLineService(RestClient restClient) {
-    return new InvoiceLineService(restClient);
+  InvoiceLineService invoiceLineService(RestClient restClient,
+                                        @Value("${mod.invoice.invoice-lines.persist.concurrency:10}") int persistConcurrency) {
+    return new InvoiceLineService(restClient, persistConcurrency);
   }
 
   @Bean
@@ -124,8 +137,9 @@ public class ServicesConfiguration {
   }
 
   @Bean
-  BudgetService budgetService(RestClient restClient) {
-    return new BudgetService(restClient);
+  BudgetService budgetService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache,
+                              FundService fundService, CurrentFiscalYearService currentFiscalYearService) {
+    return new BudgetService(restClient, financeReferenceDataCache, fundService, currentFiscalYearService);
   }
 
   @Bean
@@ -155,8 +169,8 @@ public class ServicesConfiguration {
   }
 
   @Bean
-  ExpenseClassRetrieveService expenseClassRetrieveService(RestClient restClient) {
-    return new ExpenseClassRetrieveService(restClient);
+  ExpenseClassRetrieveService expenseClassRetrieveService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache) {
+    return new ExpenseClassRetrieveService(restClient, financeReferenceDataCache);
   }
 
   @Bean
@@ -208,8 +222,12 @@ public class ServicesConfiguration {
   }
 
   @Bean
-  BatchVoucherService batchVoucherService(RestClient restClient) {
-    return new BatchVoucherService(restClient);
+  BatchVoucherService batchVoucherService(RestClient restClient, Vertx vertx,
+      @Value("${mod.invoice.batch-voucher.conversion.pool-size:4}") int poolSize,
+      @Value("${mod.invoice.batch-voucher.conversion.max-execute-time.seconds:600}") long maxExecuteTime) {
+    // Large batches are converted longer than the default blocked thread warning time
+    var conversionExecutor = vertx.createSharedWorkerExecutor("batch-voucher-conversion", poolSize, maxExecuteTime, TimeUnit.SECONDS);
+    return new BatchVoucherService(restClient, conversionExecutor);
   }
 
   @Bean
@@ -221,9 +239,28 @@ public class ServicesConfiguration {
   BatchVoucherGenerateService batchVoucherGenerateService(VoucherService voucherService,
       InvoiceRetrieveService invoiceRetrieveService, InvoiceLinesRetrieveService invoiceLinesRetrieveService,
       VoucherLineService voucherLineService, VendorRetrieveService vendorRetrieveService,
-      AddressConverter addressConverter, BatchGroupService batchGroupService) {
+      AddressConverter addressConverter, BatchGroupService batchGroupService,
+      @Value("${mod.invoice.batch-voucher.generation.window-size:500}") int windowSize,
+      @Value("${mod.invoice.batch-voucher.generation.window-attempts:3}") int windowAttempts) {
     return new BatchVoucherGenerateService(voucherService, invoiceRetrieveService, invoiceLinesRetrieveService,
-        voucherLineService, vendorRetrieveService, addressConverter, batchGroupService);
+        voucherLineService, vendorRetrieveService, addressConverter, batchGroupService, windowSize, windowAttempts);
+  }
+
+  @Bean(destroyMethod = "close")
+  BatchVoucherArtifactCache batchVoucherArtifactCache(
+      @Value("${mod.invoice.batch-voucher.artifact-cache.directory:#{systemProperties['java.io.tmpdir']}}") String directory,
+      @Value("${mod.invoice.batch-voucher.artifact-cache.maximum-size-mb:1024}") long maximumSizeMb,
+      @Value("${mod.invoice.batch-voucher.artifact-cache.expiration-time.seconds:86400}") long expirationTime) throws IOException {
+    return new BatchVoucherArtifactCache(Path.of(directory), maximumSizeMb, expirationTime);
+  }
+
+  @Bean
+  BatchVoucherExportScheduler batchVoucherExportScheduler(
+      @Value("${mod.invoice.batch-voucher.export.max-concurrent:2}") int maxConcurrentExports,
+      @Value("${mod.invoice.batch-voucher.export.max-queued:100}") int maxQueuedExports) {
+    var scheduler = new BatchVoucherExportScheduler(maxConcurrentExports, maxQueuedExports);
+    ModuleMetrics.monitorExportScheduler(scheduler);
+    return scheduler;
   }
 
   @Bean
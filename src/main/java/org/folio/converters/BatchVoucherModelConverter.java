@@ -1,11 +1,13 @@
 package org.folio.converters;
 
 import java.math.BigInteger;
+import java.util.AbstractList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.folio.jaxb.JAXBUtil;
 import org.folio.rest.jaxrs.model.BatchVoucher;
+import org.folio.rest.jaxrs.model.BatchedVoucher;
 import org.folio.rest.jaxrs.model.jaxb.BatchVoucherType;
 import org.folio.rest.jaxrs.model.jaxb.BatchedVoucherType;
 import org.springframework.core.convert.converter.Converter;
@@ -28,6 +30,19 @@ public class BatchVoucherModelConverter implements Converter<BatchVoucher, Batch
 
   @Override
   public BatchVoucherType convert(BatchVoucher batchVoucher) {
+    return convertHeader(batchVoucher).withBatchedVouchers(convertBatchedVouchers(batchVoucher));
+  }
+
+  /**
+   * Converts the batch voucher the same way as {@link #convert(BatchVoucher)}, but each batched voucher is converted only
+   * when it is marshalled, so the converted batched vouchers are not kept in memory for the whole batch
+   */
+  public BatchVoucherType convertLazily(BatchVoucher batchVoucher) {
+    return convertHeader(batchVoucher)
+      .withBatchedVouchers(new LazyBatchedVouchers(batchVoucher.getBatchedVouchers(), batchedVoucherModelConverter));
+  }
+
+  private BatchVoucherType convertHeader(BatchVoucher batchVoucher) {
     BatchVoucherType xmlBatchVoucherType = new BatchVoucherType();
     xmlBatchVoucherType.setId(batchVoucher.getId());
     if (batchVoucher.getStart() != null) {
@@ -41,9 +56,6 @@ public class BatchVoucherModelConverter implements Converter<BatchVoucher, Batch
     }
     xmlBatchVoucherType.setBatchGroup(batchVoucher.getBatchGroup());
     xmlBatchVoucherType.setTotalRecords(BigInteger.valueOf(batchVoucher.getTotalRecords()));
-
-    BatchVoucherType.BatchedVouchers batchedVouchers = convertBatchedVouchers(batchVoucher);
-    xmlBatchVoucherType.withBatchedVouchers(batchedVouchers);
     return xmlBatchVoucherType;
   }
 
@@ -56,4 +68,24 @@ public class BatchVoucherModelConverter implements Converter<BatchVoucher, Batch
     batchedVouchers.withBatchedVoucher(batchedVouchersList);
     return batchedVouchers;
   }
+
+  /**
+   * JAXB marshals the batched vouchers through the iterator of the list field, so the list converts the elements on access
+   */
+  private static class LazyBatchedVouchers extends BatchVoucherType.BatchedVouchers {
+
+    LazyBatchedVouchers(List<BatchedVoucher> source, BatchedVoucherModelConverter converter) {
+      this.batchedVoucher = new AbstractList<>() {
+        @Override
+        public BatchedVoucherType get(int index) {
+          return converter.convert(source.get(index));
+        }
+
+        @Override
+        public int size() {
+          return source.size();
+        }
+      };
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package org.folio.dataimport.cache;
 
+import static org.folio.metrics.ModuleMetrics.monitorCache;
 import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
 import static org.folio.utils.CacheUtils.buildAsyncCache;
 
@@ -35,7 +36,7 @@ public class JobProfileSnapshotCache {
 
   @PostConstruct
   void init() {
-    this.asyncCache = buildAsyncCache(Vertx.currentContext(), cacheExpirationTime);
+    this.asyncCache = monitorCache(buildAsyncCache(Vertx.currentContext(), cacheExpirationTime), "job-profile-snapshots");
   }
 
   public CompletableFuture<Optional<ProfileSnapshotWrapper>> get(String profileSnapshotId, Map<String, String> okapiHeaders) {
@@ -1,8 +1,10 @@
 package org.folio.invoices.events.handlers;
 
 import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
+import static javax.ws.rs.core.Response.Status.TOO_MANY_REQUESTS;
 import static org.folio.invoices.utils.HelperUtils.BATCH_VOUCHER_EXPORT;
 import static org.folio.invoices.utils.HelperUtils.getOkapiHeaders;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
 
 import java.util.Map;
 
@@ -15,10 +17,12 @@ import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.rest.impl.BatchVoucherPersistHelper;
 import org.folio.rest.impl.UploadBatchVoucherExportHelper;
 import org.folio.rest.jaxrs.model.BatchVoucherExport;
+import org.folio.services.voucher.BatchVoucherExportScheduler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import io.vertx.core.Context;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.Message;
@@ -28,10 +32,12 @@ import io.vertx.core.json.JsonObject;
 public class BatchVoucherProcessHandler implements Handler<Message<JsonObject>> {
   protected final Logger logger = LogManager.getLogger(this.getClass());
   private final Context ctx;
+  private final BatchVoucherExportScheduler exportScheduler;
 
   @Autowired
-  public BatchVoucherProcessHandler(Vertx vertx) {
+  public BatchVoucherProcessHandler(Vertx vertx, BatchVoucherExportScheduler exportScheduler) {
     ctx = vertx.getOrCreateContext();
+    this.exportScheduler = exportScheduler;
   }
 
   @Override
@@ -43,13 +49,21 @@ public class BatchVoucherProcessHandler implements Handler<Message<JsonObject>>
     UploadBatchVoucherExportHelper uploadService = new UploadBatchVoucherExportHelper(okapiHeaders, ctx);
 
     var bvExport = getBatchVoucherExportBody(body);
-    manager.persistBatchVoucher(bvExport)
-      .map(bvId -> {
-        bvExport.setBatchVoucherId(bvId);
-        isBatchVoucherCreated(bvExport);
-        return null;
+    exportScheduler.schedule(okapiHeaders.get(OKAPI_HEADER_TENANT), () -> manager.persistBatchVoucher(bvExport)
+        .map(bvId -> {
+          bvExport.setBatchVoucherId(bvId);
+          isBatchVoucherCreated(bvExport);
+          return null;
+        })
+        .compose(v -> uploadService.uploadBatchVoucherExport(bvExport)))
+      .recover(t -> {
+        // The export was not started, so the record would stay pending without the error status
+        if (t instanceof HttpException httpException && httpException.getCode() == TOO_MANY_REQUESTS.getStatusCode()) {
+          return manager.markBatchVoucherExportFailed(bvExport, t)
+            .transform(v -> Future.failedFuture(t));
+        }
+        return Future.failedFuture(t);
       })
-      .compose(v -> uploadService.uploadBatchVoucherExport(bvExport))
       .onComplete(asyncResult -> {
         // Sending reply message just in case some logic requires it
         if (asyncResult.succeeded()) {
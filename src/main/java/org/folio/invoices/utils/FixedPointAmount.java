@@ -0,0 +1,191 @@
+package org.folio.invoices.utils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import javax.money.Monetary;
+
+/**
+ * Immutable exact decimal amount stored as a {@code long} unscaled value and a scale, used for invoice totals instead of
+ * Moneta {@code Money} to avoid allocating several {@code BigDecimal} and {@code Money} objects per line.
+ * <p>
+ * Results are identical to the Moneta calculations: {@code Money.of(double)} takes the decimal value of
+ * {@link Double#toString(double)}, all the operations here are exact and rounding is HALF_EVEN to the currency fraction digits.
+ * An amount which can not be represented exactly (too many digits, more than 16 significant digits in an intermediate
+ * result, {@code null} or non-finite input) becomes inexact and stays inexact through all the operations,
+ * callers are expected to fall back to Moneta in this case.
+ */
+public final class FixedPointAmount {
+
+  static final int MAX_INPUT_SCALE = 9;
+  private static final int MAX_SCALE = 18;
+  private static final long MAX_INPUT = 999_999_999_999_999L;
+  private static final long MAX_EXACT = 9_999_999_999_999_999L;
+  // BigDecimal.doubleValue() and division of two exact doubles give the same correctly rounded result below this limit
+  private static final long MAX_CONVERTIBLE = 1L << 52;
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+  private static final Map<String, Integer> FRACTION_DIGITS = new ConcurrentHashMap<>();
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_SCALE; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private static final FixedPointAmount ZERO = new FixedPointAmount(0, 0);
+  private static final FixedPointAmount INEXACT = new FixedPointAmount(0, -1);
+
+  private final long unscaled;
+  private final int scale;
+
+  private FixedPointAmount(long unscaled, int scale) {
+    this.unscaled = unscaled;
+    this.scale = scale;
+  }
+
+  /**
+   * @return default fraction digits of the currency, resolved with {@link Monetary#getCurrency(String, String...)} once per currency
+   */
+  public static int getFractionDigits(String currency) {
+    return FRACTION_DIGITS.computeIfAbsent(currency, code -> Monetary.getCurrency(code).getDefaultFractionDigits());
+  }
+
+  public static FixedPointAmount zero() {
+    return ZERO;
+  }
+
+  public static FixedPointAmount inexact() {
+    return INEXACT;
+  }
+
+  /**
+   * @return exact decimal value of {@link Double#toString(double)} or inexact amount if it has more than 15 digits
+   * or more than {@value #MAX_INPUT_SCALE} fraction digits
+   */
+  public static FixedPointAmount of(Double value) {
+    if (value == null || !Double.isFinite(value)) {
+      return INEXACT;
+    }
+    double absValue = Math.abs(value);
+    for (int valueScale = 0; valueScale <= MAX_INPUT_SCALE; valueScale++) {
+      double scaled = absValue * POWERS_OF_TEN[valueScale];
+      if (scaled > MAX_INPUT) {
+        return INEXACT;
+      }
+      long candidate = Math.round(scaled);
+      // A decimal with at most 15 significant digits is the only such decimal rounding to the double,
+      // so it is numerically equal to the shortest representation returned by Double.toString
+      if ((double) candidate / POWERS_OF_TEN[valueScale] == absValue) {
+        return new FixedPointAmount(value < 0 ? -candidate : candidate, valueScale);
+      }
+    }
+    return INEXACT;
+  }
+
+  /**
+   * Sums the values of the items, {@code null} values make the sum inexact
+   */
+  public static <T> FixedPointAmount sum(List<T> items, Function<T, Double> valueExtractor) {
+    FixedPointAmount sum = ZERO;
+    for (T item : items) {
+      sum = sum.add(of(valueExtractor.apply(item)));
+      if (!sum.isExact()) {
+        return INEXACT;
+      }
+    }
+    return sum;
+  }
+
+  public boolean isExact() {
+    return scale >= 0;
+  }
+
+  /**
+   * @return {@code true} if the amount is exact and {@link #toDouble()} gives the same value as {@code BigDecimal.doubleValue()}
+   */
+  public boolean isConvertibleToDouble() {
+    return isExact() && Math.abs(unscaled) < MAX_CONVERTIBLE;
+  }
+
+  public double toDouble() {
+    if (!isConvertibleToDouble()) {
+      throw new IllegalStateException("Amount can not be converted to double exactly");
+    }
+    return scale == 0 ? (double) unscaled : (double) unscaled / POWERS_OF_TEN[scale];
+  }
+
+  public FixedPointAmount add(FixedPointAmount amount) {
+    if (!isExact() || !amount.isExact()) {
+      return INEXACT;
+    }
+    int resultScale = Math.max(scale, amount.scale);
+    long augend = rescale(unscaled, scale, resultScale);
+    long addend = rescale(amount.unscaled, amount.scale, resultScale);
+    if (augend == Long.MIN_VALUE || addend == Long.MIN_VALUE) {
+      return INEXACT;
+    }
+    return exactOrInexact(augend + addend, resultScale);
+  }
+
+  public FixedPointAmount abs() {
+    return unscaled < 0 ? new FixedPointAmount(-unscaled, scale) : this;
+  }
+
+  /**
+   * @return exact {@code this * percent / 100}
+   */
+  public FixedPointAmount percent(FixedPointAmount percent) {
+    if (!isExact() || !percent.isExact()) {
+      return INEXACT;
+    }
+    int resultScale = scale + percent.scale + 2;
+    if (resultScale > MAX_SCALE) {
+      return INEXACT;
+    }
+    if (percent.unscaled != 0 && Math.abs(unscaled) > MAX_EXACT / Math.abs(percent.unscaled)) {
+      return INEXACT;
+    }
+    return new FixedPointAmount(unscaled * percent.unscaled, resultScale);
+  }
+
+  /**
+   * Rounds HALF_EVEN to the given number of fraction digits, amounts with less fraction digits are not changed
+   */
+  public FixedPointAmount round(int fractionDigits) {
+    if (!isExact() || scale <= fractionDigits) {
+      return this;
+    }
+    long divisor = POWERS_OF_TEN[scale - fractionDigits];
+    long quotient = unscaled / divisor;
+    long remainder = Math.abs(unscaled % divisor);
+    long doubledRemainder = remainder * 2;
+    if (doubledRemainder > divisor || (doubledRemainder == divisor && (quotient & 1) != 0)) {
+      quotient += Long.signum(unscaled);
+    }
+    return new FixedPointAmount(quotient, fractionDigits);
+  }
+
+  private static long rescale(long value, int fromScale, int toScale) {
+    if (fromScale == toScale) {
+      return value;
+    }
+    long multiplier = POWERS_OF_TEN[toScale - fromScale];
+    if (Math.abs(value) > MAX_EXACT / multiplier) {
+      return Long.MIN_VALUE;
+    }
+    return value * multiplier;
+  }
+
+  private static FixedPointAmount exactOrInexact(long value, int valueScale) {
+    return Math.abs(value) > MAX_EXACT ? INEXACT : new FixedPointAmount(value, valueScale);
+  }
+
+  @Override
+  public String toString() {
+    return isExact() ? BigDecimal.valueOf(unscaled, scale).toPlainString() : "INEXACT";
+  }
+}
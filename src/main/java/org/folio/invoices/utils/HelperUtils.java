@@ -70,6 +70,7 @@ public class HelperUtils {
   public static final String ALL_UNITS_CQL = IS_DELETED_PROP + "=*";
   public static final String BATCH_VOUCHER_EXPORT = "batchVoucherExport";
 
+  private static final int INVOICE_LINE_SUB_TOTAL_SCALE = 2;
   private static final Pattern CQL_SORT_BY_PATTERN = Pattern.compile("(.*)(\\ssortBy\\s.*)", Pattern.CASE_INSENSITIVE);
 
   private HelperUtils() {
@@ -116,6 +117,28 @@ public class HelperUtils {
       .with(MonetaryOperators.rounding());
   }
 
+  /**
+   * Fixed point equivalent of {@link #calculateAdjustmentsTotal(List, MonetaryAmount)}
+   *
+   * @return adjustments total rounded to the fraction digits or inexact amount if the Moneta calculation is required
+   */
+  public static FixedPointAmount calculateAdjustmentsTotal(List<Adjustment> adjustments, FixedPointAmount subTotal,
+                                                           int fractionDigits) {
+    FixedPointAmount total = FixedPointAmount.zero();
+    for (Adjustment adjustment : adjustments) {
+      if (adjustment.getRelationToTotal() != Adjustment.RelationToTotal.IN_ADDITION_TO) {
+        continue;
+      }
+      if (adjustment.getType() == null) {
+        // keep the error reported by the Moneta calculation
+        return FixedPointAmount.inexact();
+      }
+      FixedPointAmount value = FixedPointAmount.of(adjustment.getValue());
+      total = total.add(adjustment.getType() == Adjustment.Type.PERCENTAGE ? subTotal.abs().percent(value) : value);
+    }
+    return total.round(fractionDigits);
+  }
+
   public static MonetaryAmount calculateAdjustment(Adjustment adjustment, MonetaryAmount subTotal) {
     if (adjustment.getType().equals(Adjustment.Type.PERCENTAGE)) {
       // The adjustment amount is calculated by absolute value of subTotal i.e. sign of the percent value defines resulted sign
@@ -212,6 +235,12 @@ public class HelperUtils {
   }
 
   public static double calculateVoucherAmount(Voucher voucher, List<VoucherLine> voucherLines) {
+    int fractionDigits = FixedPointAmount.getFractionDigits(voucher.getSystemCurrency());
+    FixedPointAmount fixedPointAmount = FixedPointAmount.sum(voucherLines, VoucherLine::getAmount).round(fractionDigits);
+    if (fixedPointAmount.isConvertibleToDouble()) {
+      return fixedPointAmount.toDouble();
+    }
+
     CurrencyUnit currency = Monetary.getCurrency(voucher.getSystemCurrency());
 
     MonetaryAmount amount = voucherLines.stream()
@@ -231,9 +260,20 @@ public class HelperUtils {
   }
 
   public static void calculateInvoiceLineTotals(InvoiceLine invoiceLine, Invoice invoice) {
+    int fractionDigits = FixedPointAmount.getFractionDigits(invoice.getCurrency());
+    FixedPointAmount fixedPointSubTotal = FixedPointAmount.of(invoiceLine.getSubTotal()).round(INVOICE_LINE_SUB_TOTAL_SCALE);
+    FixedPointAmount fixedPointAdjustmentsTotal = calculateAdjustmentsTotal(invoiceLine.getAdjustments(), fixedPointSubTotal,
+      fractionDigits);
+    FixedPointAmount fixedPointTotal = fixedPointAdjustmentsTotal.add(fixedPointSubTotal).round(fractionDigits);
+    if (fixedPointAdjustmentsTotal.isConvertibleToDouble() && fixedPointTotal.isConvertibleToDouble()) {
+      invoiceLine.setAdjustmentsTotal(fixedPointAdjustmentsTotal.toDouble());
+      invoiceLine.setTotal(fixedPointTotal.toDouble());
+      return;
+    }
+
     String currency = invoice.getCurrency();
     CurrencyUnit currencyUnit = Monetary.getCurrency(currency);
-    BigDecimal invoiceLineSubTotal = BigDecimal.valueOf(invoiceLine.getSubTotal()).setScale(2, RoundingMode.HALF_EVEN);
+    BigDecimal invoiceLineSubTotal = BigDecimal.valueOf(invoiceLine.getSubTotal()).setScale(INVOICE_LINE_SUB_TOTAL_SCALE, RoundingMode.HALF_EVEN);
     MonetaryAmount subTotal = Money.of(invoiceLineSubTotal, currencyUnit);
 
     MonetaryAmount adjustmentTotals = calculateAdjustmentsTotal(invoiceLine.getAdjustments(), subTotal);
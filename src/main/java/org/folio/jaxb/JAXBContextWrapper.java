@@ -24,6 +24,11 @@ public final class JAXBContextWrapper {
   private final Schema schema;
   private final boolean isOutputFormatted;
   private final boolean hasXmlDeclaration;
+  // Marshaller and Unmarshaller are not thread-safe, so the configured instances are reused by the thread they were created for
+  private final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
+  private final ThreadLocal<Marshaller> validatingMarshallers = new ThreadLocal<>();
+  private final ThreadLocal<Unmarshaller> unmarshallers = new ThreadLocal<>();
+  private final ThreadLocal<Unmarshaller> validatingUnmarshallers = new ThreadLocal<>();
 
   /**
    * The main purpose is to initialize JAXB Marshaller and Unmarshaller to use the instances for business logic operations
@@ -46,6 +51,43 @@ public final class JAXBContextWrapper {
     return jaxbMarshaller;
   }
 
+  /**
+   * @return marshaller of the current thread, it must not be used by another thread or passed out of the marshalling call
+   */
+  public Marshaller getMarshaller(boolean isValidationNeeded) throws JAXBException {
+    ThreadLocal<Marshaller> pool = isValidationNeeded ? validatingMarshallers : marshallers;
+    Marshaller jaxbMarshaller = pool.get();
+    if (jaxbMarshaller == null) {
+      jaxbMarshaller = createMarshaller(isValidationNeeded);
+      pool.set(jaxbMarshaller);
+    }
+    return jaxbMarshaller;
+  }
+
+  /**
+   * Drops the marshaller of the current thread, so a marshaller left in unknown state by a failed call is not reused
+   */
+  public void evictMarshaller(boolean isValidationNeeded) {
+    (isValidationNeeded ? validatingMarshallers : marshallers).remove();
+  }
+
+  /**
+   * @return unmarshaller of the current thread, it must not be used by another thread or passed out of the unmarshalling call
+   */
+  public Unmarshaller getUnmarshaller(boolean isValidationNeeded) throws JAXBException {
+    ThreadLocal<Unmarshaller> pool = isValidationNeeded ? validatingUnmarshallers : unmarshallers;
+    Unmarshaller jaxbUnmarshaller = pool.get();
+    if (jaxbUnmarshaller == null) {
+      jaxbUnmarshaller = createUnmarshaller(isValidationNeeded);
+      pool.set(jaxbUnmarshaller);
+    }
+    return jaxbUnmarshaller;
+  }
+
+  public void evictUnmarshaller(boolean isValidationNeeded) {
+    (isValidationNeeded ? validatingUnmarshallers : unmarshallers).remove();
+  }
+
   public Unmarshaller createUnmarshaller(boolean isValidationNeeded) throws JAXBException {
     // Unmarshaller is not thread-safe, so we should create every time a new one
     Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
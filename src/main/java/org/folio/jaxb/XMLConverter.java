@@ -2,8 +2,10 @@ package org.folio.jaxb;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -26,6 +28,8 @@ import org.xml.sax.SAXException;
 
 public final class XMLConverter {
   private static final Logger log = LogManager.getLogger(XMLConverter.class);
+  // Factory lookup scans the class path, the configured factory is thread-safe for creating writers
+  private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
   private final JAXBContextWrapper jaxbContextWrapper;
   private final JAXBRootElementNameResolver rootElementNameResolver;
 
@@ -60,19 +64,12 @@ public final class XMLConverter {
     StopWatch timer = log.isDebugEnabled() ? StopWatch.createStarted() : null;
     XMLStreamWriter xmlOut = null;
     try (StringWriter writer = new StringWriter()) {
-      xmlOut = XMLOutputFactory.newFactory()
-        .createXMLStreamWriter(writer);
-      JAXBElement<T> element = new JAXBElement<>(rootElementNameResolver.getName(clazz), clazz, xmlObject);
+      xmlOut = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
       xmlOut.writeStartDocument();
-
-      fillNameSpaces(nameSpaces, xmlOut);
-
-      Marshaller jaxbMarshaller = jaxbContextWrapper.createMarshaller(isValidationNeeded);
-      jaxbMarshaller.marshal(element, xmlOut);
-      xmlOut.writeEndDocument();
+      writeDocument(clazz, xmlObject, nameSpaces, isValidationNeeded, xmlOut);
       close(xmlOut);
       return writer.toString();
-    } catch (JAXBException | IOException e) {
+    } catch (IOException e) {
       // In case there is an issue to marshal response, there is no way to handle it
       throw new IllegalStateException("The " + xmlObject.getClass()
         .getName() + " response cannot be converted to string representation.", e);
@@ -83,6 +80,53 @@ public final class XMLConverter {
     }
   }
 
+  /**
+   * Marshals object directly to the output stream in UTF-8 without building the string representation,
+   * the stream is flushed but not closed
+   *
+   * @param xmlObject          object to marshal
+   * @param isValidationNeeded if set to true, then validate by XSD schema
+   * @param outputStream       stream to write the marshaled object to
+   */
+  public <T> void marshal(Class<T> clazz, T xmlObject, Map<String, String> nameSpaces, boolean isValidationNeeded,
+      OutputStream outputStream) throws XMLStreamException {
+    StopWatch timer = log.isDebugEnabled() ? StopWatch.createStarted() : null;
+    XMLStreamWriter xmlOut = null;
+    try {
+      xmlOut = XML_OUTPUT_FACTORY.createXMLStreamWriter(outputStream, StandardCharsets.UTF_8.name());
+      xmlOut.writeStartDocument();
+      writeDocument(clazz, xmlObject, nameSpaces, isValidationNeeded, xmlOut);
+      xmlOut.flush();
+    } finally {
+      close(xmlOut);
+      logExecutionTime(xmlObject.getClass()
+        .getName() + " written to stream", timer);
+    }
+  }
+
+  private <T> void writeDocument(Class<T> clazz, T xmlObject, Map<String, String> nameSpaces, boolean isValidationNeeded,
+      XMLStreamWriter xmlOut) throws XMLStreamException {
+    boolean isMarshalled = false;
+    try {
+      JAXBElement<T> element = new JAXBElement<>(rootElementNameResolver.getName(clazz), clazz, xmlObject);
+
+      fillNameSpaces(nameSpaces, xmlOut);
+
+      Marshaller jaxbMarshaller = jaxbContextWrapper.getMarshaller(isValidationNeeded);
+      jaxbMarshaller.marshal(element, xmlOut);
+      isMarshalled = true;
+      xmlOut.writeEndDocument();
+    } catch (JAXBException e) {
+      // In case there is an issue to marshal response, there is no way to handle it
+      throw new IllegalStateException("The " + xmlObject.getClass()
+        .getName() + " response cannot be converted to string representation.", e);
+    } finally {
+      if (!isMarshalled) {
+        jaxbContextWrapper.evictMarshaller(isValidationNeeded);
+      }
+    }
+  }
+
   private void fillNameSpaces(Map<String, String> nameSpaces, XMLStreamWriter xmlOut) throws XMLStreamException {
     if (Objects.nonNull(nameSpaces)) {
       for (Map.Entry<String, String> pair : nameSpaces.entrySet()) {
@@ -102,11 +146,11 @@ public final class XMLConverter {
   public <T> T unmarshal(Class<T> clazz, String xmlStr, boolean isValidationNeeded) {
     StopWatch timer = log.isDebugEnabled() ? StopWatch.createStarted() : null;
     try (StringReader reader = new StringReader(xmlStr)) {
-      // Unmarshaller is not thread-safe, so we should create every time a new one
-      Unmarshaller jaxbUnmarshaller = jaxbContextWrapper.createUnmarshaller(isValidationNeeded);
+      Unmarshaller jaxbUnmarshaller = jaxbContextWrapper.getUnmarshaller(isValidationNeeded);
       Object response = jaxbUnmarshaller.unmarshal(reader);
       return clazz.cast(response);
     } catch (JAXBException e) {
+      jaxbContextWrapper.evictUnmarshaller(isValidationNeeded);
       // In case there is an issue to unmarshal response, there is no way to handle it
       throw new IllegalStateException("The string cannot be converted to " + clazz.getName() + " response.", e);
     } finally {
@@ -125,10 +169,11 @@ public final class XMLConverter {
   public <T> T unmarshal(Class<T> clazz, byte[] byteSource, boolean isValidationNeeded) {
     StopWatch timer = log.isDebugEnabled() ? StopWatch.createStarted() : null;
     try (ByteArrayInputStream inputStream = new ByteArrayInputStream(byteSource)) {
-      Unmarshaller jaxbUnmarshaller = jaxbContextWrapper.createUnmarshaller(isValidationNeeded);
+      Unmarshaller jaxbUnmarshaller = jaxbContextWrapper.getUnmarshaller(isValidationNeeded);
       Object response = jaxbUnmarshaller.unmarshal(inputStream);
       return clazz.cast(response);
     } catch (JAXBException | IOException e) {
+      jaxbContextWrapper.evictUnmarshaller(isValidationNeeded);
       // In case there is an issue to unmarshal byteSource, there is no way to handle it
       throw new IllegalStateException("The byte array cannot be converted to JAXB object response.", e);
     } finally {
@@ -0,0 +1,26 @@
+package org.folio.metrics;
+
+import org.folio.kafka.AsyncRecordHandler;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+
+/**
+ * Decorator of the Kafka record handler recording throughput, processing time and consumer lag of the records
+ */
+public class MeteredRecordHandler<K, V> implements AsyncRecordHandler<K, V> {
+
+  private final AsyncRecordHandler<K, V> delegate;
+
+  public MeteredRecordHandler(AsyncRecordHandler<K, V> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public Future<K> handle(KafkaConsumerRecord<K, V> kafkaRecord) {
+    long startNanos = System.nanoTime();
+    long ageMillis = kafkaRecord.timestamp() > 0 ? Math.max(0, System.currentTimeMillis() - kafkaRecord.timestamp()) : -1;
+    return delegate.handle(kafkaRecord)
+      .onComplete(ar -> ModuleMetrics.recordKafkaRecord(kafkaRecord.topic(), ageMillis, startNanos, ar.succeeded()));
+  }
+}
@@ -0,0 +1,193 @@
+package org.folio.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.folio.rest.core.HttpClientPoolStats;
+import org.folio.services.voucher.BatchVoucherExportScheduler;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.vertx.core.Future;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Micrometer metrics of the module: outbound HTTP calls, invoice workflow stages, caches,
+ * connection pools, batch voucher exports and data import Kafka consumers. Metrics are exposed in Prometheus format with {@link #scrape()}.
+ * <p>
+ * Endpoint tags are normalized to keep cardinality low: host and query are dropped, UUIDs are replaced with {@code {id}}.
+ */
+@UtilityClass
+public class ModuleMetrics {
+
+  public static final String APPROVE_WORKFLOW = "approve";
+  public static final String PAY_WORKFLOW = "pay";
+  public static final String CANCEL_WORKFLOW = "cancel";
+  public static final String EXCHANGE_RATE_CHANGE_WORKFLOW = "exchange-rate-change";
+  public static final String BUILD_HOLDERS_WORKFLOW = "build-holders";
+  public static final String TOTAL_STAGE = "total";
+
+  private static final String OUTBOUND_REQUESTS = "mod_invoice.outbound.requests";
+  private static final String OUTBOUND_ERRORS = "mod_invoice.outbound.errors";
+  private static final String WORKFLOW_STAGES = "mod_invoice.workflow.stage";
+  private static final String POOL_PREFIX = "mod_invoice.http.pool.";
+  private static final String EXPORTS_PREFIX = "mod_invoice.batch_voucher.exports.";
+  private static final String KAFKA_RECORDS = "mod_invoice.kafka.records";
+  private static final String KAFKA_RECORD_AGE = "mod_invoice.kafka.record.age";
+
+  private static final String TAG_METHOD = "method";
+  private static final String TAG_ENDPOINT = "endpoint";
+  private static final String TAG_STATUS = "status";
+  private static final String TAG_OUTCOME = "outcome";
+  private static final String TAG_DESTINATION = "destination";
+  private static final String TAG_TOPIC = "topic";
+  private static final String SUCCESS = "success";
+  private static final String FAILURE = "failure";
+
+  private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+  private static final PrometheusMeterRegistry REGISTRY = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+  public static MeterRegistry getRegistry() {
+    return REGISTRY;
+  }
+
+  /**
+   * @return all metrics in Prometheus text format
+   */
+  public static String scrape() {
+    return REGISTRY.scrape();
+  }
+
+  /**
+   * Records latency of an outbound call, calls failed with an error response or without response are counted as errors
+   *
+   * @param method      HTTP method
+   * @param absEndpoint absolute URL of the call
+   * @param status      HTTP status code or 0 if there is no response
+   * @param startNanos  {@link System#nanoTime()} at the start of the call
+   */
+  public static void recordOutboundCall(String method, String absEndpoint, int status, long startNanos) {
+    var endpoint = normalizeEndpoint(absEndpoint);
+    var statusTag = status > 0 ? String.valueOf(status) : "none";
+    Timer.builder(OUTBOUND_REQUESTS)
+      .description("Latency of the calls to other modules")
+      .tags(TAG_METHOD, method, TAG_ENDPOINT, endpoint, TAG_STATUS, statusTag)
+      .publishPercentileHistogram()
+      .register(REGISTRY)
+      .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    if (status == 0 || status >= 400) {
+      Counter.builder(OUTBOUND_ERRORS)
+        .description("Calls to other modules failed with an error response or without response")
+        .tags(TAG_METHOD, method, TAG_ENDPOINT, endpoint, TAG_STATUS, statusTag)
+        .register(REGISTRY)
+        .increment();
+    }
+  }
+
+  /**
+   * Times one stage of the invoice workflow
+   *
+   * @param workflow workflow name, e.g. {@link #APPROVE_WORKFLOW}
+   * @param stage    stage name
+   * @param action   supplier starting the stage
+   * @return result of the stage
+   */
+  public static <T> Future<T> timeStage(String workflow, String stage, Supplier<Future<T>> action) {
+    var sample = Timer.start(REGISTRY);
+    Future<T> future;
+    try {
+      future = action.get();
+    } catch (Exception e) {
+      future = Future.failedFuture(e);
+    }
+    return future.onComplete(ar -> sample.stop(Timer.builder(WORKFLOW_STAGES)
+      .description("Duration of invoice workflow stages")
+      .tags("workflow", workflow, "stage", stage, TAG_OUTCOME, ar.succeeded() ? SUCCESS : FAILURE)
+      .register(REGISTRY)));
+  }
+
+  /**
+   * Binds hit/miss/eviction statistics of the cache, the cache should be built with {@code recordStats()}
+   */
+  public static <C extends AsyncCache<?, ?>> C monitorCache(C cache, String cacheName) {
+    return CaffeineCacheMetrics.monitor(REGISTRY, cache, cacheName);
+  }
+
+  /**
+   * Binds saturation gauges of the connection pool of one destination and the counters of the queued and rejected requests
+   */
+  public static void monitorConnectionPool(HttpClientPoolStats poolStats) {
+    var destination = poolStats.getDestination();
+    Gauge.builder(POOL_PREFIX + "capacity", poolStats, HttpClientPoolStats::getCapacity)
+      .tag(TAG_DESTINATION, destination).register(REGISTRY);
+    Gauge.builder(POOL_PREFIX + "in.flight", poolStats, HttpClientPoolStats::getInFlight)
+      .tag(TAG_DESTINATION, destination).register(REGISTRY);
+    Gauge.builder(POOL_PREFIX + "saturation", poolStats, HttpClientPoolStats::getSaturation)
+      .tag(TAG_DESTINATION, destination).register(REGISTRY);
+    FunctionCounter.builder(POOL_PREFIX + "queued", poolStats, HttpClientPoolStats::getQueued)
+      .tag(TAG_DESTINATION, destination).register(REGISTRY);
+    FunctionCounter.builder(POOL_PREFIX + "rejected", poolStats, HttpClientPoolStats::getRejected)
+      .tag(TAG_DESTINATION, destination).register(REGISTRY);
+  }
+
+  /**
+   * Binds gauges of the running and queued batch voucher exports and the counter of the rejected ones
+   */
+  public static void monitorExportScheduler(BatchVoucherExportScheduler scheduler) {
+    monitorExportScheduler(scheduler, REGISTRY);
+  }
+
+  static void monitorExportScheduler(BatchVoucherExportScheduler scheduler, MeterRegistry registry) {
+    Gauge.builder(EXPORTS_PREFIX + "running", scheduler, BatchVoucherExportScheduler::getRunning).register(registry);
+    Gauge.builder(EXPORTS_PREFIX + "queued", scheduler, BatchVoucherExportScheduler::getQueued).register(registry);
+    FunctionCounter.builder(EXPORTS_PREFIX + "rejected", scheduler, BatchVoucherExportScheduler::getRejected).register(registry);
+  }
+
+  /**
+   * Records processing of one Kafka record. Age of the record at the moment it was picked up shows the consumer lag in time.
+   *
+   * @param topic      topic of the record
+   * @param ageMillis  time between producing the record and start of its processing, negative if unknown
+   * @param startNanos {@link System#nanoTime()} at the start of the processing
+   * @param succeeded  whether the record was processed successfully
+   */
+  public static void recordKafkaRecord(String topic, long ageMillis, long startNanos, boolean succeeded) {
+    var topicTag = Objects.toString(topic, "unknown");
+    Timer.builder(KAFKA_RECORDS)
+      .description("Processing of the consumed Kafka records")
+      .tags(TAG_TOPIC, topicTag, TAG_OUTCOME, succeeded ? SUCCESS : FAILURE)
+      .register(REGISTRY)
+      .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    if (ageMillis >= 0) {
+      DistributionSummary.builder(KAFKA_RECORD_AGE)
+        .description("Time between producing a record and starting its processing")
+        .baseUnit("milliseconds")
+        .tag(TAG_TOPIC, topicTag)
+        .register(REGISTRY)
+        .record(ageMillis);
+    }
+  }
+
+  static String normalizeEndpoint(String absEndpoint) {
+    var path = StringUtils.substringBefore(absEndpoint, "?");
+    var schemeEnd = path.indexOf("://");
+    if (schemeEnd >= 0) {
+      var pathStart = path.indexOf('/', schemeEnd + 3);
+      path = pathStart >= 0 ? path.substring(pathStart) : "/";
+    }
+    return UUID_PATTERN.matcher(path).replaceAll("{id}");
+  }
+}
@@ -1,5 +1,10 @@
 package org.folio.models;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.folio.rest.jaxrs.model.BatchVoucher;
 import org.folio.rest.jaxrs.model.BatchVoucherExport;
 import org.folio.rest.jaxrs.model.Credentials;
@@ -7,10 +12,14 @@ import org.folio.rest.jaxrs.model.ExportConfig;
 
 public class BatchVoucherUploadHolder {
   private String fileFormat;
+  private String fileName;
   private Credentials credentials;
   private ExportConfig exportConfig;
   private BatchVoucher batchVoucher;
   private BatchVoucherExport batchVoucherExport;
+  private List<ExportConfig> exportConfigs = new ArrayList<>();
+  private final Map<String, Credentials> exportConfigCredentials = new HashMap<>();
+  private final List<String> destinationStatuses = new ArrayList<>();
 
   public Credentials getCredentials() {
     return credentials;
@@ -51,4 +60,48 @@ public class BatchVoucherUploadHolder {
   public void setFileFormat(String fileFormat) {
     this.fileFormat = fileFormat;
   }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public void setFileName(String fileName) {
+    this.fileName = fileName;
+  }
+
+  /**
+   * @return all the destinations of the batch group, or the primary export configuration if only it was set
+   */
+  public List<ExportConfig> getExportConfigs() {
+    if (exportConfigs.isEmpty() && exportConfig != null) {
+      return List.of(exportConfig);
+    }
+    return exportConfigs;
+  }
+
+  /**
+   * Sets all the destinations of the batch group, the first one is also used as the primary {@link #getExportConfig()}
+   */
+  public void setExportConfigs(List<ExportConfig> exportConfigs) {
+    this.exportConfigs = exportConfigs;
+    this.exportConfig = exportConfigs.isEmpty() ? null : exportConfigs.get(0);
+  }
+
+  public Credentials getCredentials(String exportConfigId) {
+    if (exportConfig != null && exportConfig.getId().equals(exportConfigId)) {
+      return credentials;
+    }
+    return exportConfigCredentials.get(exportConfigId);
+  }
+
+  public void addCredentials(String exportConfigId, Credentials credentials) {
+    exportConfigCredentials.put(exportConfigId, credentials);
+    if (exportConfig != null && exportConfig.getId().equals(exportConfigId)) {
+      this.credentials = credentials;
+    }
+  }
+
+  public List<String> getDestinationStatuses() {
+    return destinationStatuses;
+  }
 }
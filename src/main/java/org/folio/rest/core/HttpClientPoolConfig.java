@@ -0,0 +1,141 @@
+package org.folio.rest.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.web.client.WebClientOptions;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Settings of the outbound HTTP connection pools. A pool is kept per destination ({@code host:port}) of the request URL.
+ * All calls to other modules go through the Okapi URL, so in practice they share a single pool and the size of it
+ * is what limits the concurrent calls of the module.
+ * <p>
+ * Settings are resolved from system properties with fallback to environment variables:
+ * <ul>
+ *   <li>{@code mod.invoice.restclient.pool.size} - max HTTP/1.x connections per destination, 10 by default</li>
+ *   <li>{@code mod.invoice.restclient.pool.destination-sizes} - per destination overrides of the pool size,
+ *   e.g. {@code okapi:9130=20,mod-finance:8081=5}</li>
+ *   <li>{@code mod.invoice.restclient.pool.wait-queue.size} - max requests waiting for a connection, unbounded by default.
+ *   Requests exceeding the limit fail fast with {@link io.vertx.core.http.ConnectionPoolTooBusyException}</li>
+ *   <li>{@code mod.invoice.restclient.idle-timeout.seconds} - idle timeout of a pooled connection, 5000 by default</li>
+ *   <li>{@code mod.invoice.restclient.http2.enabled} - use HTTP/2 with clear text upgrade, the connection falls back
+ *   to HTTP/1.1 if the gateway does not support it, disabled by default</li>
+ *   <li>{@code mod.invoice.restclient.http2.pool.size} - max HTTP/2 connections per destination, 1 by default</li>
+ *   <li>{@code mod.invoice.restclient.http2.multiplexing-limit} - max concurrent streams per HTTP/2 connection,
+ *   limited only by the server by default</li>
+ * </ul>
+ */
+@Log4j2
+@Getter
+public class HttpClientPoolConfig {
+
+  static final String POOL_SIZE_PARAM = "mod.invoice.restclient.pool.size";
+  static final String DESTINATION_POOL_SIZES_PARAM = "mod.invoice.restclient.pool.destination-sizes";
+  static final String WAIT_QUEUE_SIZE_PARAM = "mod.invoice.restclient.pool.wait-queue.size";
+  static final String IDLE_TIMEOUT_PARAM = "mod.invoice.restclient.idle-timeout.seconds";
+  static final String HTTP2_ENABLED_PARAM = "mod.invoice.restclient.http2.enabled";
+  static final String HTTP2_POOL_SIZE_PARAM = "mod.invoice.restclient.http2.pool.size";
+  static final String HTTP2_MULTIPLEXING_LIMIT_PARAM = "mod.invoice.restclient.http2.multiplexing-limit";
+
+  private static final int CONNECT_TIMEOUT = 2000;
+
+  private final int poolSize;
+  private final Map<String, Integer> destinationPoolSizes;
+  private final int waitQueueSize;
+  private final int idleTimeout;
+  private final boolean http2Enabled;
+  private final int http2PoolSize;
+  private final int http2MultiplexingLimit;
+
+  HttpClientPoolConfig(UnaryOperator<String> propertyResolver) {
+    this.poolSize = resolveInt(propertyResolver, POOL_SIZE_PARAM, 10);
+    this.destinationPoolSizes = parseDestinationPoolSizes(propertyResolver.apply(DESTINATION_POOL_SIZES_PARAM));
+    this.waitQueueSize = resolveInt(propertyResolver, WAIT_QUEUE_SIZE_PARAM, -1);
+    this.idleTimeout = resolveInt(propertyResolver, IDLE_TIMEOUT_PARAM, 5000);
+    this.http2Enabled = Boolean.parseBoolean(propertyResolver.apply(HTTP2_ENABLED_PARAM));
+    this.http2PoolSize = resolveInt(propertyResolver, HTTP2_POOL_SIZE_PARAM, 1);
+    this.http2MultiplexingLimit = resolveInt(propertyResolver, HTTP2_MULTIPLEXING_LIMIT_PARAM, -1);
+  }
+
+  public static HttpClientPoolConfig fromEnvironment() {
+    return new HttpClientPoolConfig(param -> System.getProperty(param, System.getenv(param)));
+  }
+
+  public WebClientOptions buildWebClientOptions() {
+    WebClientOptions options = new WebClientOptions()
+      .setLogActivity(true)
+      .setKeepAlive(true)
+      .setConnectTimeout(CONNECT_TIMEOUT)
+      .setIdleTimeout(idleTimeout);
+    if (http2Enabled) {
+      options.setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2ClearTextUpgrade(true)
+        .setHttp2MultiplexingLimit(http2MultiplexingLimit);
+    }
+    return options;
+  }
+
+  public PoolOptions buildPoolOptions(String destination) {
+    return new PoolOptions()
+      .setHttp1MaxSize(getPoolSize(destination))
+      .setHttp2MaxSize(http2PoolSize)
+      .setMaxWaitQueueSize(waitQueueSize);
+  }
+
+  public int getPoolSize(String destination) {
+    return destinationPoolSizes.getOrDefault(destination, poolSize);
+  }
+
+  /**
+   * Returns number of requests which can be executed concurrently without waiting for a connection
+   */
+  public int getCapacity(String destination) {
+    return http2Enabled && http2MultiplexingLimit > 0
+      ? Math.max(getPoolSize(destination), http2PoolSize * http2MultiplexingLimit)
+      : getPoolSize(destination);
+  }
+
+  /**
+   * Extracts the destination ({@code host:port}) from the absolute URL. URL is not parsed with {@link java.net.URI}
+   * because query of the endpoints is not always encoded.
+   */
+  public static String getDestination(String absEndpoint) {
+    String withoutScheme = StringUtils.substringAfter(absEndpoint, "://");
+    if (withoutScheme.isEmpty()) {
+      withoutScheme = absEndpoint;
+    }
+    int end = StringUtils.indexOfAny(withoutScheme, '/', '?');
+    return end < 0 ? withoutScheme : withoutScheme.substring(0, end);
+  }
+
+  private static Map<String, Integer> parseDestinationPoolSizes(String value) {
+    if (StringUtils.isBlank(value)) {
+      return Map.of();
+    }
+    return Arrays.stream(value.split(","))
+      .map(String::trim)
+      .filter(StringUtils::isNotEmpty)
+      .map(entry -> entry.split("="))
+      .filter(pair -> {
+        if (pair.length != 2) {
+          log.warn("parseDestinationPoolSizes:: Ignoring invalid destination pool size '{}'", String.join("=", pair));
+          return false;
+        }
+        return true;
+      })
+      .collect(Collectors.toUnmodifiableMap(pair -> pair[0].trim(), pair -> Integer.parseInt(pair[1].trim()), (s1, s2) -> s2));
+  }
+
+  private static int resolveInt(UnaryOperator<String> propertyResolver, String param, int defaultValue) {
+    String value = propertyResolver.apply(param);
+    return StringUtils.isNotBlank(value) ? Integer.parseInt(value.trim()) : defaultValue;
+  }
+}
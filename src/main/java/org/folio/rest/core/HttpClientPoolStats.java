@@ -0,0 +1,99 @@
+package org.folio.rest.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.folio.metrics.ModuleMetrics;
+
+import io.vertx.core.http.ConnectionPoolTooBusyException;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Saturation statistics of the outbound connection pool of one destination.
+ * Requests above the capacity of the pool are waiting in the queue for a free connection.
+ */
+@Log4j2
+public class HttpClientPoolStats {
+
+  private static final Map<String, HttpClientPoolStats> STATS = new ConcurrentHashMap<>();
+
+  private final String destination;
+  private final int capacity;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger peakInFlight = new AtomicInteger();
+  private final AtomicLong queued = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+
+  HttpClientPoolStats(String destination, int capacity) {
+    this.destination = destination;
+    this.capacity = capacity;
+  }
+
+  public static HttpClientPoolStats forDestination(String destination, int capacity) {
+    return STATS.computeIfAbsent(destination, d -> {
+      var poolStats = new HttpClientPoolStats(d, capacity);
+      ModuleMetrics.monitorConnectionPool(poolStats);
+      return poolStats;
+    });
+  }
+
+  public static Map<String, HttpClientPoolStats> getAll() {
+    return Map.copyOf(STATS);
+  }
+
+  void requestStarted() {
+    int current = inFlight.incrementAndGet();
+    peakInFlight.accumulateAndGet(current, Math::max);
+    if (current > capacity) {
+      queued.incrementAndGet();
+      log.debug("requestStarted:: Pool of '{}' is saturated, {} requests in flight with capacity {}", destination, current, capacity);
+    }
+  }
+
+  void requestCompleted(Throwable failure) {
+    inFlight.decrementAndGet();
+    if (failure instanceof ConnectionPoolTooBusyException) {
+      rejected.incrementAndGet();
+      log.warn("requestCompleted:: Request to '{}' rejected, wait queue of the connection pool is full", destination);
+    }
+  }
+
+  public String getDestination() {
+    return destination;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public int getPeakInFlight() {
+    return peakInFlight.get();
+  }
+
+  /**
+   * @return number of requests which had to wait for a free connection
+   */
+  public long getQueued() {
+    return queued.get();
+  }
+
+  /**
+   * @return number of requests failed fast because the wait queue was full
+   */
+  public long getRejected() {
+    return rejected.get();
+  }
+
+  /**
+   * @return share of the pool capacity in use, values above 1 mean requests are waiting for a connection
+   */
+  public double getSaturation() {
+    return capacity > 0 ? (double) inFlight.get() / capacity : 0;
+  }
+}
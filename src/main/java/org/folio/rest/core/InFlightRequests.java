@@ -0,0 +1,64 @@
+package org.folio.rest.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Single-flight registry of in-flight requests: concurrent callers asking for the same key share
+ * one pending future instead of starting their own request. The entry is removed as soon as the
+ * request completes, so nothing is cached beyond the lifetime of the request and failures are not remembered.
+ * <p>
+ * Requests are shared only within the same {@link Context}, so the callbacks of every waiter are still
+ * executed on the event loop of the caller.
+ */
+@Log4j2
+public class InFlightRequests<T> {
+
+  private final Map<Key, Future<T>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the pending future for the key or starts a new request with the supplier
+   *
+   * @param context context of the caller
+   * @param key     key identifying identical requests, e.g. tenant, user and endpoint
+   * @param request supplier starting the request
+   * @return future shared by all callers of the same key until it is completed
+   */
+  public Future<T> execute(Context context, String key, Supplier<Future<T>> request) {
+    var inFlightKey = new Key(context, key);
+    var existing = inFlight.get(inFlightKey);
+    if (existing != null) {
+      log.debug("execute:: Joining in-flight request '{}'", key);
+      return existing;
+    }
+    Promise<T> promise = Promise.promise();
+    existing = inFlight.putIfAbsent(inFlightKey, promise.future());
+    if (existing != null) {
+      return existing;
+    }
+    Future<T> future;
+    try {
+      future = request.get();
+    } catch (Exception e) {
+      future = Future.failedFuture(e);
+    }
+    future.onComplete(ar -> {
+      inFlight.remove(inFlightKey, promise.future());
+      promise.handle(ar);
+    });
+    return promise.future();
+  }
+
+  int size() {
+    return inFlight.size();
+  }
+
+  private record Key(Context context, String key) {
+  }
+}
@@ -6,17 +6,18 @@ import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.InvoiceDocument;
 
 import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
 
 public class InvoiceDocumentRestClient extends RestClient {
   private static final Logger logger = LogManager.getLogger();
 
   public Future<InvoiceDocument> postInvoiceDocument(String endpoint, InvoiceDocument document, RequestContext requestContext) {
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
-    return getVertxWebClient(requestContext.getContext())
-      .postAbs(buildAbsEndpoint(caseInsensitiveHeader, endpoint))
-      .putHeaders(caseInsensitiveHeader)
-      // TODO: consider to make streaming transfer for large files
-      .sendJson(document)
+    var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpoint);
+    return send(requestContext.getContext(), HttpMethod.POST, absEndpoint, client -> client.postAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        // TODO: consider to make streaming transfer for large files
+        .sendJson(document))
       .compose(RestClient::convertHttpResponse)
       .map(bufferHttpResponse -> bufferHttpResponse.bodyAsJsonObject().mapTo(InvoiceDocument.class))
       .onFailure(logger::error);
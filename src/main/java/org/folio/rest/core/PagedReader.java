@@ -0,0 +1,102 @@
+package org.folio.rest.core;
+
+import static org.folio.rest.RestConstants.DEFAULT_PAGE_SIZE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+
+import io.vertx.core.Future;
+import lombok.experimental.UtilityClass;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Reads collections from storage page by page instead of a single {@code limit=Integer.MAX_VALUE} request.
+ * Only one page is in flight at a time, so neither the response buffer nor the intermediate JSON tree
+ * ever exceed the size of one page. Page consumers apply back-pressure by returning a future which completes
+ * once the page is processed; the next page is requested only after that.
+ * <p>
+ * Pages are walked by offset, so the query should define a stable sort order (e.g. {@code sortBy id}),
+ * otherwise records can be skipped or duplicated between pages.
+ */
+@Log4j2
+@UtilityClass
+public class PagedReader {
+
+  /**
+   * Reads all records matching the request entry query using pages of {@link org.folio.rest.RestConstants#DEFAULT_PAGE_SIZE}
+   *
+   * @param restClient     client to execute requests with
+   * @param requestEntry   request entry with the query, offset and limit are set for each page
+   * @param collectionType type of the collection response
+   * @param itemsExtractor function to get records from the collection
+   * @return future with all records of all pages
+   */
+  public static <C, E> Future<List<E>> getAll(RestClient restClient, RequestEntry requestEntry, Class<C> collectionType,
+                                              Function<C, List<E>> itemsExtractor, RequestContext requestContext) {
+    return getAll(DEFAULT_PAGE_SIZE, pageLoader(restClient, requestEntry, collectionType, itemsExtractor, requestContext));
+  }
+
+  /**
+   * Sequentially passes every page of records matching the request entry query to the page consumer
+   *
+   * @param pageSize     max number of records in one page
+   * @param pageConsumer function processing a page, the next page is requested once the returned future succeeds
+   * @return future completed after the last page is processed or failed with the first error
+   */
+  public static <C, E> Future<Void> forEachPage(RestClient restClient, RequestEntry requestEntry, int pageSize,
+                                                Class<C> collectionType, Function<C, List<E>> itemsExtractor,
+                                                Function<List<E>, Future<Void>> pageConsumer, RequestContext requestContext) {
+    return forEachPage(pageSize, pageLoader(restClient, requestEntry, collectionType, itemsExtractor, requestContext), pageConsumer);
+  }
+
+  /**
+   * Reads all records using page loader which accepts offset and limit
+   */
+  public static <E> Future<List<E>> getAll(int pageSize, BiFunction<Integer, Integer, Future<List<E>>> pageLoader) {
+    List<E> result = new ArrayList<>();
+    return forEachPage(pageSize, pageLoader, page -> {
+        result.addAll(page);
+        return Future.succeededFuture();
+      })
+      .map(v -> result);
+  }
+
+  /**
+   * Sequentially passes every page returned by page loader which accepts offset and limit to the page consumer.
+   * Reading stops on the first page containing less than {@code pageSize} records.
+   */
+  public static <E> Future<Void> forEachPage(int pageSize, BiFunction<Integer, Integer, Future<List<E>>> pageLoader,
+                                             Function<List<E>, Future<Void>> pageConsumer) {
+    if (pageSize <= 0) {
+      return Future.failedFuture(new IllegalArgumentException("Page size must be positive: " + pageSize));
+    }
+    return readPage(0, pageSize, pageLoader, pageConsumer);
+  }
+
+  private static <E> Future<Void> readPage(int offset, int pageSize, BiFunction<Integer, Integer, Future<List<E>>> pageLoader,
+                                           Function<List<E>, Future<Void>> pageConsumer) {
+    return pageLoader.apply(offset, pageSize)
+      .compose(page -> {
+        if (page.isEmpty()) {
+          return Future.succeededFuture();
+        }
+        log.debug("readPage:: {} records loaded with offset {}", page.size(), offset);
+        return pageConsumer.apply(page)
+          .compose(v -> page.size() < pageSize
+            ? Future.<Void>succeededFuture()
+            : readPage(offset + page.size(), pageSize, pageLoader, pageConsumer));
+      });
+  }
+
+  private static <C, E> BiFunction<Integer, Integer, Future<List<E>>> pageLoader(RestClient restClient, RequestEntry requestEntry,
+                                                                                 Class<C> collectionType, Function<C, List<E>> itemsExtractor,
+                                                                                 RequestContext requestContext) {
+    return (offset, limit) -> restClient.get(requestEntry.withOffset(offset).withLimit(limit), collectionType, requestContext)
+      .map(itemsExtractor);
+  }
+}
@@ -5,10 +5,16 @@ import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 import static org.folio.invoices.rest.exceptions.ExceptionUtil.isErrorsMessageJson;
 import static org.folio.invoices.rest.exceptions.ExceptionUtil.mapToErrors;
 import static org.folio.rest.RestConstants.OKAPI_URL;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.folio.rest.RestVerticle.OKAPI_USERID_HEADER;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 
 import org.folio.invoices.rest.exceptions.HttpException;
+import org.folio.metrics.ModuleMetrics;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 
@@ -16,22 +22,24 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpResponseExpectation;
-import io.vertx.core.http.PoolOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
-import io.vertx.ext.web.client.WebClientOptions;
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
 public class RestClient {
 
   private static final String REQUEST_MESSAGE_LOG_INFO = "Calling {} {}";
-  private static final String HTTP_POOL_MAX_SIZE_PARAM = "mod.invoice.restclient.pool.size";
-  private static final int HTTP_POOL_MAX_SIZE_DEFAULT = 10;
-  private static final int HTTP_POOL_MAX_SIZE = resolveHttpPoolSize();
+  private static final HttpClientPoolConfig HTTP_CLIENT_POOL_CONFIG = HttpClientPoolConfig.fromEnvironment();
+  private static final String COALESCE_GET_REQUESTS_PARAM = "mod.invoice.restclient.coalesce-get";
+  private static final boolean COALESCE_GET_REQUESTS = Boolean.parseBoolean(
+    System.getProperty(COALESCE_GET_REQUESTS_PARAM, System.getenv().getOrDefault(COALESCE_GET_REQUESTS_PARAM, "true")));
+
+  private final InFlightRequests<JsonObject> inFlightGetRequests = new InFlightRequests<>();
 
   public <T> Future<T> post(RequestEntry requestEntry, T entity, Class<T> responseType, RequestContext requestContext) {
     return post(requestEntry.buildEndpoint(), entity, responseType, requestContext);
@@ -40,10 +48,10 @@ public class RestClient {
   public <T> Future<T> post(String endpoint, T entity, Class<T> responseType, RequestContext requestContext) {
     log.info(REQUEST_MESSAGE_LOG_INFO, HttpMethod.POST, endpoint);
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
-    return getVertxWebClient(requestContext.getContext())
-      .postAbs(buildAbsEndpoint(caseInsensitiveHeader, endpoint))
-      .putHeaders(caseInsensitiveHeader)
-      .sendJson(entity)
+    var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpoint);
+    return send(requestContext.getContext(), HttpMethod.POST, absEndpoint, client -> client.postAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        .sendJson(entity))
       .compose(RestClient::convertHttpResponse)
       .map(HttpResponse::bodyAsJsonObject)
       .map(body -> body.mapTo(responseType))
@@ -54,10 +62,10 @@ public class RestClient {
     var endpoint = requestEntry.buildEndpoint();
     log.info(REQUEST_MESSAGE_LOG_INFO, HttpMethod.POST, endpoint);
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
-    return getVertxWebClient(requestContext.getContext())
-      .postAbs(buildAbsEndpoint(caseInsensitiveHeader, endpoint))
-      .putHeaders(caseInsensitiveHeader)
-      .send()
+    var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpoint);
+    return send(requestContext.getContext(), HttpMethod.POST, absEndpoint, client -> client.postAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        .send())
       .compose(RestClient::convertHttpResponse)
       .onFailure(log::error)
       .mapEmpty();
@@ -66,10 +74,10 @@ public class RestClient {
   public <T> Future<Void> postEmptyResponse(String endpoint, T entity, RequestContext requestContext) {
     log.info(REQUEST_MESSAGE_LOG_INFO, HttpMethod.POST, endpoint);
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
-    return getVertxWebClient(requestContext.getContext())
-      .postAbs(buildAbsEndpoint(caseInsensitiveHeader, endpoint))
-      .putHeaders(caseInsensitiveHeader)
-      .sendJson(entity)
+    var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpoint);
+    return send(requestContext.getContext(), HttpMethod.POST, absEndpoint, client -> client.postAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        .sendJson(entity))
       .compose(RestClient::convertHttpResponse)
       .onFailure(log::error)
       .mapEmpty();
@@ -89,10 +97,10 @@ public class RestClient {
     log.info(REQUEST_MESSAGE_LOG_INFO, HttpMethod.PUT, endpoint);
     var recordData = JsonObject.mapFrom(dataObject);
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
-    return getVertxWebClient(requestContext.getContext())
-      .putAbs(buildAbsEndpoint(caseInsensitiveHeader, endpoint))
-      .putHeaders(caseInsensitiveHeader)
-      .sendJson(recordData)
+    var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpoint);
+    return send(requestContext.getContext(), HttpMethod.PUT, absEndpoint, client -> client.putAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        .sendJson(recordData))
       .compose(RestClient::convertHttpResponse)
       .onFailure(log::error)
       .mapEmpty();
@@ -106,11 +114,11 @@ public class RestClient {
   public Future<Void> delete(String endpointById, boolean skipError404, RequestContext requestContext) {
     log.info(REQUEST_MESSAGE_LOG_INFO, HttpMethod.DELETE, endpointById);
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
+    var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpointById);
     Promise<Void> promise = Promise.promise();
-    getVertxWebClient(requestContext.getContext())
-      .deleteAbs(buildAbsEndpoint(caseInsensitiveHeader, endpointById))
-      .putHeaders(caseInsensitiveHeader)
-      .send()
+    send(requestContext.getContext(), HttpMethod.DELETE, absEndpoint, client -> client.deleteAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        .send())
       .compose(RestClient::convertHttpResponse)
       .onSuccess(f -> promise.complete())
       .onFailure(t -> handleErrorResponse(promise, t, skipError404));
@@ -159,12 +167,7 @@ public class RestClient {
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
     var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpoint);
     Promise<T> promise = Promise.promise();
-    getVertxWebClient(requestContext.getContext())
-      .getAbs(absEndpoint)
-      .putHeaders(caseInsensitiveHeader)
-      .send()
-      .compose(RestClient::convertHttpResponse)
-      .map(HttpResponse::bodyAsJsonObject)
+    getSharedJsonObject(absEndpoint, caseInsensitiveHeader, requestContext)
       .map(jsonObject -> jsonObject.mapTo(responseType))
       .onSuccess(promise::complete)
       .onFailure(t -> handleGetMethodErrorResponse(promise, t, skipError404, endpoint));
@@ -172,15 +175,46 @@ public class RestClient {
     return promise.future();
   }
 
+  /**
+   * Concurrent identical GET requests of the same tenant, user and token share one HTTP exchange and one parsed response body.
+   * The shared {@link JsonObject} must not be modified, every caller maps it to its own instance of the response type.
+   */
+  private Future<JsonObject> getSharedJsonObject(String absEndpoint, MultiMap caseInsensitiveHeader, RequestContext requestContext) {
+    if (!COALESCE_GET_REQUESTS) {
+      return sendGet(absEndpoint, caseInsensitiveHeader, requestContext);
+    }
+    return inFlightGetRequests.execute(requestContext.getContext(), buildCoalescingKey(caseInsensitiveHeader, absEndpoint),
+      () -> sendGet(absEndpoint, caseInsensitiveHeader, requestContext));
+  }
+
+  /**
+   * The token is a part of the key, so a request is never answered with the response received with other permissions,
+   * e.g. when the user id header is absent
+   */
+  static String buildCoalescingKey(MultiMap caseInsensitiveHeader, String absEndpoint) {
+    return String.join("|",
+      Objects.toString(caseInsensitiveHeader.get(OKAPI_HEADER_TENANT), ""),
+      Objects.toString(caseInsensitiveHeader.get(OKAPI_USERID_HEADER), ""),
+      Objects.toString(caseInsensitiveHeader.get(OKAPI_HEADER_TOKEN), ""),
+      absEndpoint);
+  }
+
+  private Future<JsonObject> sendGet(String absEndpoint, MultiMap caseInsensitiveHeader, RequestContext requestContext) {
+    return send(requestContext.getContext(), HttpMethod.GET, absEndpoint, client -> client.getAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        .send())
+      .compose(RestClient::convertHttpResponse)
+      .map(HttpResponse::bodyAsJsonObject);
+  }
+
   public Future<JsonObject> getAsJsonObject(String endpoint, RequestContext requestContext) {
     var caseInsensitiveHeader = convertToCaseInsensitiveMap(requestContext.getHeaders());
     var absEndpoint = buildAbsEndpoint(caseInsensitiveHeader, endpoint);
 
     Promise<JsonObject> promise = Promise.promise();
-    getVertxWebClient(requestContext.getContext())
-      .getAbs(absEndpoint)
-      .putHeaders(caseInsensitiveHeader)
-      .send()
+    send(requestContext.getContext(), HttpMethod.GET, absEndpoint, client -> client.getAbs(absEndpoint)
+        .putHeaders(caseInsensitiveHeader)
+        .send())
       .compose(RestClient::convertHttpResponse)
       .map(HttpResponse::bodyAsJsonObject)
       .onSuccess(promise::complete)
@@ -199,17 +233,26 @@ public class RestClient {
       : new HttpException(response.statusCode(), error));
   }
 
-  protected static WebClient getVertxWebClient(Context context) {
-    WebClientOptions options = new WebClientOptions();
-    options.setLogActivity(true);
-    options.setKeepAlive(true);
-    options.setConnectTimeout(2000);
-    options.setIdleTimeout(5000);
-
-    PoolOptions poolOptions = new PoolOptions()
-      .setHttp1MaxSize(HTTP_POOL_MAX_SIZE);
+  /**
+   * Executes the request with the client of the request destination and tracks saturation of the destination connection pool
+   */
+  protected static Future<HttpResponse<Buffer>> send(Context context, HttpMethod method, String absEndpoint,
+                                                     Function<WebClient, Future<HttpResponse<Buffer>>> request) {
+    var destination = HttpClientPoolConfig.getDestination(absEndpoint);
+    var poolStats = HttpClientPoolStats.forDestination(destination, HTTP_CLIENT_POOL_CONFIG.getCapacity(destination));
+    var client = getVertxWebClient(context, destination);
+    var startNanos = System.nanoTime();
+    poolStats.requestStarted();
+    return request.apply(client)
+      .onComplete(ar -> {
+        poolStats.requestCompleted(ar.cause());
+        ModuleMetrics.recordOutboundCall(method.name(), absEndpoint, ar.succeeded() ? ar.result().statusCode() : 0, startNanos);
+      });
+  }
 
-    return WebClientProvider.getWebClient(context.owner(), options, poolOptions);
+  protected static WebClient getVertxWebClient(Context context, String destination) {
+    return WebClientProvider.getWebClient(context.owner(), destination,
+      HTTP_CLIENT_POOL_CONFIG.buildWebClientOptions(), HTTP_CLIENT_POOL_CONFIG.buildPoolOptions(destination));
   }
 
   protected static String buildAbsEndpoint(MultiMap okapiHeaders, String endpoint) {
@@ -217,9 +260,4 @@ public class RestClient {
     return okapiURL + endpoint;
   }
 
-  private static int resolveHttpPoolSize() {
-    String poolSize = System.getProperty(HTTP_POOL_MAX_SIZE_PARAM, System.getenv(HTTP_POOL_MAX_SIZE_PARAM));
-    return poolSize != null ? Integer.parseInt(poolSize) : HTTP_POOL_MAX_SIZE_DEFAULT;
-  }
-
 }
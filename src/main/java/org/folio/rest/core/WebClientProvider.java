@@ -10,16 +10,18 @@ import io.vertx.ext.web.client.WebClientOptions;
 import lombok.experimental.UtilityClass;
 
 /**
- * Provides a cached {@link WebClient} instance per {@link Vertx} instance.
- * The WebClient is created on the first call for a given Vertx instance and reused for all
+ * Provides a cached {@link WebClient} instance per {@link Vertx} instance and destination.
+ * The WebClient is created on the first call for a given Vertx instance and destination and reused for all
  * subsequent calls. The {@code options} and {@code poolOptions} parameters are only applied
  * during initial creation; they are ignored if a WebClient already exists for the given
- * Vertx instance.
+ * Vertx instance and destination.
  */
 @UtilityClass
 public class WebClientProvider {
 
-  private static final Map<Vertx, WebClient> WEB_CLIENTS = new ConcurrentHashMap<>();
+  private static final String DEFAULT_DESTINATION = "";
+
+  private static final Map<ClientKey, WebClient> WEB_CLIENTS = new ConcurrentHashMap<>();
 
   /**
    * Returns a cached {@link WebClient} for the given {@link Vertx} instance.
@@ -33,6 +35,22 @@ public class WebClientProvider {
    * @return a cached WebClient instance
    */
   public static WebClient getWebClient(Vertx vertx, WebClientOptions options, PoolOptions poolOptions) {
-    return WEB_CLIENTS.computeIfAbsent(vertx, v -> WebClient.create(v, options, poolOptions));
+    return getWebClient(vertx, DEFAULT_DESTINATION, options, poolOptions);
+  }
+
+  /**
+   * Returns a cached {@link WebClient} with its own connection pool for the given {@link Vertx} instance and destination.
+   *
+   * @param vertx       the Vertx instance to associate the WebClient with
+   * @param destination the {@code host:port} the WebClient is used for
+   * @param options     the WebClient options (used only on first creation)
+   * @param poolOptions the connection pool options (used only on first creation)
+   * @return a cached WebClient instance
+   */
+  public static WebClient getWebClient(Vertx vertx, String destination, WebClientOptions options, PoolOptions poolOptions) {
+    return WEB_CLIENTS.computeIfAbsent(new ClientKey(vertx, destination), key -> WebClient.create(vertx, options, poolOptions));
+  }
+
+  private record ClientKey(Vertx vertx, String destination) {
   }
 }
@@ -27,7 +27,7 @@ public class BatchVoucherHelper extends AbstractHelper {
    */
   public Future<String> getBatchVoucherById(String id, String contentType) {
     return batchVoucherService.getBatchVoucherById(id, buildRequestContext())
-      .map(bv -> batchVoucherService.convertBatchVoucher(bv, contentType));
+      .compose(bv -> batchVoucherService.convertBatchVoucherAsync(bv, contentType));
   }
 
 }
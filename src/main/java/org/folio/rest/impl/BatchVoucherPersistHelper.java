@@ -41,10 +41,14 @@ public class BatchVoucherPersistHelper extends AbstractHelper {
       })
       .onSuccess(v -> logger.debug("Batch voucher generated and batch voucher export updated"))
       .onFailure(t -> {
-        batchVoucherExport.setMessage(t.getMessage());
-        batchVoucherExport.setStatus(BatchVoucherExport.Status.ERROR);
-        batchVoucherExportsService.updateBatchVoucherExportRecord(batchVoucherExport, requestContext);
+        markBatchVoucherExportFailed(batchVoucherExport, t);
         logger.error("Exception occurs, when generating batch voucher", t);
       });
   }
+
+  public Future<Void> markBatchVoucherExportFailed(BatchVoucherExport batchVoucherExport, Throwable t) {
+    batchVoucherExport.setMessage(t.getMessage());
+    batchVoucherExport.setStatus(BatchVoucherExport.Status.ERROR);
+    return batchVoucherExportsService.updateBatchVoucherExportRecord(batchVoucherExport, requestContext);
+  }
 }
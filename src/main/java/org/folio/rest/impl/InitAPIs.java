@@ -19,6 +19,7 @@ import org.folio.rest.resource.interfaces.InitAPI;
 import org.folio.spring.SpringContextUtil;
 import org.folio.verticles.CancelledJobConsumerVerticle;
 import org.folio.verticles.DataImportConsumerVerticle;
+import org.folio.verticles.MetricsServerVerticle;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.support.AbstractApplicationContext;
 
@@ -41,6 +42,9 @@ public class InitAPIs implements InitAPI {
   @Value("${dataimport.consumer.verticle.mandatory:false}")
   private boolean isConsumerVerticleMandatory;
 
+  @Value("${mod.invoice.metrics.port:0}")
+  private int metricsPort;
+
   @Override
   public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> resultHandler) {
     vertx.executeBlocking(() -> {
@@ -54,6 +58,7 @@ public class InitAPIs implements InitAPI {
       SpringContextUtil.autowireDependencies(this, context);
 
       initJavaMoney();
+      deployMetricsServerVerticle(vertx);
 
       deployDataImportConsumerVerticle(vertx).onComplete(result -> {
         if (result.failed() && isConsumerVerticleMandatory) {
@@ -81,6 +86,15 @@ public class InitAPIs implements InitAPI {
       .mapEmpty();
   }
 
+  private void deployMetricsServerVerticle(Vertx vertx) {
+    if (metricsPort <= 0) {
+      return;
+    }
+    AbstractApplicationContext springContext = vertx.getOrCreateContext().get("springContext");
+    deployVerticle(vertx, springContext, MetricsServerVerticle.class, 1, ThreadingModel.EVENT_LOOP)
+      .onFailure(t -> log.error("Failed to deploy metrics server verticle", t));
+  }
+
   /**
    * Deploys a verticle from the Spring context with the given options.
    *
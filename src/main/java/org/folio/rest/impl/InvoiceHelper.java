@@ -16,6 +16,12 @@ import static org.folio.invoices.utils.HelperUtils.isTransitionToCancelled;
 import static org.folio.invoices.utils.HelperUtils.isTransitionToPaid;
 import static org.folio.invoices.utils.ProtectedOperationType.UPDATE;
 import static org.folio.invoices.utils.ResourcePathResolver.INVOICES;
+import static org.folio.metrics.ModuleMetrics.APPROVE_WORKFLOW;
+import static org.folio.metrics.ModuleMetrics.CANCEL_WORKFLOW;
+import static org.folio.metrics.ModuleMetrics.EXCHANGE_RATE_CHANGE_WORKFLOW;
+import static org.folio.metrics.ModuleMetrics.PAY_WORKFLOW;
+import static org.folio.metrics.ModuleMetrics.TOTAL_STAGE;
+import static org.folio.metrics.ModuleMetrics.timeStage;
 import static org.folio.rest.RestConstants.SEMAPHORE_MAX_ACTIVE_THREADS;
 import static org.folio.utils.UserPermissionsUtil.userHasDesiredPermission;
 import static org.folio.utils.UserPermissionsUtil.verifyUserHasAssignPermission;
@@ -438,18 +444,19 @@ public class InvoiceHelper extends AbstractHelper {
                                                      List<InvoiceLine> invoiceLines, String poLinePaymentStatus) {
     verifyTransitionOnPaidStatus(invoiceFromStorage, invoice);
     if (isTransitionToApproved(invoiceFromStorage, invoice)) {
-      return invoiceApprovalService.approveInvoice(invoice, invoiceLines, requestContext);
+      return timeStage(APPROVE_WORKFLOW, TOTAL_STAGE, () -> invoiceApprovalService.approveInvoice(invoice, invoiceLines, requestContext));
     } else if (isAfterApprove(invoice, invoiceFromStorage) && isExchangeRateChanged(invoice, invoiceFromStorage)) {
-      return handleExchangeRateChange(invoice, invoiceLines);
+      return timeStage(EXCHANGE_RATE_CHANGE_WORKFLOW, TOTAL_STAGE, () -> handleExchangeRateChange(invoice, invoiceLines));
     } else if (isTransitionToPaid(invoiceFromStorage, invoice)) {
       if (isExchangeRateChanged(invoice, invoiceFromStorage)) {
-        return handleExchangeRateChange(invoice, invoiceLines)
-          .compose(v -> payInvoice(invoice, invoiceLines, poLinePaymentStatus, requestContext));
+        return timeStage(EXCHANGE_RATE_CHANGE_WORKFLOW, TOTAL_STAGE, () -> handleExchangeRateChange(invoice, invoiceLines))
+          .compose(v -> timeStage(PAY_WORKFLOW, TOTAL_STAGE, () -> payInvoice(invoice, invoiceLines, poLinePaymentStatus, requestContext)));
       }
       invoice.setExchangeRate(invoiceFromStorage.getExchangeRate());
-      return payInvoice(invoice, invoiceLines, poLinePaymentStatus, requestContext);
+      return timeStage(PAY_WORKFLOW, TOTAL_STAGE, () -> payInvoice(invoice, invoiceLines, poLinePaymentStatus, requestContext));
     } else if (isTransitionToCancelled(invoiceFromStorage, invoice)) {
-      return invoiceCancelService.cancelInvoice(invoiceFromStorage, invoiceLines, poLinePaymentStatus, requestContext);
+      return timeStage(CANCEL_WORKFLOW, TOTAL_STAGE,
+        () -> invoiceCancelService.cancelInvoice(invoiceFromStorage, invoiceLines, poLinePaymentStatus, requestContext));
     }
     return succeededFuture(null);
   }
@@ -479,11 +486,12 @@ public class InvoiceHelper extends AbstractHelper {
                                   String poLinePaymentStatus, RequestContext requestContext) {
     //  Set payment date, when the invoice is being paid.
     invoice.setPaymentDate(invoice.getMetadata().getUpdatedDate());
-    return holderBuilder.buildCompleteHolders(invoice, invoiceLines, false, requestContext)
-      .compose(holders -> paymentCreditWorkflowService.handlePaymentsAndCreditsCreation(holders, requestContext))
-      .compose(v -> Future.join(
+    return timeStage(PAY_WORKFLOW, "build-holders", () -> holderBuilder.buildCompleteHolders(invoice, invoiceLines, false, requestContext))
+      .compose(holders -> timeStage(PAY_WORKFLOW, "payments-credits",
+        () -> paymentCreditWorkflowService.handlePaymentsAndCreditsCreation(holders, requestContext)))
+      .compose(v -> timeStage(PAY_WORKFLOW, "po-lines-voucher", () -> Future.join(
         poLinePaymentStatusUpdateService.updatePoLinePaymentStatusToPayInvoice(invoiceLines, poLinePaymentStatus, requestContext),
-        voucherService.payInvoiceVoucher(invoice.getId(), requestContext)))
+        voucherService.payInvoiceVoucher(invoice.getId(), requestContext))))
       .mapEmpty();
   }
 
@@ -217,7 +217,7 @@ public class InvoiceLineHelper extends AbstractHelper {
       .compose(v -> {
         var ignoreMissingBudgets = InvoiceLineUtils.isIgnoreMissingBudgets(ilProcessing.getInvoiceLineFromStorage(), ilProcessing.getInvoiceLine());
         logger.info("updateInvoiceLine:: Ignoring missing budgets={}, invoice id={}, line id={}", ignoreMissingBudgets, invoiceLine.getInvoiceId(), invoiceLine.getId());
-        return holderBuilder.buildCompleteHolders(ilProcessing.getInvoice(), Collections.singletonList(ilProcessing.getInvoiceLine()), ignoreMissingBudgets, requestContext)
+        return holderBuilder.buildCompleteHolders(ilProcessing.getInvoice(), Collections.singletonList(ilProcessing.getInvoiceLine()), ignoreMissingBudgets, true, requestContext)
           .compose(holders -> {
             if (ignoreMissingBudgets && CollectionUtils.isEmpty(holders)) {
               return processInvoiceLineWithoutFinance(invoiceLine, ilProcessing);
@@ -313,7 +313,7 @@ public class InvoiceLineHelper extends AbstractHelper {
     }
 
     // Re-apply prorated adjustments if available
-    return applyProratedAdjustments(invoiceLine, invoice, requestContext)
+    return applyProratedAdjustments(invoiceLine, invoiceLineFromStorage, invoice, requestContext)
       .compose(affectedLines -> {
         // Recalculate totals before update which also indicates if invoice requires update
         calculateInvoiceLineTotals(invoiceLine, invoice);
@@ -386,7 +386,7 @@ public class InvoiceLineHelper extends AbstractHelper {
       .compose(v -> protectionHelper.isOperationRestricted(ilProcessing.getInvoice().getAcqUnitIds(),
         ProtectedOperationType.CREATE))
       .compose(invoice -> holderBuilder.buildCompleteHolders(ilProcessing.getInvoice(),
-          Collections.singletonList(ilProcessing.getInvoiceLine()), false, requestContext)
+          Collections.singletonList(ilProcessing.getInvoiceLine()), false, true, requestContext)
         .compose(holders -> budgetExpenseClassService.checkExpenseClasses(holders, requestContext))
         .compose(holders -> generateNewInvoiceLineNumber(holders, ilProcessing, requestContext))
         .map(holders -> updateInvoiceFiscalYear(holders, ilProcessing))
@@ -459,6 +459,30 @@ public class InvoiceLineHelper extends AbstractHelper {
       });
   }
 
+  /**
+   * Applies prorated adjustments to the updated {@code invoiceLine}. If the update does not change the proration base
+   * of the line, shares of the other lines are not changed and the stored shares of the line are reused without
+   * loading the other lines.
+   *
+   * @param invoiceLine            updated {@link InvoiceLine}
+   * @param invoiceLineFromStorage the line before the update
+   * @param invoice                associated {@link Invoice} record
+   * @return list of other lines which are updated after applying prorated adjustment(s)
+   */
+  private Future<List<InvoiceLine>> applyProratedAdjustments(InvoiceLine invoiceLine, InvoiceLine invoiceLineFromStorage,
+                                                             Invoice invoice, RequestContext requestContext) {
+    if (!adjustmentsService.getProratedAdjustments(invoice).isEmpty()
+      && !adjustmentsService.isProrationBaseChanged(invoiceLine, invoiceLineFromStorage)) {
+      invoiceLine.getAdjustments()
+        .forEach(adjustment -> adjustment.setProrate(Adjustment.Prorate.NOT_PRORATED));
+      if (adjustmentsService.applyStoredProratedAdjustments(invoiceLine, invoiceLineFromStorage, invoice)) {
+        logger.debug("applyProratedAdjustments:: Stored prorated adjustments are reused for invoice line id={}", invoiceLine.getId());
+        return succeededFuture(Collections.emptyList());
+      }
+    }
+    return applyProratedAdjustments(invoiceLine, invoice, requestContext);
+  }
+
   /**
    * Applies prorated adjustments to {@code invoiceLine}. In case there is any, other lines might be affected as well
    *
@@ -475,6 +499,10 @@ public class InvoiceLineHelper extends AbstractHelper {
     }
     invoiceLine.getAdjustments()
       .forEach(adjustment -> adjustment.setProrate(Adjustment.Prorate.NOT_PRORATED));
+    if (adjustmentsService.getProratedAdjustments(invoice).isEmpty()) {
+      // Only pending line level adjustments, there is nothing to prorate to the other lines
+      return succeededFuture(Collections.emptyList());
+    }
 
     return getRelatedLines(invoiceLine, requestContext)
       .map(lines -> {
@@ -522,14 +550,8 @@ public class InvoiceLineHelper extends AbstractHelper {
   }
 
   private Future<Void> persistInvoiceLines(Invoice invoice, List<InvoiceLine> lines, RequestContext requestContext) {
-    var futures = lines.stream()
-      .map(invoiceLine -> {
-        calculateInvoiceLineTotals(invoiceLine, invoice);
-        return this.updateInvoiceLineToStorage(invoiceLine, requestContext);
-      })
-      .collect(toList());
-
-    return Future.join(futures).mapEmpty();
+    lines.forEach(invoiceLine -> calculateInvoiceLineTotals(invoiceLine, invoice));
+    return invoiceLineService.persistInvoiceLines(lines, requestContext);
   }
 
   private Future<Void> updateInvoice(ILProcessing ilProcessing, RequestContext requestContext) {
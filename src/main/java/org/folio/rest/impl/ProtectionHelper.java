@@ -176,10 +176,9 @@ public class ProtectionHelper extends AbstractHelper {
 
 
   Future<List<String>> getAcqUnitIdsForUser(String userId) {
-    return acquisitionsUnitsService.getAcquisitionsUnitsMemberships("userId==" + userId, 0, Integer.MAX_VALUE, buildRequestContext())
+    return acquisitionsUnitsService.getAllAcquisitionsUnitsMemberships("userId==" + userId, buildRequestContext())
       .map(memberships -> {
-        List<String> ids = memberships.getAcquisitionsUnitMemberships()
-          .stream()
+        List<String> ids = memberships.stream()
           .map(AcquisitionsUnitMembership::getAcquisitionsUnitId)
           .collect(Collectors.toList());
 
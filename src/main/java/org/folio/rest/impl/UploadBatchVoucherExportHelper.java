@@ -4,12 +4,15 @@ import static org.folio.invoices.utils.ErrorCodes.BATCH_VOUCHER_NOT_FOUND;
 import static org.folio.services.ftp.FtpUploadService.URI_SYNTAX_ERROR;
 import static org.folio.services.ftp.FtpUploadService.URL_NOT_FOUND_FOR_FTP;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dbschema.ObjectMapperTool;
@@ -18,16 +21,24 @@ import org.folio.models.BatchVoucherUploadHolder;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.BatchVoucher;
 import org.folio.rest.jaxrs.model.BatchVoucherExport;
+import org.folio.rest.jaxrs.model.Credentials;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.ExportConfig;
 import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.rest.tools.utils.TenantTool;
+import org.folio.services.ftp.FileExchangeService;
 import org.folio.services.ftp.FtpUploadService;
 import org.folio.services.ftp.SftpUploadService;
+import org.folio.services.ftp.UploadCompression;
+import org.folio.services.ftp.UploadContentWriter;
+import org.folio.services.voucher.BatchVoucherArtifactCache;
+import org.folio.services.voucher.BatchVoucherArtifactCache.Artifact;
 import org.folio.services.voucher.BatchVoucherExportConfigService;
 import org.folio.services.voucher.BatchVoucherExportsService;
 import org.folio.services.voucher.BatchVoucherService;
 import org.folio.spring.SpringContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 public class UploadBatchVoucherExportHelper extends AbstractHelper {
   private static final Logger log = LogManager.getLogger(UploadBatchVoucherExportHelper.class);
@@ -40,6 +51,10 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
   private BatchVoucherExportConfigService batchVoucherExportConfigService;
   @Autowired
   private BatchVoucherExportsService batchVoucherExportsService;
+  @Autowired
+  private BatchVoucherArtifactCache batchVoucherArtifactCache;
+  @Value("${mod.invoice.batch-voucher.upload.compression:none}")
+  private String uploadCompression;
 
   private static final String CREDENTIALS_NOT_FOUND = "Credentials for FTP upload were not found";
 
@@ -64,7 +79,7 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
         .compose(v -> updateHolderWithBatchVoucher(uploadHolder))
         .compose(v -> uploadBatchVoucher(uploadHolder))
         .onSuccess(v -> successfulUploadUpdate(uploadHolder))
-        .onFailure(t -> failUploadUpdate(uploadHolder.getBatchVoucherExport(), t)));
+        .onFailure(t -> failUploadUpdate(uploadHolder, t)));
   }
 
   public Future<Void> uploadBatchVoucherExport(BatchVoucherExport batchVoucherExport) {
@@ -76,23 +91,107 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
       .compose(v -> updateHolderWithBatchVoucher(uploadHolder))
       .compose(v -> uploadBatchVoucher(uploadHolder))
       .onSuccess(v -> successfulUploadUpdate(uploadHolder))
-      .onFailure(t -> failUploadUpdate(uploadHolder.getBatchVoucherExport(), t));
+      .onFailure(t -> failUploadUpdate(uploadHolder, t));
   }
 
+  /**
+   * Uploads the batch voucher to all the destinations of the batch group in parallel. The file is generated once per format
+   * and kept in {@link BatchVoucherArtifactCache}, so a re-upload of the export reuses it.
+   * With several destinations, result of every destination is kept in the holder,
+   * the upload fails with the error of the first failed destination. A destination without credentials is skipped
+   * and does not prevent the upload to the other destinations.
+   */
   public Future<Void> uploadBatchVoucher(BatchVoucherUploadHolder uploadHolder) {
+    UploadCompression compression;
     try {
-      String fileName = generateFileName(uploadHolder.getBatchVoucher(), uploadHolder.getFileFormat());
-      BatchVoucher batchVoucher = uploadHolder.getBatchVoucher();
-      String format = uploadHolder.getExportConfig().getFormat().value();
-      String content = batchVoucherService.convertBatchVoucher(batchVoucher, format);
-      Integer port = uploadHolder.getExportConfig().getFtpPort();
-      if (ExportConfig.FtpFormat.FTP == uploadHolder.getExportConfig().getFtpFormat()) {
-        return new FtpUploadService(ctx, uploadHolder.getExportConfig().getUploadURI(), port)
-          .upload(ctx, uploadHolder.getCredentials().getUsername(), uploadHolder.getCredentials().getPassword(), uploadHolder.getExportConfig().getUploadDirectory(), fileName, content).mapEmpty();
-      } else {
-        return new SftpUploadService(uploadHolder.getExportConfig().getUploadURI(), port)
-          .upload(ctx, uploadHolder.getCredentials().getUsername(), uploadHolder.getCredentials().getPassword(), uploadHolder.getExportConfig().getUploadDirectory(), fileName, content).mapEmpty();
+      compression = UploadCompression.fromValue(uploadCompression);
+    } catch (IllegalArgumentException e) {
+      log.error("Batch voucher upload compression is not valid", e);
+      return Future.failedFuture(e);
+    }
+    List<ExportConfig> exportConfigs = uploadHolder.getExportConfigs();
+    Map<String, Future<Artifact>> artifactByFormat = new HashMap<>();
+    List<Future<Void>> uploads = new ArrayList<>();
+    for (ExportConfig exportConfig : exportConfigs) {
+      String format = exportConfig.getFormat().value();
+      String artifactKey = buildArtifactKey(uploadHolder, format, compression);
+      Credentials credentials = uploadHolder.getCredentials(exportConfig.getId());
+      if (credentials == null) {
+        uploadHolder.getDestinationStatuses().add(String.format("Upload to %s was skipped: %s", getDestination(exportConfig),
+          CREDENTIALS_NOT_FOUND));
+        uploads.add(Future.failedFuture(new HttpException(404, CREDENTIALS_NOT_FOUND)));
+        continue;
       }
+      Future<Void> upload = artifactByFormat.computeIfAbsent(format, f -> getArtifact(uploadHolder, artifactKey, f, compression))
+        .compose(artifact -> {
+          if (exportConfig == uploadHolder.getExportConfig()) {
+            uploadHolder.setFileName(artifact.fileName());
+          }
+          return upload(exportConfig, credentials, artifact.fileName(), batchVoucherArtifactCache.reader(artifact))
+            .onComplete(result -> {
+              if (exportConfigs.size() > 1) {
+                addDestinationStatus(uploadHolder, exportConfig, artifact.fileName(), result.cause());
+              }
+            });
+        });
+      uploads.add(upload);
+    }
+    return Future.join(uploads)
+      .transform(ar -> uploads.stream()
+        .filter(Future::failed)
+        .findFirst()
+        .<Future<Void>>map(failed -> Future.failedFuture(failed.cause()))
+        .orElseGet(Future::succeededFuture))
+      .onComplete(ar -> artifactByFormat.values().forEach(artifact -> artifact.onSuccess(batchVoucherArtifactCache::discard)));
+  }
+
+  /**
+   * Reuses the cached artifact when its file still matches the checksum, otherwise generates the artifact again.
+   * The file is checked on the conversion worker pool before the upload starts.
+   */
+  private Future<Artifact> getArtifact(BatchVoucherUploadHolder uploadHolder, String artifactKey, String format,
+                                       UploadCompression compression) {
+    return batchVoucherService.executeConversion(() -> batchVoucherArtifactCache.get(artifactKey))
+      .compose(artifact -> {
+        if (artifact != null) {
+          log.info("getArtifact:: Reusing generated batch voucher {}, checksum: {}", artifact.fileName(), artifact.checksum());
+          return Future.succeededFuture(artifact);
+        }
+        return getBatchVoucher(uploadHolder)
+          .compose(batchVoucher -> batchVoucherService.executeConversion(() -> {
+            String contentFileName = generateFileName(batchVoucher, getFileFormat(format));
+            UploadContentWriter content = compression.compress(
+              outputStream -> batchVoucherService.writeBatchVoucher(batchVoucher, format, outputStream), contentFileName);
+            return batchVoucherArtifactCache.store(artifactKey, compression.getFileName(contentFileName), content);
+          }));
+      });
+  }
+
+  private String buildArtifactKey(BatchVoucherUploadHolder uploadHolder, String format, UploadCompression compression) {
+    return BatchVoucherArtifactCache.buildKey(TenantTool.tenantId(okapiHeaders),
+      uploadHolder.getBatchVoucherExport().getBatchVoucherId(), format, compression.name());
+  }
+
+  private void addDestinationStatus(BatchVoucherUploadHolder uploadHolder, ExportConfig exportConfig,
+                                    String fileName, Throwable cause) {
+    String destination = getDestination(exportConfig);
+    uploadHolder.getDestinationStatuses().add(cause == null
+      ? String.format("%s uploaded to %s", fileName, destination)
+      : String.format("%s failed to upload to %s: %s", fileName, destination, cause.getMessage()));
+  }
+
+  private String getDestination(ExportConfig exportConfig) {
+    return exportConfig.getUploadURI() + StringUtils.defaultString(exportConfig.getUploadDirectory());
+  }
+
+  private Future<Void> upload(ExportConfig exportConfig, Credentials credentials, String fileName, UploadContentWriter content) {
+    try {
+      FileExchangeService fileExchangeService = ExportConfig.FtpFormat.FTP == exportConfig.getFtpFormat()
+        ? new FtpUploadService(ctx, exportConfig.getUploadURI(), exportConfig.getFtpPort())
+        : new SftpUploadService(ctx, exportConfig.getUploadURI(), exportConfig.getFtpPort());
+      return fileExchangeService.upload(ctx, credentials.getUsername(), credentials.getPassword(),
+          exportConfig.getUploadDirectory(), fileName, content)
+        .mapEmpty();
     } catch (Exception e) {
       log.error("Ftp OR Sftp UploadService creation failed", e);
       return Future.failedFuture(e);
@@ -110,10 +209,10 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
 
   private Future<Void> updateHolderWithExportConfig(BatchVoucherUploadHolder uploadHolder) {
     var query = buildExportConfigQuery(uploadHolder.getBatchVoucherExport().getBatchGroupId());
-    return batchVoucherExportConfigService.getExportConfigs(1, 0, query, requestContext)
+    return batchVoucherExportConfigService.getAllExportConfigs(query, requestContext)
       .map(exportConfigs -> {
-        if (!exportConfigs.getExportConfigs().isEmpty()) {
-          uploadHolder.setExportConfig(exportConfigs.getExportConfigs().get(0));
+        if (!exportConfigs.isEmpty()) {
+          uploadHolder.setExportConfigs(exportConfigs);
           return null;
         }
         var param = new Parameter().withKey("query").withValue(query);
@@ -124,20 +223,53 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
   }
 
   private void updateHolderWithFileFormat(BatchVoucherUploadHolder uploadHolder) {
-    String fileFormat = uploadHolder.getExportConfig().getFormat().value().split("/")[1];
-    uploadHolder.setFileFormat(fileFormat);
+    uploadHolder.setFileFormat(getFileFormat(uploadHolder.getExportConfig().getFormat().value()));
   }
 
+  private String getFileFormat(String format) {
+    return format.split("/")[1];
+  }
+
+  /**
+   * Loads credentials of every destination, the destinations without credentials are skipped by the upload.
+   * Fails only if none of the destinations has credentials.
+   */
   private Future<Void> updateHolderWithCredentials(BatchVoucherUploadHolder uploadHolder) {
-    return batchVoucherExportConfigService.getExportConfigCredentials(uploadHolder.getExportConfig().getId(), requestContext)
-      .onSuccess(uploadHolder::setCredentials)
-      .recover(t -> {
-        throw new HttpException(404, CREDENTIALS_NOT_FOUND);
-      })
-      .mapEmpty();
+    List<Future<Void>> futures = uploadHolder.getExportConfigs().stream()
+      .map(exportConfig -> batchVoucherExportConfigService.getExportConfigCredentials(exportConfig.getId(), requestContext)
+        .onSuccess(credentials -> uploadHolder.addCredentials(exportConfig.getId(), credentials))
+        .onFailure(t -> log.warn("updateHolderWithCredentials:: Credentials of export configuration {} were not found",
+          exportConfig.getId(), t))
+        .<Void>mapEmpty()
+        .otherwiseEmpty())
+      .toList();
+    return Future.all(futures)
+      .compose(v -> {
+        boolean hasCredentials = uploadHolder.getExportConfigs().stream()
+          .anyMatch(exportConfig -> uploadHolder.getCredentials(exportConfig.getId()) != null);
+        return hasCredentials
+          ? Future.<Void>succeededFuture()
+          : Future.<Void>failedFuture(new HttpException(404, CREDENTIALS_NOT_FOUND));
+      });
   }
 
   private Future<Void> updateHolderWithBatchVoucher(BatchVoucherUploadHolder uploadHolder) {
+    boolean isGenerated = uploadHolder.getExportConfigs().stream()
+      .allMatch(exportConfig -> isArtifactGenerated(uploadHolder, exportConfig));
+    if (isGenerated) {
+      return Future.succeededFuture();
+    }
+    return getBatchVoucher(uploadHolder).mapEmpty();
+  }
+
+  /**
+   * @return batch voucher of the holder, the batch voucher is loaded if it was not needed before,
+   * e.g. the cached artifact was removed or corrupted
+   */
+  private Future<BatchVoucher> getBatchVoucher(BatchVoucherUploadHolder uploadHolder) {
+    if (uploadHolder.getBatchVoucher() != null) {
+      return Future.succeededFuture(uploadHolder.getBatchVoucher());
+    }
     return batchVoucherService.getBatchVoucherById(uploadHolder.getBatchVoucherExport().getBatchVoucherId(), buildRequestContext())
       .onSuccess(uploadHolder::setBatchVoucher)
       .recover(t -> {
@@ -146,19 +278,33 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
         var error = BATCH_VOUCHER_NOT_FOUND.toError().withParameters(List.of(parameter, causeParam));
         log.error("Failed to fetch batch voucher by id: {}", JsonObject.mapFrom(error).encodePrettily());
         throw new HttpException(404, error);
-      })
-      .mapEmpty();
+      });
+  }
+
+  private boolean isArtifactGenerated(BatchVoucherUploadHolder uploadHolder, ExportConfig exportConfig) {
+    try {
+      String artifactKey = buildArtifactKey(uploadHolder, exportConfig.getFormat().value(),
+        UploadCompression.fromValue(uploadCompression));
+      return batchVoucherArtifactCache.contains(artifactKey);
+    } catch (IllegalArgumentException e) {
+      // the upload fails with the not valid compression
+      return false;
+    }
   }
 
-  private Future<Void> failUploadUpdate(BatchVoucherExport bvExport, Throwable t) {
+  private Future<Void> failUploadUpdate(BatchVoucherUploadHolder uploadHolder, Throwable t) {
+    BatchVoucherExport bvExport = uploadHolder.getBatchVoucherExport();
     if (bvExport != null) {
-      boolean isNotFoundError = URL_NOT_FOUND_FOR_FTP.equals(t.getMessage()) ||
+      // With several destinations the upload fails only if at least one destination failed or was skipped,
+      // so the status does not depend on which failure comes first
+      boolean isNotFoundError = uploadHolder.getExportConfigs().size() <= 1 && (URL_NOT_FOUND_FOR_FTP.equals(t.getMessage()) ||
         URI_SYNTAX_ERROR.equals(t.getMessage()) ||
-        CREDENTIALS_NOT_FOUND.equals(t.getMessage());
+        CREDENTIALS_NOT_FOUND.equals(t.getMessage()));
       if (!isNotFoundError) {
         bvExport.setStatus(BatchVoucherExport.Status.ERROR);
       }
-      bvExport.setMessage(t.getMessage());
+      bvExport.setMessage(uploadHolder.getDestinationStatuses().isEmpty()
+        ? t.getMessage() : String.join("; ", uploadHolder.getDestinationStatuses()));
       return batchVoucherExportsService.updateBatchVoucherExportRecord(bvExport, buildRequestContext());
     }
     log.error("Exception occurs, when uploading batch voucher", t);
@@ -169,7 +315,8 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
     BatchVoucherExport bvExport = uploadHolder.getBatchVoucherExport();
     if (bvExport != null) {
       bvExport.setStatus(BatchVoucherExport.Status.UPLOADED);
-      bvExport.setMessage(generateFileName(uploadHolder.getBatchVoucher(), uploadHolder.getFileFormat()));
+      bvExport.setMessage(uploadHolder.getDestinationStatuses().isEmpty()
+        ? uploadHolder.getFileName() : String.join("; ", uploadHolder.getDestinationStatuses()));
       log.debug("Batch voucher uploaded on FTP");
       return updateBatchVoucher(bvExport);
 
@@ -182,6 +329,6 @@ public class UploadBatchVoucherExportHelper extends AbstractHelper {
   }
 
   private String buildExportConfigQuery(String groupId) {
-    return "batchGroupId==" + groupId;
+    return "batchGroupId==" + groupId + " sortBy id";
   }
 }
@@ -6,10 +6,15 @@ import static org.folio.invoices.utils.ResourcePathResolver.ACQUISITIONS_MEMBERS
 import static org.folio.invoices.utils.ResourcePathResolver.ACQUISITIONS_UNITS;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
 
+import java.util.List;
+
 import org.folio.rest.acq.model.units.AcquisitionsUnitCollection;
+import org.folio.rest.acq.model.units.AcquisitionsUnitMembership;
 import org.folio.rest.acq.model.units.AcquisitionsUnitMembershipCollection;
+import org.folio.rest.core.PagedReader;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
 
 import io.vertx.core.Future;
 
@@ -35,4 +40,13 @@ public class AcquisitionsUnitsService {
     return restClient.get(endpoint, AcquisitionsUnitMembershipCollection.class, requestContext);
   }
 
+  /**
+   * Retrieves all memberships matching the query page by page
+   */
+  public Future<List<AcquisitionsUnitMembership>> getAllAcquisitionsUnitsMemberships(String query, RequestContext requestContext) {
+    RequestEntry requestEntry = new RequestEntry(resourcesPath(ACQUISITIONS_MEMBERSHIPS)).withQuery(query + " sortBy id");
+    return PagedReader.getAll(restClient, requestEntry, AcquisitionsUnitMembershipCollection.class,
+      AcquisitionsUnitMembershipCollection::getAcquisitionsUnitMemberships, requestContext);
+  }
+
 }
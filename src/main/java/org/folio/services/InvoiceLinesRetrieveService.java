@@ -2,16 +2,15 @@ package org.folio.services;
 
 import static java.util.stream.Collectors.groupingBy;
 import static one.util.streamex.StreamEx.ofSubLists;
-import static org.folio.invoices.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
+import static org.folio.invoices.utils.HelperUtils.executeWithSemaphores;
 import static org.folio.invoices.utils.ResourcePathResolver.INVOICE_LINES;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.RestConstants.SEMAPHORE_MAX_ACTIVE_THREADS;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
@@ -22,6 +21,7 @@ import org.folio.rest.jaxrs.model.VoucherCollection;
 import org.folio.services.invoice.InvoiceLineService;
 
 import io.vertx.core.Future;
+import one.util.streamex.StreamEx;
 
 public class InvoiceLinesRetrieveService {
   private final InvoiceLineService invoiceLineService;
@@ -34,21 +34,18 @@ public class InvoiceLinesRetrieveService {
 
   public Future<Map<String, List<InvoiceLine>>> getInvoiceLineMap(VoucherCollection voucherCollection, RequestContext requestContext) {
     return getInvoiceLineByChunks(voucherCollection.getVouchers(), requestContext)
-      .map(invoiceLineCollections ->
-        invoiceLineCollections.stream()
-          .map(InvoiceLineCollection::getInvoiceLines)
-          .collect(Collectors.toList()).stream()
-          .flatMap(List::stream)
-          .collect(Collectors.toList()))
-      .map(invoiceLines -> invoiceLines.stream().collect(groupingBy(InvoiceLine::getInvoiceId)));
+      .map(invoiceLineCollections -> invoiceLineCollections.stream()
+        .flatMap(invoiceLineCollection -> invoiceLineCollection.getInvoiceLines().stream())
+        .collect(groupingBy(InvoiceLine::getInvoiceId)));
   }
 
+  /**
+   * Retrieves invoice lines of the vouchers, lines of every invoice are requested once even if it has several vouchers
+   */
   public Future<List<InvoiceLineCollection>> getInvoiceLineByChunks(List<Voucher> vouchers, RequestContext requestContext) {
-    List<String> invoiceIds = vouchers.stream().map(Voucher::getInvoiceId).collect(Collectors.toList());
-    return collectResultsOnSuccess(
-      ofSubLists(new ArrayList<>(invoiceIds), MAX_IDS_FOR_GET_RQ)
-        .map(ids -> getInvoiceLineChunkByInvoiceIds(ids, requestContext))
-        .toList());
+    List<String> invoiceIds = StreamEx.of(vouchers).map(Voucher::getInvoiceId).nonNull().distinct().toList();
+    return executeWithSemaphores(requestContext.getContext(), SEMAPHORE_MAX_ACTIVE_THREADS, false,
+      ofSubLists(invoiceIds, MAX_IDS_FOR_GET_RQ).toList(), ids -> getInvoiceLineChunkByInvoiceIds(ids, requestContext));
   }
 
   private Future<InvoiceLineCollection> getInvoiceLineChunkByInvoiceIds(List<String> invoiceIds, RequestContext requestContext) {
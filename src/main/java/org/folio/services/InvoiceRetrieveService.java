@@ -1,18 +1,16 @@
 package org.folio.services;
 
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static one.util.streamex.StreamEx.ofSubLists;
-import static org.folio.invoices.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
+import static org.folio.invoices.utils.HelperUtils.executeWithSemaphores;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
+import static org.folio.rest.RestConstants.SEMAPHORE_MAX_ACTIVE_THREADS;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.Invoice;
@@ -22,6 +20,7 @@ import org.folio.rest.jaxrs.model.VoucherCollection;
 import org.folio.services.invoice.InvoiceService;
 
 import io.vertx.core.Future;
+import one.util.streamex.StreamEx;
 
 public class InvoiceRetrieveService {
   private final InvoiceService invoiceService;
@@ -32,21 +31,18 @@ public class InvoiceRetrieveService {
 
   public Future<Map<String, Invoice>> getInvoiceMap(VoucherCollection voucherCollection, RequestContext requestContext) {
    return getInvoicesByChunks(voucherCollection.getVouchers(), requestContext)
-      .map(invoiceCollections ->
-        invoiceCollections.stream()
-          .map(InvoiceCollection::getInvoices)
-          .collect(toList()).stream()
-          .flatMap(List::stream)
-          .collect(Collectors.toList()))
-      .map(invoices -> invoices.stream().distinct().collect(toMap(Invoice::getId, Function.identity())));
+      .map(invoiceCollections -> invoiceCollections.stream()
+        .flatMap(invoiceCollection -> invoiceCollection.getInvoices().stream())
+        .collect(toMap(Invoice::getId, Function.identity(), (invoice, duplicate) -> invoice)));
   }
 
+  /**
+   * Retrieves invoices of the vouchers, every invoice is requested once even if it has several vouchers
+   */
   public Future<List<InvoiceCollection>> getInvoicesByChunks(List<Voucher> vouchers, RequestContext requestContext) {
-    List<String> invoiceIds = vouchers.stream().map(Voucher::getInvoiceId).collect(Collectors.toList());
-    return collectResultsOnSuccess(
-      ofSubLists(new ArrayList<>(invoiceIds), MAX_IDS_FOR_GET_RQ)
-            .map(ids -> getInvoicesChunkByInvoiceIds(ids, requestContext))
-            .toList());
+    List<String> invoiceIds = StreamEx.of(vouchers).map(Voucher::getInvoiceId).nonNull().distinct().toList();
+    return executeWithSemaphores(requestContext.getContext(), SEMAPHORE_MAX_ACTIVE_THREADS, false,
+      ofSubLists(invoiceIds, MAX_IDS_FOR_GET_RQ).toList(), ids -> getInvoicesChunkByInvoiceIds(ids, requestContext));
   }
 
   private Future<InvoiceCollection> getInvoicesChunkByInvoiceIds(Collection<String> invoiceIds, RequestContext requestContext) {
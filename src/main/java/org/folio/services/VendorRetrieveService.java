@@ -1,17 +1,17 @@
 package org.folio.services;
 
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static org.folio.invoices.utils.HelperUtils.buildIdsChunks;
-import static org.folio.invoices.utils.HelperUtils.collectResultsOnSuccess;
+import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
+import static org.folio.invoices.utils.HelperUtils.executeWithSemaphores;
+import static org.folio.rest.RestConstants.SEMAPHORE_MAX_ACTIVE_THREADS;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,6 +23,7 @@ import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Invoice;
 
 import io.vertx.core.Future;
+import one.util.streamex.StreamEx;
 
 public class VendorRetrieveService {
 
@@ -41,31 +42,19 @@ public class VendorRetrieveService {
 
 
   public Future<Map<String, Organization>> getVendorsMap(List<Invoice> invoices, RequestContext requestContext) {
-    return getVendorsByChunks(invoices, requestContext).map(organizationCollections -> organizationCollections.stream()
-      .map(OrganizationCollection::getOrganizations)
-      .collect(toList())
-      .stream()
-      .flatMap(List::stream)
-      .collect(Collectors.toList()))
-      .map(organizations -> organizations.stream()
-        .distinct()
-        .collect(toMap(Organization::getId, Function.identity())));
+    return getVendorsByChunks(invoices, requestContext)
+      .map(organizationCollections -> organizationCollections.stream()
+        .flatMap(organizationCollection -> organizationCollection.getOrganizations().stream())
+        .collect(toMap(Organization::getId, Function.identity(), (vendor, duplicate) -> vendor)));
   }
 
-  public Future<List<OrganizationCollection>> getVendorsByChunks(List<Invoice> invoices,  RequestContext requestContext) {
-    List<Future<OrganizationCollection>> invoiceFutureList = buildIdsChunks(invoices, MAX_IDS_FOR_GET_RQ).values()
-      .stream()
-      .map(this::getVendorIds)
-      .map(ids -> getVendors(ids, requestContext))
-      .collect(Collectors.toList());
-
-    return collectResultsOnSuccess(invoiceFutureList);
-  }
-
-  private Set<String> getVendorIds(List<Invoice> invoices) {
-    return invoices.stream()
-      .map(Invoice::getVendorId)
-      .collect(Collectors.toSet());
+  /**
+   * Retrieves vendors of the invoices, every vendor is requested once even if it has many invoices
+   */
+  public Future<List<OrganizationCollection>> getVendorsByChunks(List<Invoice> invoices, RequestContext requestContext) {
+    List<String> vendorIds = StreamEx.of(invoices).map(Invoice::getVendorId).nonNull().distinct().toList();
+    return executeWithSemaphores(requestContext.getContext(), SEMAPHORE_MAX_ACTIVE_THREADS, false,
+      ofSubLists(vendorIds, MAX_IDS_FOR_GET_RQ).toList(), ids -> getVendors(new LinkedHashSet<>(ids), requestContext));
   }
 
   /**
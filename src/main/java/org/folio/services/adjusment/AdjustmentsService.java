@@ -61,11 +61,12 @@ public class AdjustmentsService {
     sortByInvoiceLineNumber(lines);
     List<InvoiceLine> updatedProratedLines = new ArrayList<>();
     List<Adjustment> proratedAdjustments = getProratedAdjustments(invoice);
+    ProrationTotals totals = new ProrationTotals(lines, currencyUnit);
     for (Adjustment adjustment : proratedAdjustments) {
       List<InvoiceLine> updatedLinesByProrate = switch (adjustment.getProrate()) {
-        case BY_LINE -> applyProratedAdjustmentByLines(adjustment, lines, currencyUnit);
-        case BY_AMOUNT -> applyProratedAdjustmentByAmount(adjustment, lines, currencyUnit);
-        case BY_QUANTITY -> applyProratedAdjustmentByQuantity(adjustment, lines, currencyUnit);
+        case BY_LINE -> applyProratedAdjustmentByLines(adjustment, lines, totals);
+        case BY_AMOUNT -> applyProratedAdjustmentByAmount(adjustment, lines, totals);
+        case BY_QUANTITY -> applyProratedAdjustmentByQuantity(adjustment, lines, totals);
         default -> {
           logger.warn("Unexpected {} adjustment's prorate type for invoice with id={}", adjustment.getProrate(), invoice.getId());
           yield List.of();
@@ -79,6 +80,47 @@ public class AdjustmentsService {
       .toList();
   }
 
+  /**
+   * Checks if an update of the line changes any value the proration of invoice adjustments depends on
+   *
+   * @param invoiceLine            updated invoice line
+   * @param invoiceLineFromStorage invoice line before the update
+   * @return {@code true} if the sub-total, quantity or line number is changed
+   */
+  public boolean isProrationBaseChanged(InvoiceLine invoiceLine, InvoiceLine invoiceLineFromStorage) {
+    return !Objects.equals(invoiceLine.getSubTotal(), invoiceLineFromStorage.getSubTotal())
+      || !Objects.equals(invoiceLine.getQuantity(), invoiceLineFromStorage.getQuantity())
+      || !Objects.equals(invoiceLine.getInvoiceLineNumber(), invoiceLineFromStorage.getInvoiceLineNumber());
+  }
+
+  /**
+   * Applies prorated adjustments to the updated line using the shares stored with the line. When the proration base of
+   * the line is not changed (see {@link #isProrationBaseChanged}), shares of all the lines stay the same and the other lines
+   * do not have to be loaded and prorated again.
+   *
+   * @param invoiceLine            updated invoice line
+   * @param invoiceLineFromStorage invoice line before the update
+   * @param invoice                invoice of the line
+   * @return {@code false} if the stored line does not have a share of every prorated adjustment, the line is not changed
+   * in this case and all the lines have to be prorated
+   */
+  public boolean applyStoredProratedAdjustments(InvoiceLine invoiceLine, InvoiceLine invoiceLineFromStorage, Invoice invoice) {
+    Map<String, Adjustment> storedShares = getProratedAdjustments(invoiceLineFromStorage).stream()
+      .collect(toMap(Adjustment::getAdjustmentId, adjustment -> adjustment, (first, second) -> first));
+    List<Adjustment> proratedAdjustments = getProratedAdjustments(invoice);
+    if (!proratedAdjustments.stream().allMatch(adjustment -> storedShares.containsKey(adjustment.getId()))) {
+      return false;
+    }
+    for (Adjustment adjustment : proratedAdjustments) {
+      // Stored shares are amounts, percentage adjustments are converted to amounts before the proration
+      Adjustment proratedAdjustment = prepareAdjustmentForLine(adjustment)
+        .withType(Adjustment.Type.AMOUNT);
+      proratedAdjustment.setValue(storedShares.get(adjustment.getId()).getValue());
+      addAdjustmentToLine(invoiceLine.getAdjustments(), proratedAdjustment);
+    }
+    return true;
+  }
+
   public List<Adjustment> getPendingInvoiceLineAdjustments(InvoiceLine invoiceLine) {
     return invoiceLine.getAdjustments().stream().filter(adjustment -> Objects.isNull(adjustment.getId())).toList();
   }
@@ -127,22 +169,22 @@ public class AdjustmentsService {
    * Each invoiceLine gets adjustment value divided by quantity of lines
    */
   private List<InvoiceLine> applyProratedAdjustmentByLines(Adjustment adjustment, List<InvoiceLine> lines,
-                                                           CurrencyUnit currencyUnit) {
+                                                           ProrationTotals totals) {
     if (Adjustment.Type.PERCENTAGE == adjustment.getType()) {
-      return applyPercentageAdjustmentsByLines(adjustment, lines, currencyUnit);
+      return applyPercentageAdjustmentsByLines(adjustment, lines, totals);
     } else {
-      return applyAmountTypeProratedAdjustments(adjustment, lines, currencyUnit, prorateByLines(lines));
+      return applyAmountTypeProratedAdjustments(adjustment, lines, totals.currencyUnit, prorateByLines(lines));
     }
   }
 
-  private List<InvoiceLine> applyPercentageAdjustmentsByLines(Adjustment adjustment, List<InvoiceLine> lines, CurrencyUnit currencyUnit) {
-    Adjustment amountAdjustment = convertToAmountAdjustment(adjustment, lines, currencyUnit);
+  private List<InvoiceLine> applyPercentageAdjustmentsByLines(Adjustment adjustment, List<InvoiceLine> lines, ProrationTotals totals) {
+    Adjustment amountAdjustment = convertToAmountAdjustment(adjustment, totals);
 
-    return applyAmountTypeProratedAdjustments(amountAdjustment, lines, currencyUnit, prorateByLines(lines));
+    return applyAmountTypeProratedAdjustments(amountAdjustment, lines, totals.currencyUnit, prorateByLines(lines));
   }
 
-  private Adjustment convertToAmountAdjustment(Adjustment adjustment, List<InvoiceLine> lines, CurrencyUnit currencyUnit) {
-    MonetaryAmount subTotal = summarizeSubTotals(lines, currencyUnit, false);
+  private Adjustment convertToAmountAdjustment(Adjustment adjustment, ProrationTotals totals) {
+    MonetaryAmount subTotal = totals.getSubTotal();
     Adjustment amountAdjustment = JsonObject.mapFrom(adjustment)
       .mapTo(adjustment.getClass());
     MonetaryAmount amount;
@@ -210,18 +252,18 @@ public class AdjustmentsService {
    * Prorated percentage adjustments of this type aren't split but rather each invoiceLine gets an adjustment of that percentage
    */
   private List<InvoiceLine> applyProratedAdjustmentByAmount(Adjustment adjustment, List<InvoiceLine> lines,
-                                                            CurrencyUnit currencyUnit) {
+                                                            ProrationTotals totals) {
     if (adjustment.getType() == Adjustment.Type.PERCENTAGE) {
-      adjustment = convertToAmountAdjustment(adjustment, lines, currencyUnit);
+      adjustment = convertToAmountAdjustment(adjustment, totals);
     }
 
-    MonetaryAmount grandSubTotal = summarizeSubTotals(lines, currencyUnit, true);
+    MonetaryAmount grandSubTotal = totals.getAbsSubTotal();
     if (grandSubTotal.isZero()) {
       // If summarized subTotal (by abs) is zero, each line has zero amount (e.g. gift) so adjustment should be prorated "By line"
-      return applyProratedAdjustmentByLines(adjustment, lines, currencyUnit);
+      return applyProratedAdjustmentByLines(adjustment, lines, totals);
     }
 
-    return applyAmountTypeProratedAdjustments(adjustment, lines, currencyUnit, prorateByAmountFunction(grandSubTotal));
+    return applyAmountTypeProratedAdjustments(adjustment, lines, totals.currencyUnit, prorateByAmountFunction(grandSubTotal));
   }
 
   private BiFunction<MonetaryAmount, InvoiceLine, MonetaryAmount> prorateByAmountFunction(MonetaryAmount grandSubTotal) {
@@ -235,25 +277,22 @@ public class AdjustmentsService {
    * Each invoiceLine gets an portion of the amount proportionate to the invoiceLine's quantity.
    */
   private List<InvoiceLine> applyProratedAdjustmentByQuantity(Adjustment adjustment, List<InvoiceLine> lines,
-                                                              CurrencyUnit currencyUnit) {
+                                                              ProrationTotals totals) {
     if (adjustment.getType() == Adjustment.Type.PERCENTAGE) {
-      return applyPercentageAdjustmentsByQuantity(adjustment, lines, currencyUnit);
+      return applyPercentageAdjustmentsByQuantity(adjustment, lines, totals);
     }
-    return applyAmountTypeProratedAdjustments(adjustment, lines, currencyUnit, prorateByAmountFunction(lines));
-  }
-
-  private List<InvoiceLine> applyPercentageAdjustmentsByQuantity(Adjustment adjustment, List<InvoiceLine> lines, CurrencyUnit currencyUnit) {
-    Adjustment amountAdjustment = convertToAmountAdjustment(adjustment, lines, currencyUnit);
-    return applyAmountTypeProratedAdjustments(amountAdjustment, lines, currencyUnit, prorateByAmountFunction(lines));
+    return applyAmountTypeProratedAdjustments(adjustment, lines, totals.currencyUnit, prorateByQuantityFunction(totals));
   }
 
-  private BiFunction<MonetaryAmount, InvoiceLine, MonetaryAmount> prorateByAmountFunction(List<InvoiceLine> invoiceLines) {
-    // The adjustment amount should be calculated by absolute value of subTotal
-    return (amount, line) -> amount.multiply(line.getQuantity()).divide(getTotalQuantities(invoiceLines)).with(Monetary.getDefaultRounding());
+  private List<InvoiceLine> applyPercentageAdjustmentsByQuantity(Adjustment adjustment, List<InvoiceLine> lines, ProrationTotals totals) {
+    Adjustment amountAdjustment = convertToAmountAdjustment(adjustment, totals);
+    return applyAmountTypeProratedAdjustments(amountAdjustment, lines, totals.currencyUnit, prorateByQuantityFunction(totals));
   }
 
-  private Integer getTotalQuantities(List<InvoiceLine> lines) {
-    return lines.stream().map(InvoiceLine::getQuantity).reduce(0, Integer::sum);
+  private BiFunction<MonetaryAmount, InvoiceLine, MonetaryAmount> prorateByQuantityFunction(ProrationTotals totals) {
+    // The total quantity is calculated once for all the lines
+    Integer totalQuantity = totals.getQuantity();
+    return (amount, line) -> amount.multiply(line.getQuantity()).divide(totalQuantity).with(Monetary.getDefaultRounding());
   }
 
   private Map<String, MonetaryAmount> calculateAdjValueForEachLine(List<InvoiceLine> lines,
@@ -288,4 +327,43 @@ public class AdjustmentsService {
   private BiFunction<MonetaryAmount, InvoiceLine, MonetaryAmount> prorateByLines(List<InvoiceLine> lines) {
     return (amount, line) -> amount.divide(lines.size()).with(Monetary.getDefaultRounding());
   }
+
+  /**
+   * Invoice level aggregates the proration depends on. Each of them is calculated once per proration when it is used
+   * for the first time instead of being recalculated for every adjustment or every line.
+   */
+  private static class ProrationTotals {
+
+    private final List<InvoiceLine> lines;
+    private final CurrencyUnit currencyUnit;
+    private MonetaryAmount subTotal;
+    private MonetaryAmount absSubTotal;
+    private Integer quantity;
+
+    ProrationTotals(List<InvoiceLine> lines, CurrencyUnit currencyUnit) {
+      this.lines = lines;
+      this.currencyUnit = currencyUnit;
+    }
+
+    MonetaryAmount getSubTotal() {
+      if (subTotal == null) {
+        subTotal = summarizeSubTotals(lines, currencyUnit, false);
+      }
+      return subTotal;
+    }
+
+    MonetaryAmount getAbsSubTotal() {
+      if (absSubTotal == null) {
+        absSubTotal = summarizeSubTotals(lines, currencyUnit, true);
+      }
+      return absSubTotal;
+    }
+
+    Integer getQuantity() {
+      if (quantity == null) {
+        quantity = lines.stream().map(InvoiceLine::getQuantity).reduce(0, Integer::sum);
+      }
+      return quantity;
+    }
+  }
 }
@@ -3,6 +3,7 @@ package org.folio.services.caches;
 import static org.folio.invoices.utils.ResourcePathResolver.INVOICE_STORAGE_SETTINGS;
 import static org.folio.invoices.utils.ResourcePathResolver.LOCALE_SETTINGS;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.metrics.ModuleMetrics.monitorCache;
 import static org.folio.utils.CacheUtils.buildAsyncCache;
 
 import java.util.function.BiFunction;
@@ -42,8 +43,8 @@ public class CommonSettingsCache {
   @PostConstruct
   void init() {
     var context = Vertx.currentContext();
-    this.voucherNumberPrefixCache = buildAsyncCache(context, cacheExpirationTime);
-    this.systemCurrencyCache = buildAsyncCache(context, cacheExpirationTime);
+    this.voucherNumberPrefixCache = monitorCache(buildAsyncCache(context, cacheExpirationTime), "voucher-number-prefix");
+    this.systemCurrencyCache = monitorCache(buildAsyncCache(context, cacheExpirationTime), "system-currency");
   }
 
   public Future<String> getVoucherNumberPrefix(RequestContext requestContext) {
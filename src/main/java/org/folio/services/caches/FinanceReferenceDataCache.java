@@ -0,0 +1,188 @@
+package org.folio.services.caches;
+
+import static java.util.stream.Collectors.toMap;
+import static org.folio.metrics.ModuleMetrics.monitorCache;
+import static org.folio.utils.CacheUtils.buildAsyncCache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.folio.rest.acq.model.finance.Budget;
+import org.folio.rest.acq.model.finance.ExpenseClass;
+import org.folio.rest.acq.model.finance.FiscalYear;
+import org.folio.rest.acq.model.finance.Fund;
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.tools.utils.TenantTool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Tenant scoped cache of rarely changing finance reference data: funds, fiscal years, expense classes, budgets,
+ * ledgers of the funds and current fiscal years of the ledgers.
+ * Records are loaded by the owning services, the cache only keeps successfully loaded records,
+ * so "not found" and validation errors are never cached.
+ */
+@Log4j2
+@Component
+public class FinanceReferenceDataCache {
+
+  private static final String UNIQUE_CACHE_KEY_PATTERN = "%s_%s";
+
+  @Value("${mod.invoice.cache.funds.expiration-time.seconds:300}")
+  private long fundsExpirationTime;
+  @Value("${mod.invoice.cache.fiscal-years.expiration-time.seconds:3600}")
+  private long fiscalYearsExpirationTime;
+  @Value("${mod.invoice.cache.expense-classes.expiration-time.seconds:3600}")
+  private long expenseClassesExpirationTime;
+  @Value("${mod.invoice.cache.budgets.expiration-time.seconds:30}")
+  private long budgetsExpirationTime;
+  @Value("${mod.invoice.cache.current-fiscal-years.expiration-time.seconds:3600}")
+  private long currentFiscalYearsExpirationTime;
+  @Value("${mod.invoice.cache.finance-entries.max-size:10000}")
+  private long maximumSize;
+  @Value("${mod.invoice.cache.finance-entries.bypass-cache:false}")
+  private boolean byPassCache;
+
+  private AsyncCache<String, Fund> fundCache;
+  private AsyncCache<String, FiscalYear> fiscalYearCache;
+  private AsyncCache<String, ExpenseClass> expenseClassCache;
+  private AsyncCache<String, Budget> budgetCache;
+  private AsyncCache<String, String> ledgerIdCache;
+  private AsyncCache<String, FiscalYear> currentFiscalYearCache;
+
+  @PostConstruct
+  void init() {
+    var context = Vertx.currentContext();
+    this.fundCache = monitorCache(buildAsyncCache(context, fundsExpirationTime, maximumSize), "funds");
+    this.fiscalYearCache = monitorCache(buildAsyncCache(context, fiscalYearsExpirationTime, maximumSize), "fiscal-years");
+    this.expenseClassCache = monitorCache(buildAsyncCache(context, expenseClassesExpirationTime, maximumSize), "expense-classes");
+    this.budgetCache = monitorCache(buildAsyncCache(context, budgetsExpirationTime, maximumSize), "budgets");
+    this.ledgerIdCache = monitorCache(buildAsyncCache(context, fundsExpirationTime, maximumSize), "fund-ledger-ids");
+    this.currentFiscalYearCache = monitorCache(buildCurrentFiscalYearCache(context, currentFiscalYearsExpirationTime, maximumSize),
+      "current-fiscal-years");
+  }
+
+  /**
+   * Current fiscal years expire at the end of their period, so the next fiscal year is picked up right after the rollover,
+   * but not later than {@code maxExpirationTime} seconds after loading
+   */
+  static AsyncCache<String, FiscalYear> buildCurrentFiscalYearCache(Context context, long maxExpirationTime, long maximumSize) {
+    return buildAsyncCache(context, Expiry.<String, FiscalYear>writing((key, fiscalYear) -> {
+      Duration maxDuration = Duration.ofSeconds(maxExpirationTime);
+      if (fiscalYear.getPeriodEnd() == null) {
+        return maxDuration;
+      }
+      Duration untilPeriodEnd = Duration.between(Instant.now(), fiscalYear.getPeriodEnd().toInstant());
+      if (untilPeriodEnd.isNegative()) {
+        return Duration.ZERO;
+      }
+      return untilPeriodEnd.compareTo(maxDuration) < 0 ? untilPeriodEnd : maxDuration;
+    }), maximumSize);
+  }
+
+  /**
+   * Returns cached funds, funds missing in the cache are loaded with one call of the loader
+   *
+   * @param fundIds ids of the funds
+   * @param loader  function loading funds by ids which are not cached yet
+   */
+  public Future<List<Fund>> getFunds(Collection<String> fundIds, Function<List<String>, Future<List<Fund>>> loader,
+                                     RequestContext requestContext) {
+    return getAll(fundCache, fundIds, Fund::getId, loader, requestContext);
+  }
+
+  public Future<FiscalYear> getFiscalYear(String fiscalYearId, Supplier<Future<FiscalYear>> loader, RequestContext requestContext) {
+    return get(fiscalYearCache, fiscalYearId, loader, requestContext);
+  }
+
+  public Future<List<ExpenseClass>> getExpenseClasses(Collection<String> expenseClassIds,
+                                                      Function<List<String>, Future<List<ExpenseClass>>> loader,
+                                                      RequestContext requestContext) {
+    return getAll(expenseClassCache, expenseClassIds, ExpenseClass::getId, loader, requestContext);
+  }
+
+  /**
+   * Returns cached budgets of the funds for the fiscal year, budgets missing in the cache are loaded with one call of the loader.
+   * Funds without a budget are absent in the result. Budgets contain balances, so the cache should be used only
+   * when the caller does not rely on them
+   *
+   * @param fundIds ids of the funds
+   * @param loader  function loading budgets of the fiscal year by fund ids which are not cached yet
+   */
+  public Future<List<Budget>> getBudgets(Collection<String> fundIds, String fiscalYearId,
+                                         Function<List<String>, Future<List<Budget>>> loader, RequestContext requestContext) {
+    Map<String, String> fundIdsByBudgetId = fundIds.stream()
+      .distinct()
+      .collect(toMap(fundId -> buildBudgetId(fundId, fiscalYearId), Function.identity(), (id1, id2) -> id1, LinkedHashMap::new));
+    return getAll(budgetCache, fundIdsByBudgetId.keySet(), budget -> buildBudgetId(budget.getFundId(), budget.getFiscalYearId()),
+      budgetIds -> loader.apply(budgetIds.stream().map(fundIdsByBudgetId::get).toList()), requestContext);
+  }
+
+  private static String buildBudgetId(String fundId, String fiscalYearId) {
+    return fundId + "_" + fiscalYearId;
+  }
+
+  /**
+   * Returns id of the ledger of the fund, the ledger of a fund is not expected to change
+   */
+  public Future<String> getLedgerId(String fundId, Supplier<Future<String>> loader, RequestContext requestContext) {
+    return get(ledgerIdCache, fundId, loader, requestContext);
+  }
+
+  /**
+   * Returns current fiscal year of the ledger, concurrent calls for the same ledger share one load
+   */
+  public Future<FiscalYear> getCurrentFiscalYear(String ledgerId, Supplier<Future<FiscalYear>> loader, RequestContext requestContext) {
+    return get(currentFiscalYearCache, ledgerId, loader, requestContext);
+  }
+
+  private <V> Future<V> get(AsyncCache<String, V> cache, String id, Supplier<Future<V>> loader, RequestContext requestContext) {
+    if (byPassCache) {
+      return loader.get();
+    }
+    var cacheKey = buildUniqueKey(id, requestContext);
+    return Future.fromCompletionStage(cache.get(cacheKey, (key, executor) ->
+      loader.get().toCompletionStage().toCompletableFuture()));
+  }
+
+  private <V> Future<List<V>> getAll(AsyncCache<String, V> cache, Collection<String> ids, Function<V, String> idExtractor,
+                                     Function<List<String>, Future<List<V>>> loader, RequestContext requestContext) {
+    if (byPassCache) {
+      return loader.apply(ids.stream().distinct().toList());
+    }
+    Map<String, String> idsByKey = ids.stream()
+      .distinct()
+      .collect(toMap(id -> buildUniqueKey(id, requestContext), Function.identity(), (id1, id2) -> id1, LinkedHashMap::new));
+    return Future.fromCompletionStage(cache.getAll(idsByKey.keySet(), (missingKeys, executor) -> {
+        List<String> missingIds = missingKeys.stream().map(idsByKey::get).toList();
+        log.debug("getAll:: Loading {} records missing in the cache", missingIds.size());
+        return loader.apply(missingIds)
+          .map(values -> values.stream()
+            .collect(toMap(value -> buildUniqueKey(idExtractor.apply(value), requestContext), Function.identity(), (v1, v2) -> v1)))
+          .toCompletionStage().toCompletableFuture();
+      }))
+      .map(valuesByKey -> new ArrayList<>(valuesByKey.values()));
+  }
+
+  private String buildUniqueKey(String id, RequestContext requestContext) {
+    var tenantId = TenantTool.tenantId(requestContext.getHeaders());
+    return String.format(UNIQUE_CACHE_KEY_PATTERN, tenantId, id);
+  }
+
+}
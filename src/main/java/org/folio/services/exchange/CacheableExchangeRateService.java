@@ -20,6 +20,7 @@ import java.util.concurrent.CompletableFuture;
 
 import static org.folio.invoices.utils.ResourcePathResolver.EXCHANGE_RATE;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.metrics.ModuleMetrics.monitorCache;
 import static org.folio.utils.CacheUtils.buildAsyncCache;
 
 @Log4j2
@@ -41,7 +42,7 @@ public class CacheableExchangeRateService {
 
   @PostConstruct
   void init() {
-    this.asyncCache = buildAsyncCache(Vertx.currentContext(), cacheExpirationTime);
+    this.asyncCache = monitorCache(buildAsyncCache(Vertx.currentContext(), cacheExpirationTime), "exchange-rates");
   }
 
   public Future<ExchangeRate> getExchangeRate(String from, String to, Number customExchangeRate, String operationMode, RequestContext requestContext) {
@@ -30,6 +30,7 @@ import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.services.caches.FinanceReferenceDataCache;
 
 import io.vertx.core.Future;
 
@@ -39,12 +40,25 @@ public class FundService {
   private static final String FUNDS_BY_ID_ENDPOINT = FUNDS_ENDPOINT + "/{id}";
 
   private final RestClient restClient;
+  private final FinanceReferenceDataCache financeReferenceDataCache;
 
   public FundService(RestClient restClient) {
+    this(restClient, null);
+  }
+
+  public FundService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache) {
     this.restClient = restClient;
+    this.financeReferenceDataCache = financeReferenceDataCache;
   }
 
   public Future<List<Fund>> getFunds(Collection<String> fundIds, RequestContext requestContext) {
+    if (financeReferenceDataCache == null) {
+      return getFundsFromStorage(fundIds, requestContext);
+    }
+    return financeReferenceDataCache.getFunds(fundIds, ids -> getFundsFromStorage(ids, requestContext), requestContext);
+  }
+
+  private Future<List<Fund>> getFundsFromStorage(Collection<String> fundIds, RequestContext requestContext) {
     return collectResultsOnSuccess(ofSubLists(new ArrayList<>(fundIds), MAX_IDS_FOR_GET_RQ)
       .map(ids -> getFundsByIds(ids, requestContext))
       .toList())
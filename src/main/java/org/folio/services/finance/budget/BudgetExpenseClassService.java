@@ -1,26 +1,31 @@
 package org.folio.services.finance.budget;
 
+import static java.util.stream.Collectors.groupingBy;
+import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.invoices.utils.ErrorCodes.BUDGET_EXPENSE_CLASS_NOT_FOUND;
 import static org.folio.invoices.utils.ErrorCodes.INACTIVE_EXPENSE_CLASS;
+import static org.folio.invoices.utils.HelperUtils.collectResultsOnSuccess;
+import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.invoices.utils.ResourcePathResolver.BUDGET_EXPENSE_CLASSES;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.models.InvoiceWorkflowDataHolder;
-import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.BudgetExpenseClass;
 import org.folio.rest.acq.model.finance.BudgetExpenseClassCollection;
 import org.folio.rest.acq.model.finance.ExpenseClass;
 import org.folio.rest.acq.model.finance.Fund;
+import org.folio.rest.core.PagedReader;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
-import org.folio.rest.jaxrs.model.FundDistribution;
 import org.folio.rest.jaxrs.model.Parameter;
 
 import io.vertx.core.Future;
@@ -34,46 +39,65 @@ public class BudgetExpenseClassService {
 
   private final RestClient restClient;
 
+  private record BudgetExpenseClassKey(String budgetId, String expenseClassId) {
+  }
+
   public BudgetExpenseClassService(RestClient restClient) {
     this.restClient = restClient;
   }
 
+  /**
+   * Checks that the expense classes of the fund distributions are assigned to the budgets and active.
+   * Budget expense classes are loaded with one query per {@code MAX_IDS_FOR_GET_RQ} distinct budgets,
+   * the error is reported for the first holder in the list which fails the check.
+   */
   public Future<List<InvoiceWorkflowDataHolder>> checkExpenseClasses(List<InvoiceWorkflowDataHolder> holders,
       RequestContext requestContext) {
-    var futures = holders.stream()
+    List<InvoiceWorkflowDataHolder> holdersWithExpenseClass = holders.stream()
       .filter(holder -> Objects.nonNull(holder.getFundDistribution().getExpenseClassId()))
-      .map(holder -> checkExpenseClass(holder, requestContext))
-      .collect(Collectors.toList());
-    return Future.join(futures)
-      .map(aVoid -> holders);
-
-  }
-
-  private Future<Void> checkExpenseClass(InvoiceWorkflowDataHolder holder, RequestContext requestContext) {
-    Budget budget = holder.getBudget();
-    FundDistribution fundDistribution = holder.getFundDistribution();
-    String query = String.format("budgetId==%s and expenseClassId==%s", budget.getId(), fundDistribution.getExpenseClassId());
-    RequestEntry requestEntry = new RequestEntry(BUDGET_EXPENSE_CLASS_ENDPOINT)
-        .withQuery(query)
-        .withOffset(0)
-        .withLimit(1);
-    return restClient.get(requestEntry, BudgetExpenseClassCollection.class, requestContext)
+      .toList();
+    if (holdersWithExpenseClass.isEmpty()) {
+      return Future.succeededFuture(holders);
+    }
+    List<String> budgetIds = holdersWithExpenseClass.stream()
+      .map(holder -> holder.getBudget().getId())
+      .distinct()
+      .toList();
+    return getBudgetExpenseClasses(budgetIds, requestContext)
       .map(budgetExpenseClasses -> {
-        checkExpenseClassAssignedToBudget(holder, budgetExpenseClasses);
-        checkExpenseClassActive(holder, budgetExpenseClasses);
-        return null;
+        Map<BudgetExpenseClassKey, List<BudgetExpenseClass>> budgetExpenseClassesByKey = budgetExpenseClasses.stream()
+          .collect(groupingBy(bec -> new BudgetExpenseClassKey(bec.getBudgetId(), bec.getExpenseClassId())));
+        holdersWithExpenseClass.forEach(holder -> {
+          BudgetExpenseClassKey key = new BudgetExpenseClassKey(holder.getBudget().getId(), holder.getFundDistribution().getExpenseClassId());
+          List<BudgetExpenseClass> holderBudgetExpenseClasses = budgetExpenseClassesByKey.getOrDefault(key, List.of());
+          checkExpenseClassAssignedToBudget(holder, holderBudgetExpenseClasses);
+          checkExpenseClassActive(holder, holderBudgetExpenseClasses);
+        });
+        return holders;
       });
   }
 
+  private Future<List<BudgetExpenseClass>> getBudgetExpenseClasses(List<String> budgetIds, RequestContext requestContext) {
+    return collectResultsOnSuccess(ofSubLists(budgetIds, MAX_IDS_FOR_GET_RQ)
+      .map(ids -> {
+        RequestEntry requestEntry = new RequestEntry(BUDGET_EXPENSE_CLASS_ENDPOINT)
+          .withQuery(convertIdsToCqlQuery(ids, "budgetId", true) + " sortBy id");
+        return PagedReader.getAll(restClient, requestEntry, BudgetExpenseClassCollection.class,
+          BudgetExpenseClassCollection::getBudgetExpenseClasses, requestContext);
+      })
+      .toList())
+      .map(lists -> lists.stream().flatMap(Collection::stream).toList());
+  }
+
   private void checkExpenseClassAssignedToBudget(InvoiceWorkflowDataHolder holder,
-      BudgetExpenseClassCollection budgetExpenseClasses) {
-    if (budgetExpenseClasses.getBudgetExpenseClasses().isEmpty()) {
+      List<BudgetExpenseClass> budgetExpenseClasses) {
+    if (budgetExpenseClasses.isEmpty()) {
       throw new HttpException(400, BUDGET_EXPENSE_CLASS_NOT_FOUND.toError()
         .withParameters(getFundIdExpenseClassIdParameters(holder)));
     }
   }
 
-  private void checkExpenseClassActive(InvoiceWorkflowDataHolder holder, BudgetExpenseClassCollection budgetExpenseClasses) {
+  private void checkExpenseClassActive(InvoiceWorkflowDataHolder holder, List<BudgetExpenseClass> budgetExpenseClasses) {
     if (isInactive(budgetExpenseClasses)) {
       throw new HttpException(400, INACTIVE_EXPENSE_CLASS.toError()
         .withParameters(getFundIdExpenseClassIdParameters(holder)));
@@ -81,9 +105,8 @@ public class BudgetExpenseClassService {
 
   }
 
-  private boolean isInactive(BudgetExpenseClassCollection budgetExpenseClasses) {
-    return budgetExpenseClasses
-            .getBudgetExpenseClasses().stream()
+  private boolean isInactive(List<BudgetExpenseClass> budgetExpenseClasses) {
+    return budgetExpenseClasses.stream()
             .anyMatch(budgetExpenseClass -> budgetExpenseClass.getStatus() == BudgetExpenseClass.Status.INACTIVE);
   }
 
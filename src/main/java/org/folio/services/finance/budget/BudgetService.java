@@ -1,26 +1,45 @@
 package org.folio.services.finance.budget;
 
+import static java.util.stream.Collectors.flatMapping;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static one.util.streamex.StreamEx.ofSubLists;
 import static org.folio.invoices.utils.ErrorCodes.BUDGET_NOT_FOUND;
 import static org.folio.invoices.utils.ErrorCodes.BUDGET_NOT_FOUND_USING_FISCAL_YEAR_ID;
 import static org.folio.invoices.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.invoices.utils.ResourcePathResolver.BUDGETS;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
+import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.BudgetCollection;
+import org.folio.rest.acq.model.finance.Fund;
+import org.folio.rest.core.PagedReader;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.services.caches.FinanceReferenceDataCache;
+import org.folio.services.finance.FundService;
+import org.folio.services.finance.fiscalyear.CurrentFiscalYearService;
 
 import io.vertx.core.Future;
 
@@ -28,54 +47,174 @@ public class BudgetService {
 
   private static final String BUDGETS_ENDPOINT = resourcesPath(BUDGETS);
   private static final String ACTIVE_BUDGET_ENDPOINT = "/finance/funds/{id}/budget";
-  private static final String QUERY_BY_FUND_ID_AND_FISCAL_YEAR_ID = "budgetStatus==Active AND fundId==%s AND fiscalYearId==%s";
+  private static final String QUERY_BY_FUND_IDS_AND_FISCAL_YEAR_ID = "budgetStatus==Active AND %s AND fiscalYearId==%s";
+
+  private static final Logger logger = LogManager.getLogger();
 
   private final RestClient restClient;
+  private final FinanceReferenceDataCache financeReferenceDataCache;
+  private final FundService fundService;
+  private final CurrentFiscalYearService currentFiscalYearService;
 
   public BudgetService(RestClient restClient) {
+    this(restClient, null);
+  }
+
+  public BudgetService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache) {
+    this(restClient, financeReferenceDataCache, null, null);
+  }
+
+  public BudgetService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache,
+                       FundService fundService, CurrentFiscalYearService currentFiscalYearService) {
     this.restClient = restClient;
+    this.financeReferenceDataCache = financeReferenceDataCache;
+    this.fundService = fundService;
+    this.currentFiscalYearService = currentFiscalYearService;
   }
 
   public Future<List<Budget>> getBudgetsByFundIds(Collection<String> fundIds, String invoiceFiscalYearId,
                                                   boolean ignoreMissingBudgets, RequestContext requestContext) {
-    var futures = new ArrayList<Future<Budget>>();
-    for (String fundId : fundIds.stream().distinct().toList()) {
-      futures.add(getBudgetByFundId(fundId, invoiceFiscalYearId, ignoreMissingBudgets, requestContext));
-    }
-    return collectResultsOnSuccess(futures)
-      .map(budgets -> budgets.stream()
-        .filter(Objects::nonNull)
-        .toList());
+    return getBudgetsByFundIds(fundIds, invoiceFiscalYearId, ignoreMissingBudgets, false, requestContext);
   }
 
-  private Future<Budget> getBudgetByFundId(String fundId, String invoiceFiscalYearId,
-                                           boolean ignoreMissingBudgets, RequestContext requestContext) {
+  /**
+   * Gets budgets of the funds for the fiscal year or the current budgets if the fiscal year is not specified.
+   * Budgets are requested by chunks of fund ids, the current fiscal year is resolved once per ledger of the funds.
+   *
+   * @param useCache allows to use cached budgets for the specified fiscal year, must be {@code false}
+   *                 when the caller relies on budget balances or status
+   */
+  public Future<List<Budget>> getBudgetsByFundIds(Collection<String> fundIds, String invoiceFiscalYearId,
+                                                  boolean ignoreMissingBudgets, boolean useCache, RequestContext requestContext) {
+    return getBudgetsByFundIds(fundIds, List.of(), invoiceFiscalYearId, ignoreMissingBudgets, useCache, requestContext);
+  }
+
+  /**
+   * Same as {@link #getBudgetsByFundIds(Collection, String, boolean, boolean, RequestContext)}, the ledgers of the funds
+   * already loaded by the caller are used to resolve the current fiscal years, only the other funds are loaded.
+   *
+   * @param loadedFunds funds already loaded by the caller
+   */
+  public Future<List<Budget>> getBudgetsByFundIds(Collection<String> fundIds, Collection<Fund> loadedFunds, String invoiceFiscalYearId,
+                                                  boolean ignoreMissingBudgets, boolean useCache, RequestContext requestContext) {
+    List<String> distinctFundIds = fundIds.stream().distinct().toList();
+    if (distinctFundIds.isEmpty()) {
+      return Future.succeededFuture(List.of());
+    }
     if (invoiceFiscalYearId == null) {
-      return getActiveBudgetByFundId(fundId, requestContext);
+      return getCurrentBudgetsByFundIds(distinctFundIds, loadedFunds, requestContext);
     }
-    return getBudgetByFundIdAndFiscalYearId(fundId, invoiceFiscalYearId, ignoreMissingBudgets, requestContext);
+    return getBudgetsByFundIdsAndFiscalYearId(distinctFundIds, invoiceFiscalYearId, ignoreMissingBudgets, useCache, requestContext);
   }
 
-  private Future<Budget> getBudgetByFundIdAndFiscalYearId(String fundId, String fiscalYearId,
-                                                          boolean ignoreMissingBudgets, RequestContext requestContext) {
-    RequestEntry requestEntry = new RequestEntry(BUDGETS_ENDPOINT)
-      .withQuery(String.format(QUERY_BY_FUND_ID_AND_FISCAL_YEAR_ID, fundId, fiscalYearId));
-    return restClient.get(requestEntry, BudgetCollection.class, requestContext)
-      .compose(budgetCollection -> {
-        if (budgetCollection.getBudgets().isEmpty()) {
-          if (ignoreMissingBudgets) {
-            return Future.succeededFuture(null);
-          }
+  private Future<List<Budget>> getBudgetsByFundIdsAndFiscalYearId(List<String> fundIds, String fiscalYearId, boolean ignoreMissingBudgets,
+                                                                  boolean useCache, RequestContext requestContext) {
+    Future<List<Budget>> budgetsFuture = useCache && financeReferenceDataCache != null
+      ? financeReferenceDataCache.getBudgets(fundIds, fiscalYearId, ids -> getActiveBudgets(ids, fiscalYearId, requestContext), requestContext)
+      : getActiveBudgets(fundIds, fiscalYearId, requestContext);
+    return budgetsFuture.map(budgets -> {
+      Map<String, Budget> budgetsByFundId = budgets.stream()
+        .collect(toMap(Budget::getFundId, Function.identity(), (budget1, budget2) -> budget1));
+      List<Budget> result = new ArrayList<>();
+      for (String fundId : fundIds) {
+        Budget budget = budgetsByFundId.get(fundId);
+        if (budget != null) {
+          result.add(budget);
+        } else if (!ignoreMissingBudgets) {
           List<Parameter> parameters = List.of(
             new Parameter().withKey("fundId").withValue(fundId),
             new Parameter().withKey("fiscalYearId").withValue(fiscalYearId)
           );
           throw new HttpException(404, BUDGET_NOT_FOUND_USING_FISCAL_YEAR_ID.toError().withParameters(parameters));
         }
-        return Future.succeededFuture(budgetCollection.getBudgets().getFirst());
+      }
+      return result;
+    });
+  }
+
+  private Future<List<Budget>> getActiveBudgets(List<String> fundIds, String fiscalYearId, RequestContext requestContext) {
+    return collectResultsOnSuccess(ofSubLists(fundIds, MAX_IDS_FOR_GET_RQ)
+      .map(ids -> {
+        RequestEntry requestEntry = new RequestEntry(BUDGETS_ENDPOINT)
+          .withQuery(String.format(QUERY_BY_FUND_IDS_AND_FISCAL_YEAR_ID, convertIdsToCqlQuery(ids, "fundId", true), fiscalYearId))
+          .withOffset(0)
+          .withLimit(MAX_IDS_FOR_GET_RQ);
+        return restClient.get(requestEntry, BudgetCollection.class, requestContext)
+          .map(BudgetCollection::getBudgets);
+      })
+      .toList())
+      .map(lists -> lists.stream().flatMap(Collection::stream).toList());
+  }
+
+  /**
+   * Gets the active budgets of the current fiscal years of the fund ledgers. Falls back to the per-fund current budget
+   * endpoint when the funds or the current fiscal years cannot be resolved, so the same errors are reported.
+   */
+  private Future<List<Budget>> getCurrentBudgetsByFundIds(List<String> fundIds, Collection<Fund> loadedFunds,
+                                                          RequestContext requestContext) {
+    if (fundService == null || currentFiscalYearService == null) {
+      return getActiveBudgetsByFundIds(fundIds, requestContext);
+    }
+    return getFundIdsByCurrentFiscalYearId(fundIds, loadedFunds, requestContext)
+      .transform(ar -> {
+        if (ar.failed()) {
+          logger.warn("getCurrentBudgetsByFundIds:: Unable to resolve current fiscal years of the funds, requesting budgets per fund", ar.cause());
+          return getActiveBudgetsByFundIds(fundIds, requestContext);
+        }
+        return collectResultsOnSuccess(ar.result().entrySet().stream()
+          .map(entry -> getActiveBudgets(entry.getValue(), entry.getKey(), requestContext))
+          .toList())
+          .map(lists -> {
+            Map<String, Budget> budgetsByFundId = lists.stream()
+              .flatMap(Collection::stream)
+              .collect(toMap(Budget::getFundId, Function.identity(), (budget1, budget2) -> budget1));
+            return fundIds.stream()
+              .map(fundId -> Optional.ofNullable(budgetsByFundId.get(fundId))
+                .orElseThrow(() -> buildBudgetNotFoundException(fundId)))
+              .toList();
+          });
       });
   }
 
+  private Future<Map<String, List<String>>> getFundIdsByCurrentFiscalYearId(List<String> fundIds, Collection<Fund> loadedFunds,
+                                                                          RequestContext requestContext) {
+    return getFunds(fundIds, loadedFunds, requestContext)
+      .compose(funds -> {
+        Map<String, List<String>> fundIdsByLedgerId = funds.stream()
+          .collect(groupingBy(Fund::getLedgerId, LinkedHashMap::new, mapping(Fund::getId, toList())));
+        return collectResultsOnSuccess(fundIdsByLedgerId.entrySet().stream()
+          .map(entry -> currentFiscalYearService.getCurrentFiscalYear(entry.getKey(), requestContext)
+            .map(fiscalYear -> Map.entry(fiscalYear.getId(), entry.getValue())))
+          .toList());
+      })
+      .map(fiscalYearFundIds -> fiscalYearFundIds.stream()
+        .collect(groupingBy(Map.Entry::getKey, LinkedHashMap::new, flatMapping(entry -> entry.getValue().stream(), toList()))));
+  }
+
+  private Future<List<Fund>> getFunds(List<String> fundIds, Collection<Fund> loadedFunds, RequestContext requestContext) {
+    Map<String, Fund> loadedFundsById = loadedFunds.stream()
+      .filter(fund -> fund.getLedgerId() != null)
+      .collect(toMap(Fund::getId, Function.identity(), (fund1, fund2) -> fund1));
+    List<Fund> funds = fundIds.stream()
+      .map(loadedFundsById::get)
+      .filter(Objects::nonNull)
+      .toList();
+    List<String> missingFundIds = fundIds.stream()
+      .filter(fundId -> !loadedFundsById.containsKey(fundId))
+      .toList();
+    if (missingFundIds.isEmpty()) {
+      return Future.succeededFuture(funds);
+    }
+    return fundService.getFunds(missingFundIds, requestContext)
+      .map(missingFunds -> Stream.concat(funds.stream(), missingFunds.stream()).toList());
+  }
+
+  private Future<List<Budget>> getActiveBudgetsByFundIds(List<String> fundIds, RequestContext requestContext) {
+    return collectResultsOnSuccess(fundIds.stream()
+      .map(fundId -> getActiveBudgetByFundId(fundId, requestContext))
+      .toList());
+  }
+
   private Future<Budget> getActiveBudgetByFundId(String fundId, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(ACTIVE_BUDGET_ENDPOINT)
       .withId(fundId);
@@ -83,22 +222,22 @@ public class BudgetService {
       .recover(t -> {
         Throwable cause = Objects.isNull(t.getCause()) ? t : t.getCause();
         if (cause instanceof HttpException) {
-          throw new HttpException(404, BUDGET_NOT_FOUND
-            .toError().withParameters(Collections.singletonList(new Parameter().withKey("fund").withValue(fundId))));
+          throw buildBudgetNotFoundException(fundId);
         }
         throw new CompletionException(t.getCause());
       });
   }
 
+  private HttpException buildBudgetNotFoundException(String fundId) {
+    return new HttpException(404, BUDGET_NOT_FOUND
+      .toError().withParameters(Collections.singletonList(new Parameter().withKey("fund").withValue(fundId))));
+  }
+
   public Future<List<Budget>> getActiveBudgetListByFundIds(List<String> fundIds, RequestContext requestContext) {
     String queryIds = convertIdsToCqlQuery(fundIds, "fundId", true);
     String queryActive = "budgetStatus==Active";
-    String query = String.format("%s AND %s", queryIds, queryActive);
-    RequestEntry requestEntry = new RequestEntry(BUDGETS_ENDPOINT)
-      .withQuery(query)
-      .withOffset(0)
-      .withLimit(Integer.MAX_VALUE);
-    return restClient.get(requestEntry, BudgetCollection.class, requestContext)
-      .map(BudgetCollection::getBudgets);
+    String query = String.format("%s AND %s sortBy id", queryIds, queryActive);
+    RequestEntry requestEntry = new RequestEntry(BUDGETS_ENDPOINT).withQuery(query);
+    return PagedReader.getAll(restClient, requestEntry, BudgetCollection.class, BudgetCollection::getBudgets, requestContext);
   }
 }
@@ -20,6 +20,7 @@ import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.services.caches.FinanceReferenceDataCache;
 import org.springframework.stereotype.Service;
 
 import io.vertx.core.Future;
@@ -32,9 +33,15 @@ public class ExpenseClassRetrieveService {
   private static final String EXPENSE_CLASS_BY_ID_ENDPOINT = EXPENSE_CLASS_ENDPOINT + "/{id}";
 
   private final RestClient restClient;
+  private final FinanceReferenceDataCache financeReferenceDataCache;
 
   public ExpenseClassRetrieveService(RestClient restClient) {
+    this(restClient, null);
+  }
+
+  public ExpenseClassRetrieveService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache) {
     this.restClient = restClient;
+    this.financeReferenceDataCache = financeReferenceDataCache;
   }
 
   public Future<ExpenseClassCollection> getExpenseClasses(String query, int offset, int limit, RequestContext requestContext) {
@@ -46,6 +53,13 @@ public class ExpenseClassRetrieveService {
   }
 
   public Future<List<ExpenseClass>> getExpenseClasses(List<String> expenseClassIds, RequestContext requestContext) {
+    if (financeReferenceDataCache == null) {
+      return getExpenseClassesFromStorage(expenseClassIds, requestContext);
+    }
+    return financeReferenceDataCache.getExpenseClasses(expenseClassIds, ids -> getExpenseClassesFromStorage(ids, requestContext), requestContext);
+  }
+
+  private Future<List<ExpenseClass>> getExpenseClassesFromStorage(List<String> expenseClassIds, RequestContext requestContext) {
     List<Future<ExpenseClassCollection>> expenseClassesFutureList = StreamEx
       .ofSubLists(expenseClassIds, MAX_IDS_FOR_GET_RQ)
       .map(ids -> getExpenseClassesChunk(ids, requestContext))
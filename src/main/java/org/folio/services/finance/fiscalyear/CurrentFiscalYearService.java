@@ -9,10 +9,12 @@ import java.util.concurrent.CompletionException;
 
 import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.rest.acq.model.finance.FiscalYear;
+import org.folio.rest.acq.model.finance.Fund;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.services.caches.FinanceReferenceDataCache;
 import org.folio.services.finance.FundService;
 
 import io.vertx.core.Future;
@@ -23,18 +25,33 @@ public class CurrentFiscalYearService {
 
   private final RestClient restClient;
   private final FundService fundService;
+  private final FinanceReferenceDataCache financeReferenceDataCache;
 
-  public CurrentFiscalYearService(RestClient restClient, FundService fundService) {
+  public CurrentFiscalYearService(RestClient restClient, FundService fundService, FinanceReferenceDataCache financeReferenceDataCache) {
     this.restClient = restClient;
     this.fundService = fundService;
+    this.financeReferenceDataCache = financeReferenceDataCache;
   }
 
   public Future<FiscalYear> getCurrentFiscalYearByFund(String fundId, RequestContext requestContext) {
-    return fundService.getFundById(fundId, requestContext)
-      .compose(fund -> getCurrentFiscalYear(fund.getLedgerId(), requestContext));
+    return getLedgerId(fundId, requestContext)
+      .compose(ledgerId -> getCurrentFiscalYear(ledgerId, requestContext));
   }
 
+  private Future<String> getLedgerId(String fundId, RequestContext requestContext) {
+    return financeReferenceDataCache.getLedgerId(fundId,
+      () -> fundService.getFundById(fundId, requestContext).map(Fund::getLedgerId), requestContext);
+  }
+
+  /**
+   * Gets current fiscal year of the ledger, the fiscal year is cached until the end of its period
+   */
   public Future<FiscalYear> getCurrentFiscalYear(String ledgerId, RequestContext requestContext) {
+    return financeReferenceDataCache.getCurrentFiscalYear(ledgerId,
+      () -> getCurrentFiscalYearFromStorage(ledgerId, requestContext), requestContext);
+  }
+
+  private Future<FiscalYear> getCurrentFiscalYearFromStorage(String ledgerId, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(CURRENT_FISCAL_YEAR_ENDPOINT)
       .withId(ledgerId);
     return restClient.get(requestEntry, FiscalYear.class, requestContext)
@@ -8,6 +8,7 @@ import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.FiscalYearCollection;
+import org.folio.services.caches.FinanceReferenceDataCache;
 
 import io.vertx.core.Future;
 
@@ -17,12 +18,25 @@ public class FiscalYearService {
   private static final String FISCAL_YEAR_BY_ID_ENDPOINT = resourcesPath(FISCAL_YEARS) + "/{id}";
 
   private final RestClient restClient;
+  private final FinanceReferenceDataCache financeReferenceDataCache;
 
   public FiscalYearService(RestClient restClient) {
+    this(restClient, null);
+  }
+
+  public FiscalYearService(RestClient restClient, FinanceReferenceDataCache financeReferenceDataCache) {
     this.restClient = restClient;
+    this.financeReferenceDataCache = financeReferenceDataCache;
   }
 
   public Future<FiscalYear> getFiscalYear(String fiscalYearId, RequestContext requestContext) {
+    if (financeReferenceDataCache == null) {
+      return getFiscalYearFromStorage(fiscalYearId, requestContext);
+    }
+    return financeReferenceDataCache.getFiscalYear(fiscalYearId, () -> getFiscalYearFromStorage(fiscalYearId, requestContext), requestContext);
+  }
+
+  private Future<FiscalYear> getFiscalYearFromStorage(String fiscalYearId, RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(FISCAL_YEAR_BY_ID_ENDPOINT).withId(fiscalYearId);
     return restClient.get(requestEntry, FiscalYear.class, requestContext);
   }
@@ -7,10 +7,13 @@ import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -101,6 +104,8 @@ public class EncumbranceService {
                                                                     List<Transaction> encumbrances) {
     Map<InvoiceWorkflowDataHolder, Transaction> matched = matchEncumbrancesToHolders(holders, encumbrances);
     var linesToUpdate = new ArrayList<InvoiceLine>();
+    // Holders of the same line share the line object, which changes while its fund distributions are updated
+    Set<InvoiceLine> addedLines = Collections.newSetFromMap(new IdentityHashMap<>());
     for (InvoiceWorkflowDataHolder holder : holders) {
       var fundDistribution = holder.getFundDistribution();
       var encumbrance = matched.get(holder);
@@ -108,14 +113,14 @@ public class EncumbranceService {
         if (fundDistribution.getEncumbrance() != null) {
           fundDistribution.withEncumbrance(null);
           holder.withEncumbrance(null);
-          if (!linesToUpdate.contains(holder.getInvoiceLine())) {
+          if (addedLines.add(holder.getInvoiceLine())) {
             linesToUpdate.add(holder.getInvoiceLine());
           }
         }
       } else if (!encumbrance.getId().equals(fundDistribution.getEncumbrance())) {
         fundDistribution.withEncumbrance(encumbrance.getId());
         holder.withEncumbrance(encumbrance);
-        if (!linesToUpdate.contains(holder.getInvoiceLine())) {
+        if (addedLines.add(holder.getInvoiceLine())) {
           linesToUpdate.add(holder.getInvoiceLine());
         }
       }
@@ -123,36 +128,36 @@ public class EncumbranceService {
     return linesToUpdate;
   }
 
+  /**
+   * Pairs each holder with the encumbrance of its po line and fund having the same expense class, or with any encumbrance
+   * of the po line and fund (handles POLs whose expense class was changed without updating the invoice line).
+   * When several encumbrances match, the first one in the list is used.
+   */
   private Map<InvoiceWorkflowDataHolder, Transaction> matchEncumbrancesToHolders(List<InvoiceWorkflowDataHolder> holders,
                                                                                  List<Transaction> encumbrances) {
-    Map<InvoiceWorkflowDataHolder, Transaction> matched = new HashMap<>();
-
-    // Pass 1: pair each holder with the encumbrance matching fund AND expense class.
-    for (InvoiceWorkflowDataHolder holder : holders) {
-      encumbrances.stream()
-        .filter(enc -> matchesPoLineAndFund(holder, enc))
-        .filter(enc -> Objects.equals(enc.getExpenseClassId(), holder.getFundDistribution().getExpenseClassId()))
-        .findFirst()
-        .ifPresent(enc -> matched.put(holder, enc));
+    Map<EncumbranceKey, Transaction> byExpenseClass = new HashMap<>();
+    Map<EncumbranceKey, Transaction> byFund = new HashMap<>();
+    for (Transaction encumbrance : encumbrances) {
+      String poLineId = encumbrance.getEncumbrance().getSourcePoLineId();
+      byExpenseClass.putIfAbsent(new EncumbranceKey(poLineId, encumbrance.getFromFundId(), encumbrance.getExpenseClassId()), encumbrance);
+      byFund.putIfAbsent(new EncumbranceKey(poLineId, encumbrance.getFromFundId(), null), encumbrance);
     }
 
-    // Pass 2: fallback on fund only (handles POLs whose expense class was changed
-    // without updating the invoice line).
+    Map<InvoiceWorkflowDataHolder, Transaction> matched = new HashMap<>();
     for (InvoiceWorkflowDataHolder holder : holders) {
-      if (matched.containsKey(holder)) {
-        continue;
+      String poLineId = holder.getInvoiceLine().getPoLineId();
+      Transaction encumbrance = byExpenseClass.get(new EncumbranceKey(poLineId, holder.getFundId(),
+        holder.getFundDistribution().getExpenseClassId()));
+      if (encumbrance == null) {
+        encumbrance = byFund.get(new EncumbranceKey(poLineId, holder.getFundId(), null));
+      }
+      if (encumbrance != null) {
+        matched.put(holder, encumbrance);
       }
-      encumbrances.stream()
-        .filter(enc -> matchesPoLineAndFund(holder, enc))
-        .findFirst()
-        .ifPresent(enc -> matched.put(holder, enc));
     }
-
     return matched;
   }
 
-  private boolean matchesPoLineAndFund(InvoiceWorkflowDataHolder holder, Transaction enc) {
-    return enc.getEncumbrance().getSourcePoLineId().equals(holder.getInvoiceLine().getPoLineId())
-      && enc.getFromFundId().equals(holder.getFundId());
+  private record EncumbranceKey(String poLineId, String fundId, String expenseClassId) {
   }
 }
@@ -0,0 +1,13 @@
+package org.folio.services.ftp;
+
+/**
+ * Identifies connections which can be reused for an export configuration, the password is a part of the key
+ * so changed credentials never get a connection logged in with the old ones
+ */
+public record ConnectionKey(String host, int port, String username, String password) {
+
+  @Override
+  public String toString() {
+    return username + "@" + host + ":" + port;
+  }
+}
@@ -0,0 +1,52 @@
+package org.folio.services.ftp;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.Getter;
+
+/**
+ * Limits of the idle FTP and SFTP connection pools, see {@link KeyedConnectionPool}.
+ * <p>
+ * Settings are resolved from system properties with fallback to environment variables:
+ * <ul>
+ *   <li>{@code mod.invoice.ftp.pool.max-idle-per-key} - max idle connections per export configuration, 2 by default</li>
+ *   <li>{@code mod.invoice.ftp.pool.max-idle-total} - max idle connections of the pool, 20 by default</li>
+ *   <li>{@code mod.invoice.ftp.pool.idle-timeout.seconds} - idle time after which a connection is closed, 60 by default</li>
+ * </ul>
+ */
+@Getter
+public class ConnectionPoolConfig {
+
+  static final String MAX_IDLE_PER_KEY_PARAM = "mod.invoice.ftp.pool.max-idle-per-key";
+  static final String MAX_IDLE_TOTAL_PARAM = "mod.invoice.ftp.pool.max-idle-total";
+  static final String IDLE_TIMEOUT_PARAM = "mod.invoice.ftp.pool.idle-timeout.seconds";
+
+  private final int maxIdlePerKey;
+  private final int maxIdleTotal;
+  private final Duration idleTimeout;
+
+  ConnectionPoolConfig(UnaryOperator<String> propertyResolver) {
+    this.maxIdlePerKey = resolveInt(propertyResolver, MAX_IDLE_PER_KEY_PARAM, 2);
+    this.maxIdleTotal = resolveInt(propertyResolver, MAX_IDLE_TOTAL_PARAM, 20);
+    this.idleTimeout = Duration.ofSeconds(resolveInt(propertyResolver, IDLE_TIMEOUT_PARAM, 60));
+  }
+
+  public static ConnectionPoolConfig fromEnvironment() {
+    return new ConnectionPoolConfig(param -> System.getProperty(param, System.getenv(param)));
+  }
+
+  public <K, C> KeyedConnectionPool<K, C> createPool(String name, KeyedConnectionPool.ConnectionFactory<K, C> factory,
+                                                     Predicate<C> validator, Consumer<C> destroyer) {
+    return new KeyedConnectionPool<>(name, factory, validator, destroyer, maxIdlePerKey, maxIdleTotal, idleTimeout);
+  }
+
+  private static int resolveInt(UnaryOperator<String> propertyResolver, String param, int defaultValue) {
+    String value = propertyResolver.apply(param);
+    return StringUtils.isNotBlank(value) ? Integer.parseInt(value.trim()) : defaultValue;
+  }
+}
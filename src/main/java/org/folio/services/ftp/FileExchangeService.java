@@ -1,10 +1,13 @@
 package org.folio.services.ftp;
 
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import org.folio.rest.jaxrs.model.ExportConfig;
 
 public interface FileExchangeService {
   ExportConfig.FtpFormat getExchangeConnectionFormat();
   Future<Void> testConnection(String username, String password);
+  Future<String> upload(Context ctx, String username, String password, String folder, String filename,
+                        UploadContentWriter contentWriter);
 }
@@ -1,10 +1,10 @@
 package org.folio.services.ftp;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.concurrent.CompletionException;
@@ -27,6 +27,14 @@ public class FtpUploadService implements FileExchangeService {
   private static final String DEFAULT_WORKING_DIR = "/files/invoices";
   public static final String URL_NOT_FOUND_FOR_FTP = "URI for FTP upload was not found";
   public static final String URI_SYNTAX_ERROR = "URI should be valid ftp path";
+  private static final KeyedConnectionPool<ConnectionKey, FtpConnection> CONNECTION_POOL = ConnectionPoolConfig.fromEnvironment()
+    .createPool("ftp", FtpUploadService::connect, FtpUploadService::isReusable, connection -> disconnect(connection.client()));
+
+  /**
+   * Logged-in client with the working directory right after login, the directory is restored before each reuse
+   */
+  private record FtpConnection(FTPClient client, String homeDirectory) {
+  }
 
   private final String server;
   private final int port;
@@ -61,6 +69,30 @@ public class FtpUploadService implements FileExchangeService {
   }
 
   private FTPClient doLogin(String username, String password) throws FtpException, IOException {
+    return doLogin(server, port, username, password);
+  }
+
+  private static FtpConnection connect(ConnectionKey key) throws FtpException, IOException {
+    FTPClient ftpClient = doLogin(key.host(), key.port(), key.username(), key.password());
+    try {
+      return new FtpConnection(ftpClient, ftpClient.printWorkingDirectory());
+    } catch (IOException e) {
+      disconnect(ftpClient);
+      throw e;
+    }
+  }
+
+  private static boolean isReusable(FtpConnection connection) {
+    FTPClient ftpClient = connection.client();
+    try {
+      return ftpClient.isConnected() && ftpClient.sendNoOp()
+        && (connection.homeDirectory() == null || ftpClient.changeWorkingDirectory(connection.homeDirectory()));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static FTPClient doLogin(String server, int port, String username, String password) throws FtpException, IOException {
     FTPClient ftpClient = new FTPClient();
     try {
       ftpClient.connect(server, port);
@@ -84,14 +116,26 @@ public class FtpUploadService implements FileExchangeService {
   }
 
   public Future<String> upload(Context ctx, String username, String password, String folder, String filename, String content) {
+    return upload(ctx, username, password, folder, filename, outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Uploads the file writing its content directly to the data connection
+   */
+  @Override
+  public Future<String> upload(Context ctx, String username, String password, String folder, String filename,
+                               UploadContentWriter contentWriter) {
     return ctx.owner().executeBlocking(() -> {
-      var ftpClient = doLogin(username, password);
-      return doUpload(ftpClient, folder, filename, content);
+      var key = new ConnectionKey(server, port, username, password);
+      return doUpload(key, CONNECTION_POOL.borrow(key), folder, filename, contentWriter);
     }, false).onFailure(e -> logger.error("Failed upload to FTP", e));
   }
 
-  private String doUpload(FTPClient ftpClient, String folder, String filename, String content) {
-    try (InputStream is = new ByteArrayInputStream(content.getBytes())) {
+  private String doUpload(ConnectionKey key, FtpConnection connection, String folder, String filename,
+                          UploadContentWriter contentWriter) {
+    FTPClient ftpClient = connection.client();
+    boolean isUploaded = false;
+    try {
       ftpClient.setFileType(FTP.BINARY_FILE_TYPE);
       ftpClient.enterLocalPassiveMode();
       if (StringUtils.isNotBlank(folder)) {
@@ -100,8 +144,19 @@ public class FtpUploadService implements FileExchangeService {
         logger.warn("upload:: folder is empty using default working directory={}", DEFAULT_WORKING_DIR);
         changeWorkingDirectory(DEFAULT_WORKING_DIR, ftpClient);
       }
-      if (ftpClient.storeFile(filename, is)) {
+      OutputStream outputStream = ftpClient.storeFileStream(filename);
+      if (outputStream == null) {
+        throw new FtpException(ftpClient.getReplyCode(), ftpClient.getReplyString().trim());
+      }
+      try (outputStream) {
+        contentWriter.write(outputStream);
+      } catch (Exception e) {
+        removeIncompleteFile(ftpClient, filename);
+        throw e;
+      }
+      if (ftpClient.completePendingCommand()) {
         logger.debug("Batch voucher uploaded on FTP {}", filename);
+        isUploaded = true;
         return ftpClient.getReplyString().trim();
       } else {
         throw new FtpException(ftpClient.getReplyCode(), ftpClient.getReplyString().trim());
@@ -110,7 +165,20 @@ public class FtpUploadService implements FileExchangeService {
       logger.error("Error uploading file {}", filename, e);
       throw new CompletionException(e);
     } finally {
-      disconnect(ftpClient);
+      if (isUploaded) {
+        CONNECTION_POOL.release(key, connection);
+      } else {
+        CONNECTION_POOL.invalidate(connection);
+      }
+    }
+  }
+
+  private void removeIncompleteFile(FTPClient ftpClient, String filename) {
+    try {
+      ftpClient.completePendingCommand();
+      ftpClient.deleteFile(filename);
+    } catch (IOException e) {
+      logger.warn("Unable to remove incompletely uploaded file {}", filename, e);
     }
   }
 
@@ -134,8 +202,12 @@ public class FtpUploadService implements FileExchangeService {
 
   @Override
   public Future<Void> testConnection(String username, String password) {
-    return login(username, password)
-      .onSuccess(this::disconnect)
+    return ctx.owner().executeBlocking(() -> {
+        var key = new ConnectionKey(server, port, username, password);
+        CONNECTION_POOL.release(key, CONNECTION_POOL.borrow(key));
+        return null;
+      }, false)
+      .onFailure(e -> logger.error("Failed login to FTP", e))
       .mapEmpty();
   }
 
@@ -152,7 +224,7 @@ public class FtpUploadService implements FileExchangeService {
     }
   }
 
-  private void disconnect(FTPClient ftpClient) {
+  private static void disconnect(FTPClient ftpClient) {
     try {
       ftpClient.disconnect();
     } catch (IOException e) {
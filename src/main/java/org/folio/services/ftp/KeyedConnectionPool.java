@@ -0,0 +1,188 @@
+package org.folio.services.ftp;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Keeps idle connections to the export servers, so the next upload or connection test of the same export configuration
+ * reuses the logged-in connection instead of doing the TCP and protocol handshake again.
+ * <p>
+ * Only idle connections are held: at most {@code maxIdlePerKey} per key and {@code maxIdleTotal} in the pool.
+ * Connections released above these limits or idle longer than {@code idleTimeout} are destroyed.
+ * An idle connection is checked with the validator before it is borrowed again.
+ * All the methods may block on network calls and must not be called on the event loop.
+ */
+public class KeyedConnectionPool<K, C> {
+
+  private static final Logger logger = LogManager.getLogger(KeyedConnectionPool.class);
+
+  @FunctionalInterface
+  public interface ConnectionFactory<K, C> {
+    C create(K key) throws Exception;
+  }
+
+  private record IdleConnection<C>(C connection, long releasedAt) {
+  }
+
+  private final ConnectionFactory<K, C> factory;
+  private final Predicate<C> validator;
+  private final Consumer<C> destroyer;
+  private final int maxIdlePerKey;
+  private final int maxIdleTotal;
+  private final long idleTimeoutNanos;
+  private final LongSupplier nanoClock;
+  private final Map<K, Deque<IdleConnection<C>>> idleConnections = new HashMap<>();
+  private int idleCount;
+
+  /**
+   * Creates the pool which also closes expired idle connections in background once per {@code idleTimeout}
+   */
+  public KeyedConnectionPool(String name, ConnectionFactory<K, C> factory, Predicate<C> validator, Consumer<C> destroyer,
+                             int maxIdlePerKey, int maxIdleTotal, Duration idleTimeout) {
+    this(factory, validator, destroyer, maxIdlePerKey, maxIdleTotal, idleTimeout, System::nanoTime);
+    ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, name + "-idle-evictor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long period = Math.max(1, idleTimeout.toMillis());
+    evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  KeyedConnectionPool(ConnectionFactory<K, C> factory, Predicate<C> validator, Consumer<C> destroyer,
+                      int maxIdlePerKey, int maxIdleTotal, Duration idleTimeout, LongSupplier nanoClock) {
+    this.factory = factory;
+    this.validator = validator;
+    this.destroyer = destroyer;
+    this.maxIdlePerKey = maxIdlePerKey;
+    this.maxIdleTotal = maxIdleTotal;
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * @return the most recently released valid idle connection of the key or a new connection created by the factory,
+   * exceptions of the factory are thrown as is
+   */
+  public C borrow(K key) throws Exception {
+    IdleConnection<C> idle;
+    while ((idle = pollIdle(key)) != null) {
+      if (!isExpired(idle, nanoClock.getAsLong()) && isValid(idle.connection())) {
+        logger.debug("borrow:: Reusing idle connection for {}", key);
+        return idle.connection();
+      }
+      destroy(idle.connection());
+    }
+    return factory.create(key);
+  }
+
+  /**
+   * Returns the connection to the pool after successful use, the connection is destroyed if the pool is full
+   */
+  public void release(K key, C connection) {
+    List<C> toDestroy = new ArrayList<>();
+    synchronized (this) {
+      long now = nanoClock.getAsLong();
+      collectExpired(now, toDestroy);
+      Deque<IdleConnection<C>> connections = idleConnections.computeIfAbsent(key, k -> new ArrayDeque<>());
+      if (idleCount < maxIdleTotal && connections.size() < maxIdlePerKey) {
+        connections.addFirst(new IdleConnection<>(connection, now));
+        idleCount++;
+      } else {
+        toDestroy.add(connection);
+      }
+      if (connections.isEmpty()) {
+        idleConnections.remove(key);
+      }
+    }
+    toDestroy.forEach(this::destroy);
+  }
+
+  /**
+   * Destroys the connection which failed or is in unknown state instead of returning it to the pool
+   */
+  public void invalidate(C connection) {
+    destroy(connection);
+  }
+
+  /**
+   * Destroys the connections idle longer than the idle timeout
+   */
+  public void evictIdle() {
+    List<C> toDestroy = new ArrayList<>();
+    synchronized (this) {
+      collectExpired(nanoClock.getAsLong(), toDestroy);
+    }
+    toDestroy.forEach(this::destroy);
+  }
+
+  synchronized int getIdleCount() {
+    return idleCount;
+  }
+
+  private synchronized IdleConnection<C> pollIdle(K key) {
+    Deque<IdleConnection<C>> connections = idleConnections.get(key);
+    if (connections == null) {
+      return null;
+    }
+    IdleConnection<C> idle = connections.pollFirst();
+    if (connections.isEmpty()) {
+      idleConnections.remove(key);
+    }
+    if (idle != null) {
+      idleCount--;
+    }
+    return idle;
+  }
+
+  private void collectExpired(long now, List<C> expired) {
+    Iterator<Deque<IdleConnection<C>>> keysIterator = idleConnections.values().iterator();
+    while (keysIterator.hasNext()) {
+      Deque<IdleConnection<C>> connections = keysIterator.next();
+      // Connections are released to the head, so the oldest ones are at the tail
+      while (!connections.isEmpty() && isExpired(connections.peekLast(), now)) {
+        expired.add(connections.pollLast().connection());
+        idleCount--;
+      }
+      if (connections.isEmpty()) {
+        keysIterator.remove();
+      }
+    }
+  }
+
+  private boolean isExpired(IdleConnection<C> idle, long now) {
+    return now - idle.releasedAt() >= idleTimeoutNanos;
+  }
+
+  private boolean isValid(C connection) {
+    try {
+      return validator.test(connection);
+    } catch (Exception e) {
+      logger.debug("isValid:: Idle connection check failed", e);
+      return false;
+    }
+  }
+
+  private void destroy(C connection) {
+    try {
+      destroyer.accept(connection);
+    } catch (Exception e) {
+      logger.warn("destroy:: Error closing connection", e);
+    }
+  }
+}
@@ -1,10 +1,10 @@
 package org.folio.services.ftp;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
@@ -18,7 +18,6 @@ import org.apache.sshd.sftp.spring.integration.ApacheSshdSftpSessionFactory;
 import org.folio.HttpStatus;
 import org.folio.exceptions.FtpException;
 import org.folio.rest.jaxrs.model.ExportConfig;
-import org.folio.utils.FutureUtils;
 import org.springframework.integration.file.remote.session.Session;
 import org.springframework.integration.file.remote.session.SessionFactory;
 
@@ -33,27 +32,44 @@ public class SftpUploadService implements FileExchangeService {
   private static final String FILE_SEPARATOR = "/";
   private static final String DEFAULT_WORKING_DIR = "/ftp/files/invoices";
 
+  private static final KeyedConnectionPool<ConnectionKey, Session<SftpClient.DirEntry>> SESSION_POOL = ConnectionPoolConfig
+    .fromEnvironment().createPool("sftp", SftpUploadService::openSession, Session::isOpen, Session::close);
+
   private final String server;
   private final int port;
+  private final Context ctx;
+
+  /**
+   * SSH client with its I/O threads is started once and shared by all the sessions
+   */
+  private static class SshClientHolder {
+    private static final SshClient SSH_CLIENT = startSshClient();
+
+    private static SshClient startSshClient() {
+      var ssh = SshClient.setUpDefaultClient();
+      ssh.start();
+      return ssh;
+    }
+  }
 
-  public SftpUploadService(String uri, Integer portFromConfig) throws URISyntaxException {
+  public SftpUploadService(Context ctx, String uri, Integer portFromConfig) throws URISyntaxException {
     URI u = new URI(uri);
     this.server = u.getHost();
     if (Objects.isNull(portFromConfig)) {
       portFromConfig = 22;
     }
     this.port = u.getPort() > 0 ? u.getPort() : portFromConfig;
+    this.ctx = ctx;
   }
 
-  private ApacheSshdSftpSessionFactory getSshdSessionFactory(String username, String password) throws Exception {
-    var ssh = SshClient.setUpDefaultClient();
-    ssh.start();
+  private static ApacheSshdSftpSessionFactory getSshdSessionFactory(String server, int port, String username, String password)
+      throws Exception {
     ApacheSshdSftpSessionFactory factory = new ApacheSshdSftpSessionFactory(false);
     factory.setHost(server);
     factory.setPort(port);
     factory.setUsername(username);
     factory.setPassword(password);
-    factory.setSshClient(ssh);
+    factory.setSshClient(SshClientHolder.SSH_CLIENT);
     factory.setConnectTimeout(TimeUnit.SECONDS.toMillis(30L));
     factory.setAuthenticationTimeout(TimeUnit.SECONDS.toMillis(30L));
     factory.afterPropertiesSet();
@@ -61,15 +77,28 @@ public class SftpUploadService implements FileExchangeService {
   }
 
   public Session<SftpClient.DirEntry> login(String username, String password) throws FtpException {
+    return openSession(new ConnectionKey(server, port, username, password));
+  }
+
+  private static Session<SftpClient.DirEntry> openSession(ConnectionKey key) throws FtpException {
     try {
-      SessionFactory<SftpClient.DirEntry> sshdFactory = getSshdSessionFactory(username, password);
+      SessionFactory<SftpClient.DirEntry> sshdFactory = getSshdSessionFactory(key.host(), key.port(), key.username(), key.password());
       return sshdFactory.getSession();
     } catch (Exception e) {
-      throw new FtpException(HttpStatus.HTTP_FORBIDDEN.toInt(), String.format("Unable to connect to %s:%d", server, port));
+      throw new FtpException(HttpStatus.HTTP_FORBIDDEN.toInt(), String.format("Unable to connect to %s:%d", key.host(), key.port()));
     }
   }
 
   public Future<String> upload(Context ctx, String username, String password, String folder, String filename, String content) {
+    return upload(ctx, username, password, folder, filename, outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Uploads the file writing its content directly to the remote file
+   */
+  @Override
+  public Future<String> upload(Context ctx, String username, String password, String folder, String filename,
+                               UploadContentWriter contentWriter) {
     Promise<String> promise = Promise.promise();
     String remoteAbsPath;
     if (StringUtils.isNotEmpty(folder)) {
@@ -80,23 +109,28 @@ public class SftpUploadService implements FileExchangeService {
     }
 
     return ctx.owner().executeBlocking(() -> {
-      var session = login(username, password);
-      try (InputStream inputStream = new ByteArrayInputStream(content.getBytes()); session) {
+      var key = new ConnectionKey(server, port, username, password);
+      var session = SESSION_POOL.borrow(key);
+      boolean isUploaded = false;
+      try {
         logger.debug("Start uploading file to SFTP path: {}", remoteAbsPath);
         if (StringUtils.isNotEmpty(folder)) {
           createRemoteDirectoryIfAbsent(session, folder);
         } else {
           createRemoteDirectoryIfAbsent(session, DEFAULT_WORKING_DIR);
         }
-        session.write(inputStream, remoteAbsPath);
+        write(session, remoteAbsPath, contentWriter);
         logger.debug("File was uploaded to SFTP successfully to path: {}", remoteAbsPath);
+        isUploaded = true;
         return "Uploaded successfully";
       } catch (Exception e) {
         logger.error("Error uploading the file {}", remoteAbsPath, e);
         throw new CompletionException(e);
       } finally {
-        if (Objects.nonNull(session) && session.isOpen()) {
-          session.close();
+        if (isUploaded) {
+          SESSION_POOL.release(key, session);
+        } else {
+          SESSION_POOL.invalidate(session);
         }
       }
     }, false).onComplete(result -> {
@@ -110,6 +144,26 @@ public class SftpUploadService implements FileExchangeService {
     });
   }
 
+  private void write(Session<SftpClient.DirEntry> session, String remoteAbsPath, UploadContentWriter contentWriter)
+      throws IOException {
+    // sessions of the Apache SSHD session factory are always backed by the SFTP client
+    var sftpClient = (SftpClient) session.getClientInstance();
+    try (OutputStream outputStream = sftpClient.write(remoteAbsPath)) {
+      contentWriter.write(outputStream);
+    } catch (Exception e) {
+      removeIncompleteFile(session, remoteAbsPath);
+      throw e;
+    }
+  }
+
+  private void removeIncompleteFile(Session<SftpClient.DirEntry> session, String remoteAbsPath) {
+    try {
+      session.remove(remoteAbsPath);
+    } catch (IOException e) {
+      logger.warn("Unable to remove incompletely uploaded file {}", remoteAbsPath, e);
+    }
+  }
+
   private void createRemoteDirectoryIfAbsent(Session<SftpClient.DirEntry> session, String folder) throws IOException {
     if (!session.exists(folder)) {
       String[] folders = folder.split("/");
@@ -133,8 +187,12 @@ public class SftpUploadService implements FileExchangeService {
 
   @Override
   public Future<Void> testConnection(String username, String password) {
-    return FutureUtils.asFuture(() -> login(username, password))
-      .onSuccess(Session::close)
+    return ctx.owner().executeBlocking(() -> {
+        var key = new ConnectionKey(server, port, username, password);
+        SESSION_POOL.release(key, SESSION_POOL.borrow(key));
+        return null;
+      }, false)
+      .onFailure(e -> logger.error("Failed login to SFTP", e))
       .mapEmpty();
   }
 
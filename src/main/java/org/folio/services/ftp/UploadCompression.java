@@ -0,0 +1,70 @@
+package org.folio.services.ftp;
+
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compression of the uploaded file applied on the fly while the content is written to the remote file stream
+ */
+public enum UploadCompression {
+  NONE(""),
+  GZIP(".gz"),
+  ZIP(".zip");
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final String extension;
+
+  UploadCompression(String extension) {
+    this.extension = extension;
+  }
+
+  /**
+   * @return compression by case-insensitive name, {@link #NONE} for blank value
+   */
+  public static UploadCompression fromValue(String value) {
+    if (StringUtils.isBlank(value)) {
+      return NONE;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unsupported upload compression: " + value, e);
+    }
+  }
+
+  /**
+   * @return name of the uploaded file for the file with the given uncompressed content
+   */
+  public String getFileName(String fileName) {
+    return fileName + extension;
+  }
+
+  /**
+   * @param fileName name of the uncompressed file, used as the zip entry name
+   * @return writer compressing the content of the given writer, the remote stream is left open for the upload service
+   */
+  public UploadContentWriter compress(UploadContentWriter contentWriter, String fileName) {
+    return switch (this) {
+      case NONE -> contentWriter;
+      case GZIP -> outputStream -> {
+        try (OutputStream gzip = new GZIPOutputStream(CloseShieldOutputStream.wrap(outputStream), BUFFER_SIZE)) {
+          contentWriter.write(gzip);
+        }
+      };
+      case ZIP -> outputStream -> {
+        try (ZipOutputStream zip = new ZipOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
+          zip.putNextEntry(new ZipEntry(fileName));
+          contentWriter.write(zip);
+          zip.closeEntry();
+        }
+      };
+    };
+  }
+}
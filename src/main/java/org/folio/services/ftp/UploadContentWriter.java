@@ -0,0 +1,12 @@
+package org.folio.services.ftp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the content of the uploaded file directly to the remote file stream, so the content is not built in memory first
+ */
+@FunctionalInterface
+public interface UploadContentWriter {
+  void write(OutputStream outputStream) throws IOException;
+}
@@ -3,7 +3,6 @@ package org.folio.services.invoice;
 import static io.vertx.core.Future.succeededFuture;
 import static java.util.stream.Collectors.toList;
 import static org.folio.invoices.utils.HelperUtils.calculateAdjustmentsTotal;
-import static org.folio.invoices.utils.HelperUtils.collectResultsOnSuccess;
 import static org.folio.invoices.utils.HelperUtils.convertToDoubleWithRounding;
 import static org.folio.invoices.utils.ResourcePathResolver.FOLIO_INVOICE_NUMBER;
 import static org.folio.invoices.utils.ResourcePathResolver.INVOICES;
@@ -21,6 +20,7 @@ import javax.money.MonetaryAmount;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.invoices.utils.FixedPointAmount;
 import org.folio.invoices.utils.HelperUtils;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
@@ -38,7 +38,6 @@ import org.javamoney.moneta.function.MonetaryFunctions;
 import org.springframework.stereotype.Service;
 
 import io.vertx.core.Future;
-import io.vertx.core.json.JsonObject;
 
 @Service
 public class BaseInvoiceService implements InvoiceService {
@@ -101,6 +100,42 @@ public class BaseInvoiceService implements InvoiceService {
 
   @Override
   public void calculateTotals(Invoice invoice, List<InvoiceLine> lines) {
+    if (!calculateTotalsWithFixedPoint(invoice, lines)) {
+      calculateTotalsWithMoneta(invoice, lines);
+    }
+  }
+
+  /**
+   * Same calculation as {@link #calculateTotalsWithMoneta(Invoice, List)} on exact long based amounts
+   *
+   * @return {@code false} if any amount can not be calculated exactly and the invoice was not updated
+   */
+  private boolean calculateTotalsWithFixedPoint(Invoice invoice, List<InvoiceLine> lines) {
+    int fractionDigits = FixedPointAmount.getFractionDigits(invoice.getCurrency());
+    FixedPointAmount subTotal = FixedPointAmount.sum(lines, InvoiceLine::getSubTotal);
+    FixedPointAmount adjustmentsTotal;
+    if (lines.isEmpty()) {
+      List<Adjustment> proratedAdjustments = new ArrayList<>(adjustmentsService.getProratedAdjustments(invoice));
+      proratedAdjustments.addAll(adjustmentsService.getNotProratedAdjustments(invoice));
+      adjustmentsTotal = calculateAdjustmentsTotal(proratedAdjustments, subTotal, fractionDigits);
+    } else {
+      adjustmentsTotal = calculateAdjustmentsTotal(adjustmentsService.getNotProratedAdjustments(invoice), subTotal,
+          fractionDigits)
+        .add(FixedPointAmount.sum(lines, InvoiceLine::getAdjustmentsTotal));
+    }
+    FixedPointAmount total = subTotal.add(adjustmentsTotal).round(fractionDigits);
+    adjustmentsTotal = adjustmentsTotal.round(fractionDigits);
+    subTotal = subTotal.round(fractionDigits);
+    if (!total.isConvertibleToDouble() || !adjustmentsTotal.isConvertibleToDouble() || !subTotal.isConvertibleToDouble()) {
+      return false;
+    }
+    invoice.setTotal(total.toDouble());
+    invoice.setAdjustmentsTotal(adjustmentsTotal.toDouble());
+    invoice.setSubTotal(subTotal.toDouble());
+    return true;
+  }
+
+  private void calculateTotalsWithMoneta(Invoice invoice, List<InvoiceLine> lines) {
     CurrencyUnit currency = Monetary.getCurrency(invoice.getCurrency());
 
     // 1. Sub-total
@@ -155,26 +190,24 @@ public class BaseInvoiceService implements InvoiceService {
       .map(invoiceLines -> recalculateTotals(invoice, invoiceLines));
   }
 
+  /**
+   * Updates total values of all invoices of the page. Invoice lines of all invoices are loaded in chunks
+   * and grouped in memory so that the number of storage calls does not depend on the page size.
+   */
   @Override
   public Future<Void> updateInvoicesTotals(InvoiceCollection invoiceCollection, RequestContext requestContext) {
     if (CollectionUtils.isEmpty(invoiceCollection.getInvoices())) {
       return succeededFuture(null);
     }
-    List<Future<Void>> invoiceListFutures = new ArrayList<>(invoiceCollection.getInvoices().size());
-    invoiceCollection.getInvoices().forEach(invoice -> invoiceListFutures.add(
-      invoiceLineService.getInvoiceLinesWithTotals(invoice, requestContext)
-        .map(invoiceLines -> {
-          // clone invoice lines
-          List<InvoiceLine> updatedInvoiceLines = invoiceLines.stream()
-            .map(invoiceLine -> JsonObject.mapFrom(invoiceLine).mapTo(InvoiceLine.class))
-            .collect(toList());
-
-          recalculateTotals(invoice, updatedInvoiceLines);
-          return null;
-        })
-    ));
-    return collectResultsOnSuccess(invoiceListFutures)
-      .onSuccess(results -> logger.debug("Invoice totals updated : {}", results.size()))
+    List<Invoice> invoices = invoiceCollection.getInvoices();
+    List<String> invoiceIds = invoices.stream().map(Invoice::getId).collect(toList());
+    return invoiceLineService.getInvoiceLinesGroupedByInvoiceId(invoiceIds, requestContext)
+      .map(linesByInvoiceId -> {
+        invoices.forEach(invoice -> recalculateTotals(invoice,
+          linesByInvoiceId.getOrDefault(invoice.getId(), Collections.emptyList())));
+        return invoices.size();
+      })
+      .onSuccess(count -> logger.debug("Invoice totals updated : {}", count))
       .mapEmpty();
   }
 
@@ -29,6 +29,8 @@ import static io.vertx.core.Future.succeededFuture;
 import static java.util.Objects.nonNull;
 import static org.folio.invoices.utils.ErrorCodes.ORG_IS_NOT_VENDOR;
 import static org.folio.invoices.utils.ErrorCodes.ORG_NOT_FOUND;
+import static org.folio.metrics.ModuleMetrics.APPROVE_WORKFLOW;
+import static org.folio.metrics.ModuleMetrics.timeStage;
 import static org.folio.utils.FutureUtils.asFuture;
 
 
@@ -85,22 +87,23 @@ public class InvoiceApprovalService {
     invoice.setApprovalDate(new Date());
     invoice.setApprovedBy(invoice.getMetadata().getUpdatedByUserId());
 
-    return vendorService.getVendor(invoice.getVendorId(), requestContext)
-      .compose(organization -> asFuture(() -> validateBeforeApproval(organization, invoice, lines)))
-      .compose(v -> holderBuilder.buildCompleteHolders(invoice, lines, false, requestContext))
-      .compose(holders -> encumbranceService.updateInvoiceLinesEncumbranceLinks(holders,
+    return timeStage(APPROVE_WORKFLOW, "validate-vendor", () -> vendorService.getVendor(invoice.getVendorId(), requestContext)
+        .compose(organization -> asFuture(() -> validateBeforeApproval(organization, invoice, lines))))
+      .compose(v -> timeStage(APPROVE_WORKFLOW, "build-holders", () -> holderBuilder.buildCompleteHolders(invoice, lines, false, requestContext)))
+      .compose(holders -> timeStage(APPROVE_WORKFLOW, "encumbrance-links", () -> encumbranceService.updateInvoiceLinesEncumbranceLinks(holders,
           holders.getFirst().getFiscalYear().getId(), requestContext)
         .compose(linesToUpdate -> invoiceLineService.persistInvoiceLines(linesToUpdate, requestContext))
-        .map(v -> holders))
-      .compose(holders -> budgetExpenseClassService.checkExpenseClasses(holders, requestContext))
-      .compose(holders -> pendingPaymentWorkflowService.handlePendingPaymentsCreation(holders, invoice, requestContext))
-      .compose(holders -> prepareVoucher(invoice, requestContext)
+        .map(v -> holders)))
+      .compose(holders -> timeStage(APPROVE_WORKFLOW, "expense-classes", () -> budgetExpenseClassService.checkExpenseClasses(holders, requestContext)))
+      .compose(holders -> timeStage(APPROVE_WORKFLOW, "pending-payments",
+        () -> pendingPaymentWorkflowService.handlePendingPaymentsCreation(holders, invoice, requestContext)))
+      .compose(holders -> timeStage(APPROVE_WORKFLOW, "voucher", () -> prepareVoucher(invoice, requestContext)
         .compose(voucher -> updateVoucherWithSystemCurrency(voucher, lines, requestContext))
         .compose(voucher -> voucherCommandService.updateVoucherWithExchangeRate(voucher, invoice, requestContext))
         .compose(voucher -> invoiceFundDistributionService.getAllFundDistributions(lines, invoice, requestContext)
           .compose(fundDistributions -> voucherCreationService.handleVoucherWithLines(fundDistributions,
             voucher, requestContext))
-        ).recover(t -> {
+        )).recover(t -> {
           log.error("approveInvoice:: error after creating the pending payments; rolling back...", t);
           return pendingPaymentWorkflowService.rollbackCreationOfPendingPayments(holders, requestContext)
             .compose(v -> Future.failedFuture(t));
@@ -1,22 +1,32 @@
 package org.folio.services.invoice;
 
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.folio.invoices.utils.ErrorCodes.INVOICE_LINE_NOT_FOUND;
 import static org.folio.invoices.utils.HelperUtils.INVOICE_ID;
 import static org.folio.invoices.utils.HelperUtils.collectResultsOnSuccess;
+import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.invoices.utils.ResourcePathResolver.INVOICE_LINES;
 import static org.folio.invoices.utils.ResourcePathResolver.INVOICE_LINE_NUMBER;
 import static org.folio.invoices.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
 import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import io.vertx.core.Future;
 import one.util.streamex.StreamEx;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.invoices.utils.HelperUtils;
+import org.folio.rest.core.PagedReader;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
@@ -28,16 +38,28 @@ import org.folio.rest.jaxrs.model.SequenceNumber;
 
 public class InvoiceLineService {
 
+  private static final Logger logger = LogManager.getLogger();
+
+  public static final int DEFAULT_PERSIST_CONCURRENCY = 10;
   private static final String INVOICE_LINES_ENDPOINT = resourcesPath(INVOICE_LINES);
   private static final String INVOICE_LINE_BY_ID_ENDPOINT = INVOICE_LINES_ENDPOINT + "/{id}";
   private static final String INVOICE_LINE_NUMBER_ENDPOINT = resourcesPath(INVOICE_LINE_NUMBER) + "?" + INVOICE_ID + "=";
 
-  private static final String INVOICE_ID_QUERY =  "invoiceId==%s";
+  private static final String INVOICE_ID_QUERY =  "invoiceId==%s sortBy id";
 
   final RestClient restClient;
+  private final int persistConcurrency;
 
   public InvoiceLineService(RestClient restClient) {
+    this(restClient, DEFAULT_PERSIST_CONCURRENCY);
+  }
+
+  /**
+   * @param persistConcurrency max number of invoice line updates sent to the storage at the same time
+   */
+  public InvoiceLineService(RestClient restClient, int persistConcurrency) {
     this.restClient = restClient;
+    this.persistConcurrency = Math.max(1, persistConcurrency);
   }
 
   public Future<InvoiceLine> getInvoiceLine(String invoiceLineId, RequestContext requestContext) {
@@ -55,11 +77,9 @@ public class InvoiceLineService {
 
   public Future<InvoiceLineCollection> getInvoiceLinesByInvoiceId(String invoiceId, RequestContext requestContext) {
     String query = String.format(INVOICE_ID_QUERY, invoiceId);
-    RequestEntry requestEntry = new RequestEntry(INVOICE_LINES_ENDPOINT)
-        .withQuery(query)
-        .withLimit(Integer.MAX_VALUE)
-        .withOffset(0);
-    return restClient.get(requestEntry, InvoiceLineCollection.class, requestContext);
+    RequestEntry requestEntry = new RequestEntry(INVOICE_LINES_ENDPOINT).withQuery(query);
+    return PagedReader.getAll(restClient, requestEntry, InvoiceLineCollection.class, InvoiceLineCollection::getInvoiceLines, requestContext)
+      .map(lines -> new InvoiceLineCollection().withInvoiceLines(lines).withTotalRecords(lines.size()));
   }
 
   public Future<InvoiceLineCollection> getInvoiceLines(String endpoint, RequestContext requestContext) {
@@ -97,11 +117,45 @@ public class InvoiceLineService {
       .map(col -> col.stream().flatMap(List::stream).toList());
   }
 
-  public Future<Void> persistInvoiceLines(List<InvoiceLine> lines,  RequestContext requestContext) {
-    var futures = lines.stream()
-      .map(invoiceLine -> persistInvoiceLine(invoiceLine, requestContext))
-      .collect(toList());
-    return Future.join(futures).mapEmpty();
+  /**
+   * Retrieves invoice lines of several invoices using chunked {@code invoiceId==(a or b ...)} queries
+   *
+   * @param invoiceIds ids of the invoices to get lines for
+   * @return invoice lines grouped by invoice id, invoices without lines are not present in the map
+   */
+  public Future<Map<String, List<InvoiceLine>>> getInvoiceLinesGroupedByInvoiceId(Collection<String> invoiceIds,
+      RequestContext requestContext) {
+    List<String> distinctIds = invoiceIds.stream().distinct().toList();
+    return getInvoiceLinesByIdsAndQuery(distinctIds, ids -> convertIdsToCqlQuery(ids, INVOICE_ID, true), requestContext)
+      .map(lines -> lines.stream().collect(groupingBy(InvoiceLine::getInvoiceId)));
+  }
+
+  /**
+   * Updates the invoice lines in the storage. The storage has no batch endpoint for invoice lines, so the lines are sent
+   * one by one with at most {@code persistConcurrency} requests in flight. All the lines are attempted even if some of
+   * them fail, every failed line is logged and the returned future fails with the error of the first failed line.
+   *
+   * @param lines invoice lines to update
+   * @return future completed when all the lines are processed
+   */
+  public Future<Void> persistInvoiceLines(List<InvoiceLine> lines, RequestContext requestContext) {
+    if (lines.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    AtomicInteger nextIndex = new AtomicInteger();
+    Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+    var workers = IntStream.range(0, Math.min(persistConcurrency, lines.size()))
+      .mapToObj(i -> persistRemainingInvoiceLines(lines, nextIndex, failures, requestContext))
+      .toList();
+    return Future.join(workers)
+      .compose(v -> {
+        if (failures.isEmpty()) {
+          return Future.succeededFuture();
+        }
+        int firstFailedIndex = failures.keySet().stream().min(Integer::compare).orElseThrow();
+        logger.error("persistInvoiceLines:: Failed to update {} of {} invoice lines", failures.size(), lines.size());
+        return Future.failedFuture(failures.get(firstFailedIndex));
+      });
   }
 
   public Future<Void> updateInvoiceLine(InvoiceLine invoiceLine, RequestContext requestContext) {
@@ -117,6 +171,22 @@ public class InvoiceLineService {
       });
   }
 
+  private Future<Void> persistRemainingInvoiceLines(List<InvoiceLine> lines, AtomicInteger nextIndex,
+                                                    Map<Integer, Throwable> failures, RequestContext requestContext) {
+    int index = nextIndex.getAndIncrement();
+    if (index >= lines.size()) {
+      return Future.succeededFuture();
+    }
+    InvoiceLine invoiceLine = lines.get(index);
+    return persistInvoiceLine(invoiceLine, requestContext)
+      .recover(t -> {
+        logger.error("persistInvoiceLines:: Failed to update invoice line id={}", invoiceLine.getId(), t);
+        failures.put(index, t);
+        return Future.succeededFuture();
+      })
+      .compose(v -> persistRemainingInvoiceLines(lines, nextIndex, failures, requestContext));
+  }
+
   private Future<Void> persistInvoiceLine(InvoiceLine invoiceLine,  RequestContext requestContext) {
     RequestEntry requestEntry = new RequestEntry(INVOICE_LINE_BY_ID_ENDPOINT).withId(invoiceLine.getId());
     return restClient.put(requestEntry, invoiceLine, requestContext);
@@ -0,0 +1,198 @@
+package org.folio.services.voucher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.services.ftp.UploadContentWriter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Keeps serialized batch vouchers on local disk, so a re-upload of the export after a failed upload
+ * does not fetch and convert the batch voucher again.
+ * <p>
+ * The cache is bounded by the total size of the files and the time since the last access, the least recently used files
+ * are deleted first. An artifact larger than the whole cache is not kept and must be discarded after the upload.
+ * The directory of the module instance is deleted with all the files on {@link #close()}.
+ * All the methods except {@link #contains(String)} and {@link #discard(Artifact)} write or read files and must not be called
+ * on the event loop.
+ */
+public class BatchVoucherArtifactCache implements AutoCloseable {
+
+  private static final Logger logger = LogManager.getLogger();
+  private static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+  public record Artifact(Path file, String fileName, long size, String checksum, boolean cached) {
+  }
+
+  private final Path directory;
+  private final long maximumSizeKb;
+  private final Cache<String, Artifact> artifacts;
+
+  /**
+   * @param directory      parent directory of the cache files, a new subdirectory is created for the module instance
+   * @param maximumSizeMb  maximum total size of the cached files
+   * @param expirationTime seconds after the last access when a file is deleted
+   */
+  public BatchVoucherArtifactCache(Path directory, long maximumSizeMb, long expirationTime) throws IOException {
+    this.directory = Files.createTempDirectory(Files.createDirectories(directory), "batch-vouchers");
+    this.maximumSizeKb = maximumSizeMb * 1024;
+    this.artifacts = Caffeine.newBuilder()
+      .maximumWeight(maximumSizeKb)
+      .weigher((String key, Artifact artifact) -> weigh(artifact))
+      .expireAfterAccess(expirationTime, TimeUnit.SECONDS)
+      .removalListener((String key, Artifact artifact, RemovalCause cause) -> {
+        if (artifact != null) {
+          logger.debug("removalListener:: Batch voucher artifact {} is removed, cause: {}", key, cause);
+          delete(artifact.file());
+        }
+      })
+      .build();
+  }
+
+  public static String buildKey(String tenantId, String batchVoucherId, String format, String compression) {
+    return String.join(":", tenantId, batchVoucherId, format, compression);
+  }
+
+  /**
+   * @return true if the artifact is cached, the file of the artifact is not checked
+   */
+  public boolean contains(String key) {
+    return artifacts.getIfPresent(key) != null;
+  }
+
+  /**
+   * Reads the file of the cached artifact to check that it still matches the stored checksum before it is reused
+   *
+   * @return cached artifact or null if the artifact was not stored, was already removed or the file is corrupted
+   */
+  public Artifact get(String key) throws IOException {
+    Artifact artifact = artifacts.getIfPresent(key);
+    if (artifact == null) {
+      return null;
+    }
+    MessageDigest digest = newDigest();
+    try (InputStream inputStream = new DigestInputStream(Files.newInputStream(artifact.file()), digest)) {
+      inputStream.transferTo(OutputStream.nullOutputStream());
+    } catch (NoSuchFileException e) {
+      logger.warn("get:: File of batch voucher artifact {} was removed", key);
+      artifacts.invalidate(key);
+      return null;
+    }
+    if (!HexFormat.of().formatHex(digest.digest()).equals(artifact.checksum())) {
+      logger.warn("get:: File of batch voucher artifact {} does not match the checksum {}", key, artifact.checksum());
+      artifacts.invalidate(key);
+      return null;
+    }
+    return artifact;
+  }
+
+  /**
+   * Writes the content to a new file and caches it together with the checksum of the content
+   *
+   * @param key      key of the artifact
+   * @param fileName name of the uploaded file
+   * @param content  writer of the file content
+   * @return stored artifact, {@link Artifact#cached()} is false if the artifact is larger than the cache
+   */
+  public Artifact store(String key, String fileName, UploadContentWriter content) throws IOException {
+    Path file = Files.createTempFile(directory, "bv", ".tmp");
+    MessageDigest digest = newDigest();
+    try (OutputStream outputStream = new DigestOutputStream(Files.newOutputStream(file), digest)) {
+      content.write(outputStream);
+    } catch (IOException | RuntimeException e) {
+      delete(file);
+      throw e;
+    }
+    long size = Files.size(file);
+    String checksum = HexFormat.of().formatHex(digest.digest());
+    boolean cached = weigh(size) <= maximumSizeKb;
+    Artifact artifact = new Artifact(file, fileName, size, checksum, cached);
+    if (cached) {
+      artifacts.put(key, artifact);
+    }
+    logger.info("store:: Batch voucher artifact {} is stored, size: {}, checksum: {}, cached: {}", key, size, checksum, cached);
+    return artifact;
+  }
+
+  /**
+   * @return writer copying the file of the artifact returned by {@link #get(String)} or {@link #store}
+   */
+  public UploadContentWriter reader(Artifact artifact) {
+    return outputStream -> {
+      try (InputStream inputStream = Files.newInputStream(artifact.file())) {
+        inputStream.transferTo(outputStream);
+      } catch (NoSuchFileException e) {
+        throw new IOException("Generated batch voucher file was removed, please retry the upload", e);
+      }
+    };
+  }
+
+  /**
+   * Deletes the file of the artifact which was not cached
+   */
+  public void discard(Artifact artifact) {
+    if (!artifact.cached()) {
+      delete(artifact.file());
+    }
+  }
+
+  /**
+   * Forgets all the artifacts and deletes the directory of the module instance
+   */
+  @Override
+  public void close() {
+    artifacts.invalidateAll();
+    artifacts.cleanUp();
+    if (Files.notExists(directory)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(directory)) {
+      // files are deleted before the directory
+      paths.sorted(Comparator.reverseOrder()).forEach(BatchVoucherArtifactCache::delete);
+      logger.info("close:: Batch voucher artifact directory {} is deleted", directory);
+    } catch (IOException e) {
+      logger.warn("close:: Unable to delete batch voucher artifact directory {}", directory, e);
+    }
+  }
+
+  private static int weigh(Artifact artifact) {
+    return (int) Math.min(Integer.MAX_VALUE, weigh(artifact.size()));
+  }
+
+  private static long weigh(long size) {
+    return size / 1024 + 1;
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void delete(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.warn("delete:: Unable to delete batch voucher file {}", file, e);
+    }
+  }
+}
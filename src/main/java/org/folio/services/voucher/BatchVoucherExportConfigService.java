@@ -7,8 +7,12 @@ import static org.folio.invoices.utils.ResourcePathResolver.BATCH_VOUCHER_EXPORT
 import static org.folio.invoices.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
 
+import java.util.List;
+
+import org.folio.rest.core.PagedReader;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Credentials;
 import org.folio.rest.jaxrs.model.ExportConfig;
 import org.folio.rest.jaxrs.model.ExportConfigCollection;
@@ -61,4 +65,13 @@ public class BatchVoucherExportConfigService {
     return restClient.get(endpoint, ExportConfigCollection.class, requestContext);
   }
 
+  /**
+   * Retrieves all export configurations matching the query page by page
+   */
+  public Future<List<ExportConfig>> getAllExportConfigs(String query, RequestContext requestContext) {
+    RequestEntry requestEntry = new RequestEntry(resourcesPath(BATCH_VOUCHER_EXPORT_CONFIGS)).withQuery(query);
+    return PagedReader.getAll(restClient, requestEntry, ExportConfigCollection.class,
+      ExportConfigCollection::getExportConfigs, requestContext);
+  }
+
   }
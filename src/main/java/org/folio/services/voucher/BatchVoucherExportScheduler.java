@@ -0,0 +1,124 @@
+package org.folio.services.voucher;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.invoices.rest.exceptions.HttpException;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Limits the number of batch voucher exports (generation and upload) running at the same time.
+ * <p>
+ * Exports above the limit wait in per-tenant queues which are served round-robin, so a burst of exports of one tenant
+ * does not delay the exports of the other tenants. When {@code maxQueuedExports} exports are already waiting,
+ * a new export is rejected with 429 instead of being queued.
+ */
+public class BatchVoucherExportScheduler {
+
+  private static final Logger logger = LogManager.getLogger();
+  public static final String QUEUE_IS_FULL = "Too many batch voucher exports are in progress, please try again later";
+
+  private final int maxConcurrentExports;
+  private final int maxQueuedExports;
+  // Tenants with waiting exports in the order they are served next
+  private final Map<String, Deque<QueuedExport>> queues = new LinkedHashMap<>();
+  private int running;
+  private int queued;
+  private long rejected;
+
+  private record QueuedExport(Supplier<Future<Void>> export, Promise<Void> promise) {
+  }
+
+  public BatchVoucherExportScheduler(int maxConcurrentExports, int maxQueuedExports) {
+    this.maxConcurrentExports = Math.max(1, maxConcurrentExports);
+    this.maxQueuedExports = Math.max(0, maxQueuedExports);
+  }
+
+  /**
+   * Starts the export right away if the limit allows it, otherwise queues it for the tenant
+   *
+   * @param tenantId tenant of the export
+   * @param export   supplier starting the export
+   * @return future completed with the result of the export or failed with 429 if the queue is full
+   */
+  public Future<Void> schedule(String tenantId, Supplier<Future<Void>> export) {
+    QueuedExport queuedExport = new QueuedExport(export, Promise.promise());
+    synchronized (this) {
+      if (running < maxConcurrentExports) {
+        running++;
+      } else if (queued < maxQueuedExports) {
+        queues.computeIfAbsent(tenantId, k -> new ArrayDeque<>()).addLast(queuedExport);
+        queued++;
+        logger.info("schedule:: Batch voucher export of tenant {} is queued, running: {}, queued: {}", tenantId, running, queued);
+        return queuedExport.promise().future();
+      } else {
+        rejected++;
+        logger.warn("schedule:: Batch voucher export of tenant {} is rejected, running: {}, queued: {}", tenantId, running, queued);
+        return Future.failedFuture(new HttpException(429, QUEUE_IS_FULL));
+      }
+    }
+    start(queuedExport);
+    return queuedExport.promise().future();
+  }
+
+  public synchronized int getRunning() {
+    return running;
+  }
+
+  public synchronized int getQueued() {
+    return queued;
+  }
+
+  public synchronized long getRejected() {
+    return rejected;
+  }
+
+  private void start(QueuedExport queuedExport) {
+    Future<Void> future;
+    try {
+      future = queuedExport.export().get();
+    } catch (Exception e) {
+      future = Future.failedFuture(e);
+    }
+    future.onComplete(result -> {
+      startNext();
+      queuedExport.promise().handle(result);
+    });
+  }
+
+  private void startNext() {
+    QueuedExport next;
+    synchronized (this) {
+      next = pollNextTenantExport();
+      if (next == null) {
+        running--;
+        return;
+      }
+      queued--;
+    }
+    start(next);
+  }
+
+  private QueuedExport pollNextTenantExport() {
+    Iterator<Map.Entry<String, Deque<QueuedExport>>> iterator = queues.entrySet().iterator();
+    if (!iterator.hasNext()) {
+      return null;
+    }
+    Map.Entry<String, Deque<QueuedExport>> tenantQueue = iterator.next();
+    iterator.remove();
+    QueuedExport next = tenantQueue.getValue().pollFirst();
+    if (!tenantQueue.getValue().isEmpty()) {
+      // The tenant goes to the end of the line until the other tenants get their turn
+      queues.put(tenantQueue.getKey(), tenantQueue.getValue());
+    }
+    return next;
+  }
+}
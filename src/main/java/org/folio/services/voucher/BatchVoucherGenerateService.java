@@ -3,11 +3,14 @@ package org.folio.services.voucher;
 import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import io.vertx.core.Future;
@@ -21,6 +24,7 @@ import org.folio.rest.acq.model.Address;
 import org.folio.rest.acq.model.FundDistribution;
 import org.folio.rest.acq.model.Organization;
 import org.folio.rest.acq.model.VoucherLine;
+import org.folio.rest.core.PagedReader;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.jaxrs.model.Adjustment;
 import org.folio.rest.jaxrs.model.BatchVoucher;
@@ -41,6 +45,9 @@ import org.folio.services.VoucherLineService;
 
 public class BatchVoucherGenerateService {
   private static final Logger logger = LogManager.getLogger();
+  private static final String SORT_BY_ID = " sortBy id";
+  public static final int DEFAULT_WINDOW_SIZE = 500;
+  public static final int DEFAULT_WINDOW_ATTEMPTS = 3;
 
   private final VoucherService voucherService;
 
@@ -55,9 +62,24 @@ public class BatchVoucherGenerateService {
 
   private final BatchGroupService batchGroupService;
 
+  private final int windowSize;
+  private final int windowAttempts;
+
   public BatchVoucherGenerateService(VoucherService voucherService, InvoiceRetrieveService invoiceRetrieveService,
       InvoiceLinesRetrieveService invoiceLinesRetrieveService, VoucherLineService voucherLineService,
       VendorRetrieveService vendorRetrieveService, AddressConverter addressConverter, BatchGroupService batchGroupService) {
+    this(voucherService, invoiceRetrieveService, invoiceLinesRetrieveService, voucherLineService, vendorRetrieveService,
+      addressConverter, batchGroupService, DEFAULT_WINDOW_SIZE, DEFAULT_WINDOW_ATTEMPTS);
+  }
+
+  /**
+   * @param windowSize     max number of vouchers read and processed together with their lines, invoices and vendors
+   * @param windowAttempts max number of attempts to process one window before the whole generation fails
+   */
+  public BatchVoucherGenerateService(VoucherService voucherService, InvoiceRetrieveService invoiceRetrieveService,
+      InvoiceLinesRetrieveService invoiceLinesRetrieveService, VoucherLineService voucherLineService,
+      VendorRetrieveService vendorRetrieveService, AddressConverter addressConverter, BatchGroupService batchGroupService,
+      int windowSize, int windowAttempts) {
     this.voucherService = voucherService;
     this.invoiceRetrieveService = invoiceRetrieveService;
     this.invoiceLinesRetrieveService = invoiceLinesRetrieveService;
@@ -65,45 +87,95 @@ public class BatchVoucherGenerateService {
     this.vendorRetrieveService = vendorRetrieveService;
     this.addressConverter = addressConverter;
     this.batchGroupService = batchGroupService;
-
+    this.windowSize = Math.max(1, windowSize);
+    this.windowAttempts = Math.max(1, windowAttempts);
   }
 
-
+  /**
+   * Vouchers are read and converted in windows of {@link #windowSize} records, so the related voucher lines, invoices,
+   * invoice lines and vendors are held only for the current window. A failed window is retried on its own instead of
+   * restarting the whole generation.
+   */
   public Future<BatchVoucher> buildBatchVoucherObject(BatchVoucherExport batchVoucherExport, RequestContext requestContext) {
     String voucherCQL = buildBatchVoucherQuery(batchVoucherExport);
-    return voucherService.getVouchers(voucherCQL, 0, Integer.MAX_VALUE, requestContext)
-      .compose(vouchers -> {
-        if (vouchers.getVouchers().isEmpty()) {
+    List<BatchedVoucher> batchedVouchers = new ArrayList<>();
+    // Vendors are usually shared by many vouchers, so they are fetched once for all the windows
+    Map<String, Organization> vendorsMap = new HashMap<>();
+    return PagedReader.forEachPage(windowSize,
+        (offset, limit) -> withRetry(() -> voucherService.getVouchers(voucherCQL + SORT_BY_ID, offset, limit, requestContext),
+            "Voucher window with offset " + offset)
+          .map(VoucherCollection::getVouchers),
+        window -> withRetry(() -> buildBatchedVouchers(window, vendorsMap, requestContext), "Voucher window of " + window.size() + " vouchers")
+          .map(windowBatchedVouchers -> {
+            batchedVouchers.addAll(windowBatchedVouchers);
+            logger.info("buildBatchVoucherObject:: {} vouchers processed for batch voucher export: {}", batchedVouchers.size(),
+              batchVoucherExport.getId());
+            return null;
+          }))
+      .compose(v -> {
+        if (batchedVouchers.isEmpty()) {
           var param = new Parameter().withKey("voucherCQL").withValue(voucherCQL);
           var error = new Error().withMessage("Vouchers for batch voucher export were not found").withParameters(List.of(param));
           logger.error("buildBatchVoucherObject:: Vouchers for batch voucher export were not found: voucherCQL={}",  voucherCQL);
           throw new HttpException(404, error);
         }
-        Future<Map<String, List<VoucherLine>>> voucherLines = voucherLineService.getVoucherLinesMap(vouchers, requestContext)
-          .onFailure(t -> logger.error("buildBatchVoucherObject:: Error retrieving voucher lines", t));
-        Future<Map<String, Invoice>> invoices = invoiceRetrieveService.getInvoiceMap(vouchers, requestContext)
-          .onFailure(t -> logger.error("buildBatchVoucherObject:: Error retrieving invoices", t));
-        Future<Map<String, List<InvoiceLine>>> invoiceLines = invoiceLinesRetrieveService.getInvoiceLineMap(vouchers, requestContext)
-          .onFailure(t -> logger.error("buildBatchVoucherObject:: Error retrieving invoice lines", t));
-        return Future.join(voucherLines, invoices, invoiceLines)
-          .compose(v -> buildBatchVoucher(batchVoucherExport, vouchers, voucherLines.result(), invoices.result(), invoiceLines.result(), requestContext));
+        return buildBatchVoucher(batchVoucherExport, batchedVouchers, requestContext);
+      });
+  }
+
+  private Future<List<BatchedVoucher>> buildBatchedVouchers(List<Voucher> vouchers, Map<String, Organization> vendorsMap,
+      RequestContext requestContext) {
+    VoucherCollection voucherCollection = new VoucherCollection().withVouchers(vouchers).withTotalRecords(vouchers.size());
+    Future<Map<String, List<VoucherLine>>> voucherLines = voucherLineService.getVoucherLinesMap(voucherCollection, requestContext)
+      .onFailure(t -> logger.error("buildBatchedVouchers:: Error retrieving voucher lines", t));
+    Future<Map<String, Invoice>> invoices = invoiceRetrieveService.getInvoiceMap(voucherCollection, requestContext)
+      .onFailure(t -> logger.error("buildBatchedVouchers:: Error retrieving invoices", t));
+    Future<Map<String, List<InvoiceLine>>> invoiceLines = invoiceLinesRetrieveService.getInvoiceLineMap(voucherCollection, requestContext)
+      .onFailure(t -> logger.error("buildBatchedVouchers:: Error retrieving invoice lines", t));
+    return Future.join(voucherLines, invoices, invoiceLines)
+      .compose(v -> getMissingVendors(invoices.result().values(), vendorsMap, requestContext))
+      .map(v -> vouchers.stream()
+        .map(voucher -> buildBatchedVoucher(voucher, voucherLines.result(), invoices.result(), invoiceLines.result(), vendorsMap))
+        .collect(toList()));
+  }
+
+  private Future<Void> getMissingVendors(Collection<Invoice> invoices, Map<String, Organization> vendorsMap,
+      RequestContext requestContext) {
+    List<Invoice> invoicesWithMissingVendor = invoices.stream()
+      .filter(invoice -> !vendorsMap.containsKey(invoice.getVendorId()))
+      .collect(toList());
+    if (invoicesWithMissingVendor.isEmpty()) {
+      return Future.succeededFuture();
+    }
+    return vendorRetrieveService.getVendorsMap(invoicesWithMissingVendor, requestContext)
+      .onSuccess(vendorsMap::putAll)
+      .mapEmpty();
+  }
+
+  private <T> Future<T> withRetry(Supplier<Future<T>> action, String description) {
+    return withRetry(action, description, 1);
+  }
+
+  private <T> Future<T> withRetry(Supplier<Future<T>> action, String description, int attempt) {
+    return action.get()
+      .recover(t -> {
+        // Client errors are not going to change on retry
+        boolean isClientError = t instanceof HttpException httpException && httpException.getCode() < 500;
+        if (attempt >= windowAttempts || isClientError) {
+          return Future.failedFuture(t);
+        }
+        logger.warn("withRetry:: {} failed on attempt {} of {}, retrying", description, attempt, windowAttempts, t);
+        return withRetry(action, description, attempt + 1);
       });
   }
 
-  private Future<BatchVoucher> buildBatchVoucher(BatchVoucherExport batchVoucherExport,
-      VoucherCollection voucherCollection, Map<String, List<VoucherLine>> voucherLinesMap, Map<String, Invoice> invoiceMap, Map<String, List<InvoiceLine>> invoiceLinesMap, RequestContext requestContext) {
-    List<Invoice> invoices = new ArrayList<>(invoiceMap.values());
-    var vendorsMapFuture = vendorRetrieveService.getVendorsMap(invoices, requestContext);
-    return vendorsMapFuture
-      .compose(vendorsMap -> batchGroupService.getBatchGroup(batchVoucherExport.getBatchGroupId(), requestContext))
+  private Future<BatchVoucher> buildBatchVoucher(BatchVoucherExport batchVoucherExport, List<BatchedVoucher> batchedVouchers,
+      RequestContext requestContext) {
+    return batchGroupService.getBatchGroup(batchVoucherExport.getBatchGroupId(), requestContext)
       .map(batchGroup -> {
         BatchVoucher batchVoucher = new BatchVoucher();
         batchVoucher.setStart(batchVoucherExport.getStart());
         batchVoucher.setEnd(batchVoucherExport.getStart());
-        List<BatchedVoucher> batchedVouchers = voucherCollection.getVouchers()
-          .stream()
-          .map(voucher -> buildBatchedVoucher(voucher, voucherLinesMap, invoiceMap, invoiceLinesMap, vendorsMapFuture.result()))
-          .collect(toList());
         batchVoucher.setTotalRecords(batchedVouchers.size());
         batchVoucher.withBatchedVouchers(batchedVouchers);
         batchVoucher.setCreated(new Date());
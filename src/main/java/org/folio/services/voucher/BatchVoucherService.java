@@ -6,9 +6,16 @@ import static org.folio.invoices.utils.ResourcePathResolver.BATCH_VOUCHER_STORAG
 import static org.folio.invoices.utils.ResourcePathResolver.resourceByIdPath;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+
 import javax.xml.stream.XMLStreamException;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.vertx.core.Future;
+import io.vertx.core.WorkerExecutor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.converters.BatchVoucherModelConverter;
@@ -27,12 +34,20 @@ public class BatchVoucherService {
   private static final Logger log = LogManager.getLogger();
   private static final String HEADER_ERROR_MSG = "Accept header must be [\"application/xml\",\"application/json\"]";
   private static final String MARSHAL_ERROR_MSG = "Internal server error. Can't marshal response to XML. Error message: ";
+  private static final ObjectWriter JSON_WRITER = ObjectMapperTool.getMapper().writer()
+    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   private final XMLConverter xmlConverter;
   private final BatchVoucherModelConverter batchVoucherModelConverter;
   private final RestClient restClient;
+  private final WorkerExecutor conversionExecutor;
 
-  public BatchVoucherService(RestClient restClient) {
+  /**
+   * @param conversionExecutor size-limited worker pool for conversions of batch vouchers,
+   *                           so large exports neither block the event loop nor take all the default worker threads
+   */
+  public BatchVoucherService(RestClient restClient, WorkerExecutor conversionExecutor) {
     this.restClient = restClient;
+    this.conversionExecutor = conversionExecutor;
     this.xmlConverter = XMLConverter.getInstance();
     this.batchVoucherModelConverter = BatchVoucherModelConverter.getInstance();
   }
@@ -42,6 +57,20 @@ public class BatchVoucherService {
     return restClient.get(endpoint, BatchVoucher.class, requestContext);
   }
 
+  /**
+   * Converts the batch voucher to the requested format on the conversion worker pool
+   */
+  public Future<String> convertBatchVoucherAsync(BatchVoucher batchVoucher, String contentType) {
+    return executeConversion(() -> convertBatchVoucher(batchVoucher, contentType));
+  }
+
+  /**
+   * Runs blocking work with the batch voucher content, e.g. {@link #writeBatchVoucher}, on the conversion worker pool
+   */
+  public <T> Future<T> executeConversion(Callable<T> conversion) {
+    return conversionExecutor.executeBlocking(conversion, false);
+  }
+
   public String convertBatchVoucher(BatchVoucher batchVoucher, String contentType) {
     if (contentType.equalsIgnoreCase(APPLICATION_JSON)){
       return ObjectMapperTool.valueAsString(batchVoucher);
@@ -59,6 +88,29 @@ public class BatchVoucherService {
     throw new HttpException(400, HEADER_ERROR_MSG);
   }
 
+  /**
+   * Writes the batch voucher in the requested format directly to the output stream. XML batched vouchers are converted
+   * one by one while marshalling, so the export does not hold the whole document in memory. The stream is not closed.
+   */
+  public void writeBatchVoucher(BatchVoucher batchVoucher, String contentType, OutputStream outputStream) throws IOException {
+    if (contentType.equalsIgnoreCase(APPLICATION_JSON)) {
+      JSON_WRITER.writeValue(outputStream, batchVoucher);
+      return;
+    }
+    if (contentType.equalsIgnoreCase(APPLICATION_XML)) {
+      BatchVoucherType xmlBatchVoucher = batchVoucherModelConverter.convertLazily(batchVoucher);
+      try {
+        xmlConverter.marshal(BatchVoucherType.class, xmlBatchVoucher, null, true, outputStream);
+        return;
+      } catch (XMLStreamException e) {
+        log.error("Internal server error. Can't marshal batch voucher to XML. batchVoucherId: {}, contentType: {}, Error message: {}", batchVoucher.getId(), contentType, e.getMessage());
+        throw new HttpException(400, MARSHAL_ERROR_MSG + e.getMessage());
+      }
+    }
+    log.error("Accept header must be [\"application/xml\",\"application/json\"]. batchVoucherId: {}, contentType: {}", batchVoucher.getId(), contentType);
+    throw new HttpException(400, HEADER_ERROR_MSG);
+  }
+
   public Future<BatchVoucher> createBatchVoucher(BatchVoucher batchVoucher, RequestContext requestContext) {
     return restClient.post(resourcesPath(BATCH_VOUCHER_STORAGE), batchVoucher, BatchVoucher.class, requestContext);
   }
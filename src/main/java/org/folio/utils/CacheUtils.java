@@ -2,6 +2,7 @@ package org.folio.utils;
 
 import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.vertx.core.Context;
 import io.vertx.core.Vertx;
 import lombok.experimental.UtilityClass;
@@ -20,10 +21,29 @@ public class CacheUtils {
     return buildAsyncCache(task -> context.runOnContext(v -> task.run()), cacheExpirationTime);
   }
 
+  public static <K, V> AsyncCache<K, V> buildAsyncCache(Context context, long cacheExpirationTime, long maximumSize) {
+    return Caffeine.newBuilder()
+      .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
+      .maximumSize(maximumSize)
+      .executor(task -> context.runOnContext(v -> task.run()))
+      .recordStats()
+      .buildAsync();
+  }
+
+  public static <K, V> AsyncCache<K, V> buildAsyncCache(Context context, Expiry<K, V> expiry, long maximumSize) {
+    return Caffeine.newBuilder()
+      .expireAfter(expiry)
+      .maximumSize(maximumSize)
+      .executor(task -> context.runOnContext(v -> task.run()))
+      .recordStats()
+      .buildAsync();
+  }
+
   private static <K, V> AsyncCache<K, V> buildAsyncCache(Executor executor, long cacheExpirationTime) {
     return Caffeine.newBuilder()
       .expireAfterWrite(cacheExpirationTime, TimeUnit.SECONDS)
       .executor(executor)
+      .recordStats()
       .buildAsync();
   }
 }
@@ -10,6 +10,7 @@ import org.folio.kafka.KafkaConfig;
 import org.folio.kafka.KafkaConsumerWrapper;
 import org.folio.kafka.KafkaTopicNameHelper;
 import org.folio.kafka.SubscriptionDefinition;
+import org.folio.metrics.MeteredRecordHandler;
 import org.folio.processing.events.EventManager;
 import org.folio.processing.events.utils.PomReaderUtil;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -69,7 +70,7 @@ public class DataImportConsumerVerticle extends AbstractVerticle {
       .groupInstanceId(getClass().getSimpleName() + "-" + UUID.randomUUID())
       .build();
 
-    consumerWrapper.start(dataImportKafkaHandler, PomReaderUtil.INSTANCE.constructModuleVersionAndVersion(PomReaderUtil.INSTANCE.getModuleName(), PomReaderUtil.INSTANCE.getVersion()))
+    consumerWrapper.start(new MeteredRecordHandler<>(dataImportKafkaHandler), PomReaderUtil.INSTANCE.constructModuleVersionAndVersion(PomReaderUtil.INSTANCE.getModuleName(), PomReaderUtil.INSTANCE.getVersion()))
       .onComplete(startPromise);
   }
 
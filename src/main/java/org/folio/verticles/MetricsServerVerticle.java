@@ -0,0 +1,57 @@
+package org.folio.verticles;
+
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+import org.folio.metrics.ModuleMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Promise;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Serves Prometheus scrape endpoint {@code GET /admin/metrics} on a dedicated port,
+ * so metrics are available without going through Okapi.
+ */
+@Log4j2
+@Component
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+public class MetricsServerVerticle extends AbstractVerticle {
+
+  private static final String METRICS_PATH = "/admin/metrics";
+  private static final String PROMETHEUS_CONTENT_TYPE = TEXT_PLAIN + "; version=0.0.4; charset=utf-8";
+
+  @Value("${mod.invoice.metrics.port:0}")
+  private int port;
+
+  private HttpServer server;
+
+  @Override
+  public void start(Promise<Void> startPromise) {
+    server = vertx.createHttpServer();
+    server.requestHandler(request -> {
+        if (request.method() == HttpMethod.GET && METRICS_PATH.equals(request.path())) {
+          request.response()
+            .putHeader(HttpHeaders.CONTENT_TYPE, PROMETHEUS_CONTENT_TYPE)
+            .end(ModuleMetrics.scrape());
+        } else {
+          request.response().setStatusCode(404).end();
+        }
+      })
+      .listen(port)
+      .onSuccess(s -> log.info("start:: Metrics are available on port {} at {}", s.actualPort(), METRICS_PATH))
+      .<Void>mapEmpty()
+      .onComplete(startPromise);
+  }
+
+  @Override
+  public void stop(Promise<Void> stopPromise) {
+    server.close().onComplete(stopPromise);
+  }
+}
@@ -33,12 +33,21 @@ import org.folio.dao.EntityIdStorageDaoImplTest;
 import org.folio.dataimport.cache.JobProfileSnapshotCacheTest;
 import org.folio.dataimport.handlers.events.DataImportKafkaHandlerTest;
 import org.folio.dataimport.handlers.actions.CreateInvoiceEventHandlerTest;
+import org.folio.invoices.util.FixedPointAmountTest;
 import org.folio.invoices.util.HelperUtilsTest;
 import org.folio.jaxb.DefaultJAXBRootElementNameResolverTest;
+import org.folio.metrics.ModuleMetricsTest;
 import org.folio.services.invoice.InvoiceLineServiceTest;
 import org.folio.services.validator.InvoiceValidatorTest;
+import org.folio.rest.core.HttpClientPoolConfigTest;
+import org.folio.rest.core.InFlightRequestsTest;
+import org.folio.rest.core.PagedReaderTest;
 import org.folio.rest.core.WebClientProviderTest;
+import org.folio.services.voucher.BatchVoucherArtifactCacheTest;
+import org.folio.services.voucher.BatchVoucherExportSchedulerTest;
+import org.folio.services.voucher.BatchVoucherServiceTest;
 import org.folio.utils.InvoiceLineUtilsTest;
+import org.folio.jaxb.JAXBContextWrapperTest;
 import org.folio.jaxb.JAXBUtilTest;
 import org.folio.jaxb.XMLConverterTest;
 import org.folio.rest.RestVerticle;
@@ -48,6 +57,7 @@ import org.folio.rest.impl.BatchVoucherExportConfigTest;
 import org.folio.rest.impl.BatchVoucherExportsApiTest;
 import org.folio.rest.impl.BatchVoucherImplTest;
 import org.folio.rest.impl.DocumentsApiTest;
+import org.folio.rest.impl.InvoiceFinanceCacheApiTest;
 import org.folio.rest.impl.InvoiceLinesApiTest;
 import org.folio.rest.impl.InvoiceLinesProratedAdjustmentsTest;
 import org.folio.rest.impl.InvoicesApiTest;
@@ -62,6 +72,7 @@ import org.folio.schemas.xsd.BatchVoucherSchemaXSDTest;
 import org.folio.services.InvoiceLinesRetrieveServiceTest;
 import org.folio.services.InvoiceRetrieveServiceTest;
 import org.folio.services.VoucherLineServiceTest;
+import org.folio.services.caches.FinanceReferenceDataCacheTest;
 import org.folio.services.exchange.CacheableExchangeRateServiceTest;
 import org.folio.services.exchange.ManualCurrencyConversionTest;
 import org.folio.services.finance.CurrentFiscalYearServiceTest;
@@ -72,9 +83,12 @@ import org.folio.services.finance.expense.ExpenseClassRetrieveServiceTest;
 import org.folio.services.finance.transaction.BaseTransactionServiceTest;
 import org.folio.services.finance.transaction.EncumbranceServiceTest;
 import org.folio.services.finance.transaction.PendingPaymentWorkflowServiceTest;
+import org.folio.services.ftp.ConnectionPoolConfigTest;
 import org.folio.services.ftp.FTPVertxCommandLoggerTest;
 import org.folio.services.ftp.FtpUploadServiceTest;
+import org.folio.services.ftp.KeyedConnectionPoolTest;
 import org.folio.services.ftp.SftpUploadServiceTest;
+import org.folio.services.ftp.UploadCompressionTest;
 import org.folio.services.invoice.InvoiceCancelServiceTest;
 import org.folio.services.invoice.InvoiceFiscalYearsServiceTest;
 import org.folio.services.invoice.InvoiceIdStorageServiceTest;
@@ -105,6 +119,7 @@ public class ApiTestSuite {
   private static final String KAFKA_PORT = "KAFKA_PORT";
   private static final String KAFKA_ENV = "ENV";
   private static final String OKAPI_URL_KEY = "OKAPI_URL";
+  private static final String FINANCE_CACHE_BYPASS_KEY = "mod.invoice.cache.finance-entries.bypass-cache";
 
   private static final DockerImageName KAFKA_IMAGE_NAME = DockerImageName.parse("apache/kafka-native:4.2.0");
   private static final KafkaContainer kafkaContainer = new KafkaContainer(KAFKA_IMAGE_NAME).withStartupAttempts(20);
@@ -130,6 +145,8 @@ public class ApiTestSuite {
     System.setProperty(KAFKA_PORT, kafkaContainer.getFirstMappedPort().toString());
     System.setProperty(KAFKA_ENV, KAFKA_ENV_VALUE);
     System.setProperty(OKAPI_URL_KEY, "http://localhost:" + mockPort);
+    // mock data for the same finance records differs between tests, InvoiceFinanceCacheApiTest enables the cache for its own data
+    System.setProperty(FINANCE_CACHE_BYPASS_KEY, "true");
 
     final JsonObject conf = new JsonObject();
     conf.put("http.port", okapiPort);
@@ -209,6 +226,10 @@ public class ApiTestSuite {
   class InvoiceLinesApiTestNested extends InvoiceLinesApiTest {
   }
 
+  @Nested
+  class InvoiceFinanceCacheApiTestNested extends InvoiceFinanceCacheApiTest {
+  }
+
   @Nested
   class VouchersApiTestNested extends VouchersApiTest {
   }
@@ -434,4 +455,43 @@ public class ApiTestSuite {
 
   @Nested
   class WebClientProviderTestNested extends WebClientProviderTest {}
+
+  @Nested
+  class PagedReaderTestNested extends PagedReaderTest {}
+
+  @Nested
+  class FinanceReferenceDataCacheTestNested extends FinanceReferenceDataCacheTest {}
+
+  @Nested
+  class InFlightRequestsTestNested extends InFlightRequestsTest {}
+
+  @Nested
+  class HttpClientPoolConfigTestNested extends HttpClientPoolConfigTest {}
+
+  @Nested
+  class ModuleMetricsTestNested extends ModuleMetricsTest {}
+
+  @Nested
+  class FixedPointAmountTestNested extends FixedPointAmountTest {}
+
+  @Nested
+  class JAXBContextWrapperTestNested extends JAXBContextWrapperTest {}
+
+  @Nested
+  class KeyedConnectionPoolTestNested extends KeyedConnectionPoolTest {}
+
+  @Nested
+  class ConnectionPoolConfigTestNested extends ConnectionPoolConfigTest {}
+
+  @Nested
+  class UploadCompressionTestNested extends UploadCompressionTest {}
+
+  @Nested
+  class BatchVoucherExportSchedulerTestNested extends BatchVoucherExportSchedulerTest {}
+
+  @Nested
+  class BatchVoucherArtifactCacheTestNested extends BatchVoucherArtifactCacheTest {}
+
+  @Nested
+  class BatchVoucherServiceTestNested extends BatchVoucherServiceTest {}
 }
@@ -1,9 +1,12 @@
 package org.folio.builders;
 
 import io.vertx.core.Context;
+import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
 import org.folio.InvoiceWorkflowDataHolderBuilder;
+import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.models.InvoiceWorkflowDataHolder;
+import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.FiscalYear;
 import org.folio.rest.acq.model.finance.Fund;
 import org.folio.rest.acq.model.finance.FundCollection;
@@ -37,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static io.vertx.core.Future.failedFuture;
 import static io.vertx.core.Future.succeededFuture;
 import static java.util.stream.Collectors.toList;
 import static org.folio.ApiTestSuite.mockPort;
@@ -47,8 +51,15 @@ import static org.folio.rest.impl.ApiTestBase.X_OKAPI_USER_ID;
 import static org.folio.rest.impl.ApiTestBase.getMockData;
 import static org.folio.services.finance.transaction.BaseTransactionServiceTest.X_OKAPI_TENANT;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class InvoiceWorkFlowDataHolderBuilderTest {
 
@@ -216,4 +227,79 @@ public class InvoiceWorkFlowDataHolderBuilderTest {
     Assertions.assertEquals(fund1, result.get(0).getFund());
     Assertions.assertEquals(fund2, result.get(1).getFund());
   }
+
+  @Test
+  void buildCompleteHolders_shouldRunIndependentStagesConcurrently() {
+    var fiscalYearService = mock(FiscalYearService.class);
+    var fundService = mock(FundService.class);
+    var baseTransactionService = mock(BaseTransactionService.class);
+    var budgetService = mock(BudgetService.class);
+    var expenseClassRetrieveService = mock(ExpenseClassRetrieveService.class);
+    var builder = new InvoiceWorkflowDataHolderBuilder(fiscalYearService, fundService, baseTransactionService,
+      budgetService, expenseClassRetrieveService, mock(CacheableExchangeRateService.class));
+    String fundId = UUID.randomUUID().toString();
+    String fiscalYearId = UUID.randomUUID().toString();
+    Promise<List<Fund>> funds = Promise.promise();
+    Promise<List<Budget>> budgets = Promise.promise();
+    doReturn(funds.future()).when(fundService).getFunds(anyCollection(), any(RequestContext.class));
+    doReturn(budgets.future()).when(budgetService)
+      .getBudgetsByFundIds(anyCollection(), anyCollection(), any(), anyBoolean(), anyBoolean(), any(RequestContext.class));
+    doReturn(succeededFuture(List.of())).when(baseTransactionService).getTransactionsByIds(anyList(), any(RequestContext.class));
+    doReturn(succeededFuture(List.of())).when(expenseClassRetrieveService).getExpenseClasses(anyList(), any(RequestContext.class));
+    doReturn(failedFuture(new HttpException(404, "Fiscal year not found")))
+      .when(fiscalYearService).getFiscalYear(eq(fiscalYearId), any(RequestContext.class));
+
+    var result = builder.buildCompleteHolders(buildInvoice().withFiscalYearId(fiscalYearId), List.of(buildInvoiceLine(fundId)), false,
+      new RequestContext(ctxMock, okapiHeaders));
+
+    verify(baseTransactionService).getTransactionsByIds(anyList(), any(RequestContext.class));
+    verify(expenseClassRetrieveService).getExpenseClasses(anyList(), any(RequestContext.class));
+    budgets.complete(List.of(new Budget().withFundId(fundId).withFiscalYearId(fiscalYearId)));
+    verify(fiscalYearService, never()).getFiscalYear(anyString(), any(RequestContext.class));
+
+    funds.complete(List.of(new Fund().withId(fundId).withCode("HIST")));
+    verify(fiscalYearService).getFiscalYear(eq(fiscalYearId), any(RequestContext.class));
+    Assertions.assertTrue(result.failed());
+    Assertions.assertEquals("Fiscal year not found", result.cause().getMessage());
+  }
+
+  @Test
+  void buildCompleteHolders_shouldReturnErrorOfFirstFailedStage() {
+    var fundService = mock(FundService.class);
+    var budgetService = mock(BudgetService.class);
+    var builder = new InvoiceWorkflowDataHolderBuilder(mock(FiscalYearService.class), fundService,
+      mock(BaseTransactionService.class), budgetService, mock(ExpenseClassRetrieveService.class),
+      mock(CacheableExchangeRateService.class));
+    Promise<List<Fund>> funds = Promise.promise();
+    doReturn(funds.future()).when(fundService).getFunds(anyCollection(), any(RequestContext.class));
+    doReturn(failedFuture(new HttpException(404, "Budget not found"))).when(budgetService)
+      .getBudgetsByFundIds(anyCollection(), anyCollection(), any(), anyBoolean(), anyBoolean(), any(RequestContext.class));
+
+    var result = builder.buildCompleteHolders(buildInvoice().withFiscalYearId(UUID.randomUUID().toString()),
+      List.of(buildInvoiceLine(UUID.randomUUID().toString())), true,
+      new RequestContext(ctxMock, okapiHeaders));
+
+    Assertions.assertFalse(result.isComplete());
+    funds.fail(new HttpException(404, "Fund not found"));
+    Assertions.assertTrue(result.failed());
+    Assertions.assertEquals("Fund not found", result.cause().getMessage());
+  }
+
+  private Invoice buildInvoice() {
+    return new Invoice()
+      .withId(UUID.randomUUID().toString())
+      .withAdjustments(Collections.emptyList());
+  }
+
+  private InvoiceLine buildInvoiceLine(String fundId) {
+    FundDistribution fundDistribution = new FundDistribution()
+      .withFundId(fundId)
+      .withEncumbrance(UUID.randomUUID().toString())
+      .withExpenseClassId(UUID.randomUUID().toString())
+      .withDistributionType(FundDistribution.DistributionType.PERCENTAGE)
+      .withValue(100d);
+    return new InvoiceLine()
+      .withId(UUID.randomUUID().toString())
+      .withFundDistributions(List.of(fundDistribution));
+  }
 }
@@ -0,0 +1,224 @@
+package org.folio.invoices.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.money.CurrencyUnit;
+import javax.money.Monetary;
+import javax.money.MonetaryAmount;
+
+import org.folio.invoices.utils.FixedPointAmount;
+import org.folio.invoices.utils.HelperUtils;
+import org.folio.rest.jaxrs.model.Adjustment;
+import org.folio.rest.jaxrs.model.Invoice;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+import org.folio.rest.jaxrs.model.Voucher;
+import org.folio.rest.jaxrs.model.VoucherLine;
+import org.folio.services.adjusment.AdjustmentsService;
+import org.folio.services.invoice.BaseInvoiceService;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.function.MonetaryFunctions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the fixed point totals with the Moneta calculation on randomly generated invoices.
+ * The Moneta calculation below is the implementation used before the fixed point one was introduced.
+ */
+public class FixedPointAmountTest {
+
+  private static final long SEED = 20241017L;
+  private static final int ITERATIONS = 5000;
+  private static final List<String> CURRENCIES = List.of("USD", "EUR", "JPY", "BHD", "CLF");
+
+  private final AdjustmentsService adjustmentsService = new AdjustmentsService();
+
+  @Test
+  void shouldRoundHalfEven() {
+    assertEquals("0.12", FixedPointAmount.of(0.125d).round(2).toString());
+    assertEquals("0.14", FixedPointAmount.of(0.135d).round(2).toString());
+    assertEquals("-0.12", FixedPointAmount.of(-0.125d).round(2).toString());
+    assertEquals("-0.13", FixedPointAmount.of(-0.1251d).round(2).toString());
+    assertEquals("2", FixedPointAmount.of(2.5d).round(0).toString());
+    assertEquals("1.5", FixedPointAmount.of(1.5d).round(2).toString());
+  }
+
+  @Test
+  void shouldTakeShortestDecimalRepresentationOfDouble() {
+    assertEquals("0.1", FixedPointAmount.of(0.1d).toString());
+    assertEquals("123456.789", FixedPointAmount.of(123456.789d).toString());
+    assertEquals("0", FixedPointAmount.of(-0.0d).toString());
+  }
+
+  @Test
+  void shouldBeInexactWhenValueCanNotBeRepresented() {
+    assertFalse(FixedPointAmount.of(null).isExact());
+    assertFalse(FixedPointAmount.of(Double.NaN).isExact());
+    assertFalse(FixedPointAmount.of(Double.POSITIVE_INFINITY).isExact());
+    assertFalse(FixedPointAmount.of(0.1d + 0.2d).isExact());
+    assertFalse(FixedPointAmount.of(1e20d).isExact());
+    assertFalse(FixedPointAmount.of(123456789012.34d).percent(FixedPointAmount.of(12345.6789d)).isExact());
+    assertFalse(FixedPointAmount.of(0.1d + 0.2d).add(FixedPointAmount.of(1d)).isExact());
+  }
+
+  @Test
+  void shouldCalculatePercentExactly() {
+    FixedPointAmount percent = FixedPointAmount.of(100.01d).percent(FixedPointAmount.of(7.5d));
+    assertTrue(percent.isExact());
+    assertEquals(new BigDecimal("7.50075"), new BigDecimal(percent.toString()));
+  }
+
+  @Test
+  void shouldCalculateInvoiceLineTotalsSameAsMoneta() {
+    Random random = new Random(SEED);
+    for (int i = 0; i < ITERATIONS; i++) {
+      Invoice invoice = new Invoice().withCurrency(randomCurrency(random));
+      InvoiceLine line = randomLine(random);
+
+      double[] expected = calculateInvoiceLineTotalsWithMoneta(line, invoice);
+      HelperUtils.calculateInvoiceLineTotals(line, invoice);
+
+      assertSameDouble(expected[0], line.getAdjustmentsTotal(), line);
+      assertSameDouble(expected[1], line.getTotal(), line);
+    }
+  }
+
+  @Test
+  void shouldCalculateInvoiceTotalsSameAsMoneta() {
+    Random random = new Random(SEED);
+    BaseInvoiceService invoiceService = new BaseInvoiceService(null, null, null);
+    for (int i = 0; i < ITERATIONS; i++) {
+      Invoice invoice = new Invoice()
+        .withCurrency(randomCurrency(random))
+        .withAdjustments(randomAdjustments(random, true));
+      List<InvoiceLine> lines = new ArrayList<>();
+      int lineCount = random.nextInt(6);
+      for (int j = 0; j < lineCount; j++) {
+        InvoiceLine line = randomLine(random);
+        HelperUtils.calculateInvoiceLineTotals(line, invoice);
+        lines.add(line);
+      }
+
+      double[] expected = calculateTotalsWithMoneta(invoice, lines);
+      invoiceService.calculateTotals(invoice, lines);
+
+      assertSameDouble(expected[0], invoice.getTotal(), invoice);
+      assertSameDouble(expected[1], invoice.getAdjustmentsTotal(), invoice);
+      assertSameDouble(expected[2], invoice.getSubTotal(), invoice);
+    }
+  }
+
+  @Test
+  void shouldCalculateVoucherAmountSameAsMoneta() {
+    Random random = new Random(SEED);
+    for (int i = 0; i < ITERATIONS; i++) {
+      Voucher voucher = new Voucher().withSystemCurrency(randomCurrency(random));
+      List<VoucherLine> voucherLines = new ArrayList<>();
+      int lineCount = random.nextInt(10);
+      for (int j = 0; j < lineCount; j++) {
+        voucherLines.add(new VoucherLine().withAmount(randomAmount(random)));
+      }
+
+      CurrencyUnit currency = Monetary.getCurrency(voucher.getSystemCurrency());
+      MonetaryAmount expected = voucherLines.stream()
+        .map(line -> Money.of(line.getAmount(), currency))
+        .collect(MonetaryFunctions.summarizingMonetary(currency))
+        .getSum();
+
+      assertSameDouble(HelperUtils.convertToDoubleWithRounding(expected), HelperUtils.calculateVoucherAmount(voucher, voucherLines),
+        voucherLines);
+    }
+  }
+
+  private double[] calculateInvoiceLineTotalsWithMoneta(InvoiceLine invoiceLine, Invoice invoice) {
+    CurrencyUnit currencyUnit = Monetary.getCurrency(invoice.getCurrency());
+    BigDecimal invoiceLineSubTotal = BigDecimal.valueOf(invoiceLine.getSubTotal()).setScale(2, RoundingMode.HALF_EVEN);
+    MonetaryAmount subTotal = Money.of(invoiceLineSubTotal, currencyUnit);
+
+    MonetaryAmount adjustmentTotals = HelperUtils.calculateAdjustmentsTotal(invoiceLine.getAdjustments(), subTotal);
+    MonetaryAmount total = adjustmentTotals.add(subTotal);
+    return new double[] {HelperUtils.convertToDoubleWithRounding(adjustmentTotals), HelperUtils.convertToDoubleWithRounding(total)};
+  }
+
+  private double[] calculateTotalsWithMoneta(Invoice invoice, List<InvoiceLine> lines) {
+    CurrencyUnit currency = Monetary.getCurrency(invoice.getCurrency());
+    MonetaryAmount subTotal = HelperUtils.summarizeSubTotals(lines, currency, false);
+    MonetaryAmount adjustmentsTotal;
+    if (lines.isEmpty()) {
+      List<Adjustment> proratedAdjustments = new ArrayList<>(adjustmentsService.getProratedAdjustments(invoice));
+      proratedAdjustments.addAll(adjustmentsService.getNotProratedAdjustments(invoice));
+      adjustmentsTotal = HelperUtils.calculateAdjustmentsTotal(proratedAdjustments, subTotal);
+    } else {
+      adjustmentsTotal = HelperUtils.calculateAdjustmentsTotal(adjustmentsService.getNotProratedAdjustments(invoice), subTotal)
+        .add(lines.stream()
+          .map(line -> Money.of(line.getAdjustmentsTotal(), currency))
+          .collect(MonetaryFunctions.summarizingMonetary(currency))
+          .getSum());
+    }
+    return new double[] {HelperUtils.convertToDoubleWithRounding(subTotal.add(adjustmentsTotal)),
+      HelperUtils.convertToDoubleWithRounding(adjustmentsTotal), HelperUtils.convertToDoubleWithRounding(subTotal)};
+  }
+
+  private static void assertSameDouble(double expected, double actual, Object source) {
+    assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual),
+      () -> "Expected " + expected + " but was " + actual + " for " + source);
+  }
+
+  private static String randomCurrency(Random random) {
+    return CURRENCIES.get(random.nextInt(CURRENCIES.size()));
+  }
+
+  private static InvoiceLine randomLine(Random random) {
+    return new InvoiceLine()
+      .withSubTotal(randomAmount(random))
+      .withAdjustments(randomAdjustments(random, false));
+  }
+
+  private static List<Adjustment> randomAdjustments(Random random, boolean invoiceLevel) {
+    List<Adjustment> adjustments = new ArrayList<>();
+    int count = random.nextInt(4);
+    for (int i = 0; i < count; i++) {
+      boolean percentage = random.nextBoolean();
+      Adjustment.Prorate prorate = invoiceLevel
+        ? Adjustment.Prorate.values()[random.nextInt(Adjustment.Prorate.values().length)]
+        : Adjustment.Prorate.NOT_PRORATED;
+      adjustments.add(new Adjustment()
+        .withProrate(prorate)
+        .withRelationToTotal(random.nextInt(4) == 0 ? Adjustment.RelationToTotal.INCLUDED_IN : Adjustment.RelationToTotal.IN_ADDITION_TO)
+        .withType(percentage ? Adjustment.Type.PERCENTAGE : Adjustment.Type.AMOUNT)
+        .withValue(percentage ? randomPercent(random) : randomAmount(random)));
+    }
+    return adjustments;
+  }
+
+  /**
+   * Mostly amounts in cents, but also values with more fraction digits, halves for rounding, large values
+   * and doubles with all 17 digits which require the Moneta fallback
+   */
+  private static double randomAmount(Random random) {
+    return switch (random.nextInt(8)) {
+      case 0 -> 0d;
+      case 1 -> random.nextInt(2_000_000) / 1000d - 1000;
+      case 2 -> random.nextInt(200_000) / 10_000d - 10;
+      case 3 -> (random.nextInt(20_000) * 10 + 5) / 1000d;
+      case 4 -> random.nextLong(1_000_000_000_000_000L) / 100_000d;
+      case 5 -> random.nextDouble() * 1000;
+      default -> random.nextInt(20_000_000) / 100d - 100_000;
+    };
+  }
+
+  private static double randomPercent(Random random) {
+    return switch (random.nextInt(5)) {
+      case 0 -> random.nextInt(100);
+      case 1 -> random.nextInt(20_000) / 1000d - 10;
+      case 2 -> random.nextDouble() * 100;
+      default -> random.nextInt(10_000) / 100d;
+    };
+  }
+}
@@ -0,0 +1,69 @@
+package org.folio.jaxb;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.folio.rest.jaxrs.model.jaxb.BatchVoucherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+public class JAXBContextWrapperTest {
+
+  private JAXBContextWrapper jaxbContextWrapper;
+
+  @BeforeEach
+  void setUp() throws JAXBException, SAXException {
+    jaxbContextWrapper = new JAXBContextWrapper(new Class<?>[] { BatchVoucherType.class }, new String[] { "batch_voucher.xsd" });
+  }
+
+  @Test
+  void shouldReuseMarshallerWithinThread() throws JAXBException {
+    Marshaller validating = jaxbContextWrapper.getMarshaller(true);
+    Marshaller notValidating = jaxbContextWrapper.getMarshaller(false);
+
+    assertSame(validating, jaxbContextWrapper.getMarshaller(true));
+    assertSame(notValidating, jaxbContextWrapper.getMarshaller(false));
+    assertNotSame(validating, notValidating);
+    assertNotNull(validating.getSchema());
+    assertNull(notValidating.getSchema());
+  }
+
+  @Test
+  void shouldNotShareMarshallerBetweenThreads() throws Exception {
+    Marshaller marshaller = jaxbContextWrapper.getMarshaller(true);
+    Marshaller otherThreadMarshaller = CompletableFuture.supplyAsync(() -> {
+      try {
+        return jaxbContextWrapper.getMarshaller(true);
+      } catch (JAXBException e) {
+        throw new IllegalStateException(e);
+      }
+    }).get();
+
+    assertNotSame(marshaller, otherThreadMarshaller);
+  }
+
+  @Test
+  void shouldCreateNewMarshallerAfterEviction() throws JAXBException {
+    Marshaller marshaller = jaxbContextWrapper.getMarshaller(true);
+    jaxbContextWrapper.evictMarshaller(true);
+
+    assertNotSame(marshaller, jaxbContextWrapper.getMarshaller(true));
+  }
+
+  @Test
+  void shouldReuseUnmarshallerWithinThread() throws JAXBException {
+    var unmarshaller = jaxbContextWrapper.getUnmarshaller(true);
+
+    assertSame(unmarshaller, jaxbContextWrapper.getUnmarshaller(true));
+    jaxbContextWrapper.evictUnmarshaller(true);
+    assertNotSame(unmarshaller, jaxbContextWrapper.getUnmarshaller(true));
+  }
+}
@@ -2,7 +2,9 @@ package org.folio.jaxb;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -11,14 +13,20 @@ import java.util.Map;
 
 import javax.xml.stream.XMLStreamException;
 
+import org.folio.converters.BatchVoucherModelConverter;
+import org.folio.converters.BatchVoucherModelConverterTest;
 import org.folio.rest.jaxrs.model.BatchVoucher;
 import org.folio.rest.jaxrs.model.jaxb.BatchVoucherType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import io.vertx.core.json.JsonObject;
+
 public class XMLConverterTest {
   private static final Path XML_BATCH_VOUCHER_EXAMPLES_PATH = Paths.get("ramls/examples", "batch_voucher_sample.xml")
     .toAbsolutePath();
+  private static final Path JSON_BATCH_VOUCHER_PATH = Paths.get(BatchVoucherModelConverterTest.RESOURCES_PATH,
+    BatchVoucherModelConverterTest.VALID_BATCH_VOUCHER_JSON).toAbsolutePath();
 
   XMLConverter xmlConverter = XMLConverter.getInstance();
 
@@ -31,6 +39,19 @@ public class XMLConverterTest {
     assertEquals(unmarshaledBatchVoucherExp, unmarshaledBatchVoucherAct);
   }
 
+  @Test
+  public void shouldStreamLazilyConvertedBatchVoucherSameAsString() throws IOException, XMLStreamException {
+    String contents = new String(Files.readAllBytes(JSON_BATCH_VOUCHER_PATH));
+    BatchVoucher batchVoucher = new JsonObject(contents).mapTo(BatchVoucher.class);
+    BatchVoucherModelConverter converter = BatchVoucherModelConverter.getInstance();
+
+    String expected = xmlConverter.marshal(BatchVoucherType.class, converter.convert(batchVoucher), null, true);
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    xmlConverter.marshal(BatchVoucherType.class, converter.convertLazily(batchVoucher), null, true, outputStream);
+
+    assertEquals(expected, outputStream.toString(StandardCharsets.UTF_8));
+  }
+
   @Test
   public void shouldThrowExceptiondIfMarshalWithValidation() throws IOException {
     String content = new String(Files.readAllBytes(XML_BATCH_VOUCHER_EXAMPLES_PATH));
@@ -40,6 +61,19 @@ public class XMLConverterTest {
         () -> xmlConverter.marshal(BatchVoucherType.class, unmarshaledBatchVoucherExp, null, true));
   }
 
+  @Test
+  public void shouldMarshalWithValidationAfterFailedValidation() throws IOException, XMLStreamException {
+    String content = new String(Files.readAllBytes(XML_BATCH_VOUCHER_EXAMPLES_PATH));
+    BatchVoucherType invalidBatchVoucher = xmlConverter.unmarshal(BatchVoucherType.class, content, false);
+    invalidBatchVoucher.setBatchedVouchers(null);
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> xmlConverter.marshal(BatchVoucherType.class, invalidBatchVoucher, null, true));
+
+    BatchVoucherType validBatchVoucher = xmlConverter.unmarshal(BatchVoucherType.class, content, true);
+    String marshaledBatchVoucher = xmlConverter.marshal(BatchVoucherType.class, validBatchVoucher, null, true);
+    assertEquals(validBatchVoucher, xmlConverter.unmarshal(BatchVoucherType.class, marshaledBatchVoucher, true));
+  }
+
   @Test
   public void shouldThrowExceptiondIfMarshalUnsuportedTypes() {
     var bv = new BatchVoucher();
@@ -0,0 +1,80 @@
+package org.folio.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.folio.rest.core.HttpClientPoolStats;
+import org.folio.services.voucher.BatchVoucherExportScheduler;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+public class ModuleMetricsTest {
+
+  @Test
+  void shouldNormalizeEndpoint() {
+    var id = UUID.randomUUID().toString();
+
+    assertEquals("/finance/funds/{id}", ModuleMetrics.normalizeEndpoint("http://okapi:9130/finance/funds/" + id + "?lang=en"));
+    assertEquals("/invoice-storage/invoice-lines",
+      ModuleMetrics.normalizeEndpoint("http://okapi:9130/invoice-storage/invoice-lines?query=invoiceId==" + id));
+    assertEquals("/", ModuleMetrics.normalizeEndpoint("http://okapi:9130"));
+  }
+
+  @Test
+  void shouldRecordOutboundCallErrors() {
+    ModuleMetrics.recordOutboundCall("GET", "http://okapi:9130/metrics-test/records/" + UUID.randomUUID(), 404, System.nanoTime());
+
+    var timer = ModuleMetrics.getRegistry().find("mod_invoice.outbound.requests").tag("endpoint", "/metrics-test/records/{id}").timer();
+    var errors = ModuleMetrics.getRegistry().find("mod_invoice.outbound.errors").tag("endpoint", "/metrics-test/records/{id}").counter();
+    assertNotNull(timer);
+    assertNotNull(errors);
+    assertTrue(errors.count() >= 1);
+  }
+
+  @Test
+  void shouldTimeFailedStage() {
+    Future<Void> future = ModuleMetrics.timeStage("metrics-test", "failing", () -> {
+      throw new IllegalStateException("failed");
+    });
+
+    assertTrue(future.failed());
+    var timer = ModuleMetrics.getRegistry().find("mod_invoice.workflow.stage")
+      .tags("workflow", "metrics-test", "stage", "failing", "outcome", "failure").timer();
+    assertNotNull(timer);
+    assertTrue(timer.count() >= 1);
+  }
+
+  @Test
+  void shouldCountRejectedExports() {
+    // The module registry already has the meters of the scheduler created by the Spring context
+    var registry = new SimpleMeterRegistry();
+    var scheduler = new BatchVoucherExportScheduler(1, 0);
+    ModuleMetrics.monitorExportScheduler(scheduler, registry);
+
+    Future<Void> running = scheduler.schedule("diku", () -> Promise.<Void>promise().future());
+    Future<Void> rejected = scheduler.schedule("diku", Future::succeededFuture);
+
+    assertFalse(running.isComplete());
+    assertTrue(rejected.failed());
+    assertEquals(1, registry.get("mod_invoice.batch_voucher.exports.rejected").functionCounter().count());
+    assertEquals(1, registry.get("mod_invoice.batch_voucher.exports.running").gauge().value());
+    assertEquals(0, registry.get("mod_invoice.batch_voucher.exports.queued").gauge().value());
+  }
+
+  @Test
+  void shouldCountQueuedAndRejectedPoolRequests() {
+    HttpClientPoolStats.forDestination("metrics-test:9130", 10);
+
+    var registry = ModuleMetrics.getRegistry();
+    assertNotNull(registry.find("mod_invoice.http.pool.queued").tag("destination", "metrics-test:9130").functionCounter());
+    assertNotNull(registry.find("mod_invoice.http.pool.rejected").tag("destination", "metrics-test:9130").functionCounter());
+    assertNotNull(registry.find("mod_invoice.http.pool.saturation").tag("destination", "metrics-test:9130").gauge());
+  }
+}
@@ -0,0 +1,65 @@
+package org.folio.rest.core;
+
+import static org.folio.rest.core.HttpClientPoolConfig.DESTINATION_POOL_SIZES_PARAM;
+import static org.folio.rest.core.HttpClientPoolConfig.HTTP2_ENABLED_PARAM;
+import static org.folio.rest.core.HttpClientPoolConfig.HTTP2_MULTIPLEXING_LIMIT_PARAM;
+import static org.folio.rest.core.HttpClientPoolConfig.POOL_SIZE_PARAM;
+import static org.folio.rest.core.HttpClientPoolConfig.WAIT_QUEUE_SIZE_PARAM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.http.HttpVersion;
+
+public class HttpClientPoolConfigTest {
+
+  @Test
+  void shouldUseDefaultsWhenNothingConfigured() {
+    var config = new HttpClientPoolConfig(param -> null);
+
+    var poolOptions = config.buildPoolOptions("okapi:9130");
+    var options = config.buildWebClientOptions();
+
+    assertEquals(10, poolOptions.getHttp1MaxSize());
+    assertEquals(-1, poolOptions.getMaxWaitQueueSize());
+    assertEquals(5000, options.getIdleTimeout());
+    assertEquals(HttpVersion.HTTP_1_1, options.getProtocolVersion());
+    assertFalse(config.isHttp2Enabled());
+  }
+
+  @Test
+  void shouldApplyPerDestinationPoolSizes() {
+    Map<String, String> properties = Map.of(
+      POOL_SIZE_PARAM, "20",
+      DESTINATION_POOL_SIZES_PARAM, "okapi:9130=50, mod-finance:8081=5,invalid",
+      WAIT_QUEUE_SIZE_PARAM, "100");
+    var config = new HttpClientPoolConfig(properties::get);
+
+    assertEquals(50, config.buildPoolOptions("okapi:9130").getHttp1MaxSize());
+    assertEquals(5, config.buildPoolOptions("mod-finance:8081").getHttp1MaxSize());
+    assertEquals(20, config.buildPoolOptions("mod-orders:8081").getHttp1MaxSize());
+    assertEquals(100, config.buildPoolOptions("okapi:9130").getMaxWaitQueueSize());
+  }
+
+  @Test
+  void shouldConfigureHttp2() {
+    Map<String, String> properties = Map.of(HTTP2_ENABLED_PARAM, "true", HTTP2_MULTIPLEXING_LIMIT_PARAM, "100");
+    var config = new HttpClientPoolConfig(properties::get);
+
+    var options = config.buildWebClientOptions();
+
+    assertEquals(HttpVersion.HTTP_2, options.getProtocolVersion());
+    assertEquals(100, options.getHttp2MultiplexingLimit());
+    assertEquals(100, config.getCapacity("okapi:9130"));
+  }
+
+  @Test
+  void shouldExtractDestinationFromAbsoluteEndpoint() {
+    assertEquals("okapi:9130", HttpClientPoolConfig.getDestination("http://okapi:9130/finance/funds?query=id==(a or b)"));
+    assertEquals("localhost:8081", HttpClientPoolConfig.getDestination("https://localhost:8081?limit=1"));
+    assertEquals("okapi", HttpClientPoolConfig.getDestination("http://okapi"));
+  }
+}
@@ -0,0 +1,102 @@
+package org.folio.rest.core;
+
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TOKEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+
+@ExtendWith(VertxExtension.class)
+public class InFlightRequestsTest {
+
+  @Test
+  void shouldShareInFlightRequestBetweenCallersWithSameKey(Vertx vertx) {
+    var inFlightRequests = new InFlightRequests<String>();
+    var context = vertx.getOrCreateContext();
+    var calls = new AtomicInteger();
+    Promise<String> response = Promise.promise();
+
+    Future<String> first = inFlightRequests.execute(context, "key", () -> {
+      calls.incrementAndGet();
+      return response.future();
+    });
+    Future<String> second = inFlightRequests.execute(context, "key", () -> {
+      calls.incrementAndGet();
+      return Future.succeededFuture("other");
+    });
+    response.complete("response");
+
+    assertSame(first, second);
+    assertEquals(1, calls.get());
+    assertEquals("response", second.result());
+    assertEquals(0, inFlightRequests.size());
+  }
+
+  @Test
+  void shouldStartNewRequestAfterCompletion(Vertx vertx) {
+    var inFlightRequests = new InFlightRequests<String>();
+    var context = vertx.getOrCreateContext();
+    var calls = new AtomicInteger();
+
+    inFlightRequests.execute(context, "key", () -> {
+      calls.incrementAndGet();
+      return Future.failedFuture(new IllegalStateException("failed"));
+    });
+    Future<String> future = inFlightRequests.execute(context, "key", () -> {
+      calls.incrementAndGet();
+      return Future.succeededFuture("response");
+    });
+
+    assertTrue(future.succeeded());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void shouldNotShareRequestsWithDifferentKeysOrContexts(Vertx vertx) {
+    var inFlightRequests = new InFlightRequests<String>();
+    var context = vertx.getOrCreateContext();
+    var calls = new AtomicInteger();
+    Promise<String> response = Promise.promise();
+
+    inFlightRequests.execute(context, "key1", () -> {
+      calls.incrementAndGet();
+      return response.future();
+    });
+    inFlightRequests.execute(context, "key2", () -> {
+      calls.incrementAndGet();
+      return response.future();
+    });
+    inFlightRequests.execute(mock(Context.class), "key1", () -> {
+      calls.incrementAndGet();
+      return response.future();
+    });
+    response.complete("response");
+
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  void shouldNotShareRequestsOfDifferentTokensWithoutUserId() {
+    var endpoint = "http://okapi:9130/finance/funds/1";
+    var firstHeaders = MultiMap.caseInsensitiveMultiMap().add(OKAPI_HEADER_TENANT, "diku").add(OKAPI_HEADER_TOKEN, "token1");
+    var secondHeaders = MultiMap.caseInsensitiveMultiMap().add(OKAPI_HEADER_TENANT, "diku").add(OKAPI_HEADER_TOKEN, "token2");
+
+    assertNotEquals(RestClient.buildCoalescingKey(firstHeaders, endpoint), RestClient.buildCoalescingKey(secondHeaders, endpoint));
+    assertEquals(RestClient.buildCoalescingKey(firstHeaders, endpoint),
+      RestClient.buildCoalescingKey(MultiMap.caseInsensitiveMultiMap().addAll(firstHeaders), endpoint));
+  }
+}
@@ -0,0 +1,87 @@
+package org.folio.rest.core;
+
+import static io.vertx.core.Future.succeededFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.folio.rest.core.models.RequestContext;
+import org.folio.rest.core.models.RequestEntry;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+import org.folio.rest.jaxrs.model.InvoiceLineCollection;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+
+public class PagedReaderTest {
+
+  @Test
+  void shouldReadPagesUntilIncompletePage() {
+    List<Integer> source = IntStream.range(0, 25).boxed().toList();
+    List<Integer> offsets = new ArrayList<>();
+
+    Future<List<Integer>> future = PagedReader.getAll(10, (offset, limit) -> {
+      offsets.add(offset);
+      return succeededFuture(source.subList(offset, Math.min(offset + limit, source.size())));
+    });
+
+    assertTrue(future.succeeded());
+    assertEquals(source, future.result());
+    assertEquals(List.of(0, 10, 20), offsets);
+  }
+
+  @Test
+  void shouldStopOnEmptyPage() {
+    List<Integer> source = IntStream.range(0, 20).boxed().toList();
+    List<Integer> processedPageSizes = new ArrayList<>();
+
+    Future<Void> future = PagedReader.forEachPage(10,
+      (offset, limit) -> succeededFuture(source.subList(Math.min(offset, source.size()), Math.min(offset + limit, source.size()))),
+      page -> {
+        processedPageSizes.add(page.size());
+        return succeededFuture();
+      });
+
+    assertTrue(future.succeeded());
+    assertEquals(List.of(10, 10), processedPageSizes);
+  }
+
+  @Test
+  void shouldNotRequestNextPageWhenConsumerFails() {
+    List<Integer> offsets = new ArrayList<>();
+
+    Future<Void> future = PagedReader.forEachPage(2, (offset, limit) -> {
+        offsets.add(offset);
+        return succeededFuture(List.of(1, 2));
+      },
+      page -> Future.failedFuture(new IllegalStateException("processing failed")));
+
+    assertTrue(future.failed());
+    assertEquals(List.of(0), offsets);
+  }
+
+  @Test
+  void shouldReadCollectionWithRestClient() {
+    RestClient restClient = mock(RestClient.class);
+    RequestContext requestContext = mock(RequestContext.class);
+    InvoiceLine invoiceLine = new InvoiceLine().withId("id");
+    when(restClient.get(any(RequestEntry.class), eq(InvoiceLineCollection.class), eq(requestContext)))
+      .thenReturn(succeededFuture(new InvoiceLineCollection().withInvoiceLines(List.of(invoiceLine))));
+
+    Future<List<InvoiceLine>> future = PagedReader.getAll(restClient, new RequestEntry("/invoice-storage/invoice-lines"),
+      InvoiceLineCollection.class, InvoiceLineCollection::getInvoiceLines, requestContext);
+
+    assertTrue(future.succeeded());
+    assertEquals(List.of(invoiceLine), future.result());
+    verify(restClient, times(1)).get(any(RequestEntry.class), eq(InvoiceLineCollection.class), eq(requestContext));
+  }
+}
@@ -35,6 +35,18 @@ public class WebClientProviderTest {
     assertSame(client1, client2);
   }
 
+  @Test
+  void shouldReturnDifferentInstancesForDifferentDestinations(Vertx vertx) {
+    var options = new WebClientOptions();
+    var poolOptions = new PoolOptions();
+
+    var client1 = WebClientProvider.getWebClient(vertx, "okapi:9130", options, poolOptions);
+    var client2 = WebClientProvider.getWebClient(vertx, "mod-finance:8081", options, poolOptions);
+
+    assertNotSame(client1, client2);
+    assertSame(client1, WebClientProvider.getWebClient(vertx, "okapi:9130", options, poolOptions));
+  }
+
   @Test
   void shouldReturnDifferentInstancesForDifferentVertx() {
     var vertx1 = Vertx.vertx();
@@ -0,0 +1,103 @@
+package org.folio.rest.impl;
+
+import static org.folio.TestUtils.setInternalState;
+import static org.folio.invoices.utils.ResourcePathResolver.BUDGETS;
+import static org.folio.invoices.utils.ResourcePathResolver.FUNDS;
+import static org.folio.invoices.utils.ResourcePathResolver.INVOICES;
+import static org.folio.invoices.utils.ResourcePathResolver.INVOICE_LINES;
+import static org.folio.rest.impl.InvoicesApiTest.EXISTING_LEDGER_ID;
+import static org.folio.rest.impl.InvoicesApiTest.INVOICE_ID_PATH;
+import static org.folio.rest.impl.InvoicesApiTest.OPEN_INVOICE_SAMPLE_PATH;
+import static org.folio.rest.impl.MockServer.FISCAL_YEAR_ID;
+import static org.folio.rest.impl.MockServer.addMockEntry;
+import static org.folio.rest.impl.MockServer.getRqRsEntries;
+import static org.folio.rest.jaxrs.model.FundDistribution.DistributionType.AMOUNT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.UUID;
+
+import org.folio.rest.acq.model.finance.Budget;
+import org.folio.rest.acq.model.finance.Fund;
+import org.folio.rest.jaxrs.model.FundDistribution;
+import org.folio.rest.jaxrs.model.Invoice;
+import org.folio.rest.jaxrs.model.InvoiceLine;
+import org.folio.services.caches.FinanceReferenceDataCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.restassured.http.Headers;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The test suite bypasses the finance cache because mock data of the same finance records differs between tests,
+ * the cache is enabled here to check that finance records are reused between invoice approvals
+ */
+public class InvoiceFinanceCacheApiTest extends ApiTestBase {
+
+  private FinanceReferenceDataCache financeReferenceDataCache;
+
+  @BeforeEach
+  void enableFinanceCache() {
+    financeReferenceDataCache = SpringContextTestHook.getBean(FinanceReferenceDataCache.class);
+    setInternalState(financeReferenceDataCache, "byPassCache", false);
+  }
+
+  @AfterEach
+  void bypassFinanceCache() {
+    setInternalState(financeReferenceDataCache, "byPassCache", true);
+  }
+
+  @Test
+  void testSecondApprovalReusesCachedFunds() {
+    String fundId = UUID.randomUUID().toString();
+    Fund fund = new Fund()
+      .withId(fundId)
+      .withName("test")
+      .withLedgerId(EXISTING_LEDGER_ID)
+      .withCode("FC")
+      .withExternalAccountNo("1234")
+      .withFundStatus(Fund.FundStatus.ACTIVE);
+    Budget budget = new Budget()
+      .withId(UUID.randomUUID().toString())
+      .withFundId(fundId)
+      .withFiscalYearId(FISCAL_YEAR_ID)
+      .withAllocated(100d)
+      .withAvailable(100d)
+      .withBudgetStatus(Budget.BudgetStatus.ACTIVE)
+      .withUnavailable(0d);
+    addMockEntry(FUNDS, JsonObject.mapFrom(fund));
+    addMockEntry(BUDGETS, JsonObject.mapFrom(budget));
+
+    Invoice firstInvoice = getMockAsJson(OPEN_INVOICE_SAMPLE_PATH).mapTo(Invoice.class);
+    Invoice secondInvoice = getMockAsJson(OPEN_INVOICE_SAMPLE_PATH).mapTo(Invoice.class)
+      .withId(UUID.randomUUID().toString())
+      .withVendorInvoiceNo("cached-funds-" + UUID.randomUUID());
+    addMockEntry(INVOICES, JsonObject.mapFrom(secondInvoice));
+
+    approve(firstInvoice, fundId);
+    int firstApprovalFundRequests = getRqRsEntries(HttpMethod.GET, FUNDS).size();
+    approve(secondInvoice, fundId);
+    int secondApprovalFundRequests = getRqRsEntries(HttpMethod.GET, FUNDS).size() - firstApprovalFundRequests;
+
+    assertThat(firstApprovalFundRequests, greaterThan(0));
+    assertThat(secondApprovalFundRequests, lessThan(firstApprovalFundRequests));
+  }
+
+  private void approve(Invoice invoice, String fundId) {
+    InvoiceLine invoiceLine = getMinimalContentInvoiceLine(invoice.getId());
+    invoiceLine.setSubTotal(50d);
+    invoiceLine.getFundDistributions().add(new FundDistribution()
+      .withFundId(fundId)
+      .withDistributionType(AMOUNT)
+      .withValue(50d));
+    addMockEntry(INVOICE_LINES, JsonObject.mapFrom(invoiceLine));
+
+    invoice.setStatus(Invoice.Status.APPROVED);
+    Headers headers = prepareHeaders(X_OKAPI_URL, X_OKAPI_TENANT, X_OKAPI_TOKEN, X_OKAPI_USER_ID);
+    verifyPut(String.format(INVOICE_ID_PATH, invoice.getId()), JsonObject.mapFrom(invoice).encode(), headers, "", 204);
+  }
+}
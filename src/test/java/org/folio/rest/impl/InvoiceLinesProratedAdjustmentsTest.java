@@ -184,6 +184,81 @@ public class InvoiceLinesProratedAdjustmentsTest extends ApiTestBase {
     assertThat(lineAdjustment.getValue(), is(expectedAdjTotal));
   }
 
+  @Test
+  public void testUpdateLineWithoutProrationBaseChangeKeepsOtherLines() {
+    logger.info("=== Updating line description for invoice with 2 lines and one prorated adjustment ===");
+
+    // Prepare data "from storage"
+    Invoice invoice = getMockAsJson(OPEN_INVOICE_SAMPLE_PATH).mapTo(Invoice.class).withId(randomUUID().toString());
+    Adjustment invoiceAdjustment = createAdjustment(BY_AMOUNT, Adjustment.Type.AMOUNT, 15d);
+    invoice.withAdjustments(Collections.singletonList(invoiceAdjustment));
+    addMockEntry(INVOICES, invoice);
+
+    InvoiceLine line1 = getMockInvoiceLine(invoice.getId()).withSubTotal(25d).withQuantity(10);
+    line1.getAdjustments().add(createAdjustment(Adjustment.Prorate.NOT_PRORATED, Adjustment.Type.AMOUNT, 9.38d)
+      .withAdjustmentId(invoiceAdjustment.getId()));
+    addMockEntry(INVOICE_LINES, line1);
+    InvoiceLine line2 = getMockInvoiceLine(invoice.getId()).withSubTotal(15d).withQuantity(5);
+    line2.getAdjustments().add(createAdjustment(Adjustment.Prorate.NOT_PRORATED, Adjustment.Type.AMOUNT, 5.62d)
+      .withAdjustmentId(invoiceAdjustment.getId()));
+    addMockEntry(INVOICE_LINES, line2);
+
+    // Prepare request body
+    InvoiceLine invoiceLineBody = copyObject(line2).withDescription("Updated description");
+
+    // Send update request
+    verifySuccessPut(String.format(INVOICE_LINE_ID_PATH, line2.getId()), invoiceLineBody);
+
+    // Verification: the share of the other line can not change, so only the updated line is sent to the storage
+    assertThat(getInvoiceLineUpdates(), Matchers.hasSize(1));
+
+    InvoiceLine lineToStorage = getLineToStorageById(line2.getId());
+    assertThat(lineToStorage.getAdjustments(), hasSize(1));
+    assertThat(lineToStorage.getAdjustmentsTotal(), is(5.62d));
+
+    Adjustment lineAdjustment = lineToStorage.getAdjustments().getFirst();
+    verifyInvoiceLineAdjustmentCommon(invoiceAdjustment, lineAdjustment);
+    assertThat(lineAdjustment.getValue(), is(5.62d));
+  }
+
+  @Test
+  public void testUpdateLineWithoutProrationBaseChangeKeepsPercentageShareAsAmount() {
+    logger.info("=== Updating line description for invoice with 2 lines and one prorated percentage adjustment ===");
+
+    // Prepare data "from storage"
+    Invoice invoice = getMockAsJson(OPEN_INVOICE_SAMPLE_PATH).mapTo(Invoice.class).withId(randomUUID().toString());
+    Adjustment invoiceAdjustment = createAdjustment(BY_AMOUNT, PERCENTAGE, 10d);
+    invoice.withAdjustments(Collections.singletonList(invoiceAdjustment));
+    addMockEntry(INVOICES, invoice);
+
+    InvoiceLine line1 = getMockInvoiceLine(invoice.getId()).withSubTotal(25d).withQuantity(10);
+    line1.getAdjustments().add(createAdjustment(Adjustment.Prorate.NOT_PRORATED, Adjustment.Type.AMOUNT, 2.5d)
+      .withAdjustmentId(invoiceAdjustment.getId()));
+    addMockEntry(INVOICE_LINES, line1);
+    InvoiceLine line2 = getMockInvoiceLine(invoice.getId()).withSubTotal(15d).withQuantity(5);
+    line2.getAdjustments().add(createAdjustment(Adjustment.Prorate.NOT_PRORATED, Adjustment.Type.AMOUNT, 1.5d)
+      .withAdjustmentId(invoiceAdjustment.getId()));
+    addMockEntry(INVOICE_LINES, line2);
+
+    // Prepare request body
+    InvoiceLine invoiceLineBody = copyObject(line2).withDescription("Updated description");
+
+    // Send update request
+    verifySuccessPut(String.format(INVOICE_LINE_ID_PATH, line2.getId()), invoiceLineBody);
+
+    // Verification: the stored share is an amount and is applied to the line as an amount
+    assertThat(getInvoiceLineUpdates(), Matchers.hasSize(1));
+
+    InvoiceLine lineToStorage = getLineToStorageById(line2.getId());
+    assertThat(lineToStorage.getAdjustments(), hasSize(1));
+    assertThat(lineToStorage.getAdjustmentsTotal(), is(1.5d));
+    assertThat(lineToStorage.getTotal(), is(16.5d));
+
+    Adjustment lineAdjustment = lineToStorage.getAdjustments().getFirst();
+    verifyInvoiceLineAdjustmentCommon(invoiceAdjustment, lineAdjustment);
+    assertThat(lineAdjustment.getValue(), is(1.5d));
+  }
+
   @Test
   public void testCreateInvoiceWithOnePercentageTypeByAmountProrateIncludedByTotalAdjustment() {
     logger.info("=== Creating invoice with one adjustment by amount prorate included by total ===");
@@ -116,6 +116,7 @@ import org.folio.rest.acq.model.VoucherLine;
 import org.folio.rest.acq.model.VoucherLineCollection;
 import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.BudgetCollection;
+import org.folio.rest.acq.model.finance.BudgetExpenseClass;
 import org.folio.rest.acq.model.finance.BudgetExpenseClassCollection;
 import org.folio.rest.acq.model.finance.CompositeFund;
 import org.folio.rest.acq.model.finance.ExchangeRate;
@@ -182,7 +183,6 @@ public class MockServer {
   public static final String MOCK_DATA_PATH_PATTERN = "%s%s.json";
   private static final String FUNDS_MOCK_DATA_PATH = BASE_MOCK_DATA_PATH + "fundRecords/";
   private static final String VOUCHER_ID = "voucherId";
-  private static final String EXPENSE_CLASS_ID = "expenseClassId";
   private static final String QUERY = "query";
   private static final String LIMIT = "limit";
   private static final String OFFSET = "offset";
@@ -742,6 +742,8 @@ public class MockServer {
     logger.info("id: " + id);
     if (ID_FOR_INTERNAL_SERVER_ERROR.equals(id)) {
       serverResponse(ctx, 500, APPLICATION_JSON, Response.Status.INTERNAL_SERVER_ERROR.getReasonPhrase());
+    } else if (ID_DOES_NOT_EXIST.equals(id)) {
+      serverResponse(ctx, 404, APPLICATION_JSON, id);
     } else {
       JsonObject credentials = getMockCredentials(id);
       if (credentials == null) {
@@ -1523,8 +1525,8 @@ public class MockServer {
       // By default return 0
       BudgetExpenseClassCollection budgetExpenseClasses = new BudgetExpenseClassCollection().withTotalRecords(0);
 
-      if (queryParam.contains(EXPENSE_CLASS_ID)) {
-        String expenseClassId = queryParam.split(EXPENSE_CLASS_ID + "==")[1];
+      List<String> budgetIds = extractIdsFromQuery("budgetId", "==", queryParam);
+      if (!budgetIds.isEmpty()) {
         Supplier<BudgetExpenseClassCollection> getFromFile = () -> {
           try {
             return new JsonObject(getMockData(BUDGET_EXPENSE_CLASS_COLLECTION)).mapTo(BudgetExpenseClassCollection.class);
@@ -1533,9 +1535,11 @@ public class MockServer {
           }
         };
 
-        budgetExpenseClasses.withBudgetExpenseClasses(getFromFile.get().getBudgetExpenseClasses()
-          .stream()
-          .filter(bec -> bec.getExpenseClassId().equals(expenseClassId))
+        // Expense classes of the mock data are assigned to every requested budget
+        List<BudgetExpenseClass> fromFile = getFromFile.get().getBudgetExpenseClasses();
+        budgetExpenseClasses.withBudgetExpenseClasses(budgetIds.stream()
+          .flatMap(budgetId -> fromFile.stream()
+            .map(bec -> JsonObject.mapFrom(bec).mapTo(BudgetExpenseClass.class).withBudgetId(budgetId)))
           .collect(toList()));
         budgetExpenseClasses.withTotalRecords(budgetExpenseClasses.getBudgetExpenseClasses().size());
 
@@ -0,0 +1,37 @@
+package org.folio.rest.impl;
+
+import org.folio.rest.resource.interfaces.PostDeployVerticle;
+import org.folio.spring.SpringContextUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Keeps the Spring context of the module deployed by the test suite, so API tests can reach the beans of the module
+ */
+public class SpringContextTestHook implements PostDeployVerticle {
+
+  private static ApplicationContext moduleContext;
+
+  @Autowired
+  private ApplicationContext applicationContext;
+
+  public SpringContextTestHook() {
+    SpringContextUtil.autowireDependencies(this, Vertx.currentContext());
+  }
+
+  @Override
+  public void init(Vertx vertx, Context context, Handler<AsyncResult<Boolean>> resultHandler) {
+    moduleContext = applicationContext;
+    resultHandler.handle(Future.succeededFuture(true));
+  }
+
+  public static <T> T getBean(Class<T> beanClass) {
+    return moduleContext.getBean(beanClass);
+  }
+}
@@ -2,9 +2,12 @@ package org.folio.services;
 
 import static java.util.stream.Collectors.toList;
 import static org.folio.ApiTestSuite.mockPort;
+import static org.folio.invoices.utils.ResourcePathResolver.INVOICES;
+import static org.folio.rest.RestConstants.MAX_IDS_FOR_GET_RQ;
 import static org.folio.rest.RestConstants.OKAPI_URL;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +15,7 @@ import java.util.Map;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.impl.ApiTestBase;
+import org.folio.rest.impl.MockServer;
 import org.folio.rest.jaxrs.model.Invoice;
 import org.folio.rest.jaxrs.model.InvoiceCollection;
 import org.folio.rest.jaxrs.model.Voucher;
@@ -29,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -95,4 +100,22 @@ public class InvoiceRetrieveServiceTest extends ApiTestBase {
         vertxTestContext.completeNow();
       });
   }
+
+  @Test
+  public void shouldRequestInvoiceOfSeveralVouchersOnceTest(VertxTestContext vertxTestContext) throws IOException {
+    InvoiceService invoiceService = new BaseInvoiceService(new RestClient(), invoiceLineService, orderService);
+    InvoiceRetrieveService service = new InvoiceRetrieveService(invoiceService);
+    Voucher voucher = new JsonObject(getMockData(VOUCHERS_LIST_PATH)).getJsonArray("vouchers").getJsonObject(0)
+      .mapTo(Voucher.class);
+    // More vouchers of the same invoice than ids in one request
+    List<Voucher> vouchers = Collections.nCopies(MAX_IDS_FOR_GET_RQ * 3, voucher);
+
+    Future<List<InvoiceCollection>> future = service.getInvoicesByChunks(vouchers, new RequestContext(context, okapiHeaders));
+    vertxTestContext.assertComplete(future)
+      .onComplete(result -> {
+        Assertions.assertEquals(1, result.result().size());
+        Assertions.assertEquals(1, MockServer.getRqRsEntries(HttpMethod.GET, INVOICES).size());
+        vertxTestContext.completeNow();
+      });
+  }
 }
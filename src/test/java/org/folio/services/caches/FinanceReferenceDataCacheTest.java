@@ -0,0 +1,153 @@
+package org.folio.services.caches;
+
+import static org.folio.TestUtils.setInternalState;
+import static org.folio.rest.RestVerticle.OKAPI_HEADER_TENANT;
+import static org.folio.utils.CacheUtils.buildAsyncCache;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.folio.rest.acq.model.finance.FiscalYear;
+import org.folio.rest.acq.model.finance.Fund;
+import org.folio.rest.core.models.RequestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+public class FinanceReferenceDataCacheTest {
+
+  private FinanceReferenceDataCache cache;
+  private Context context;
+
+  @BeforeEach
+  void setUp(Vertx vertx) {
+    context = vertx.getOrCreateContext();
+    cache = new FinanceReferenceDataCache();
+    setInternalState(cache, "fundCache", buildAsyncCache(context, 60, 100));
+    setInternalState(cache, "fiscalYearCache", buildAsyncCache(context, 60, 100));
+    setInternalState(cache, "currentFiscalYearCache", FinanceReferenceDataCache.buildCurrentFiscalYearCache(context, 60, 100));
+  }
+
+  @Test
+  void shouldLoadOnlyFundsMissingInCache(VertxTestContext testContext) {
+    RequestContext requestContext = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "tenant"));
+    List<List<String>> loadedIds = new ArrayList<>();
+
+    cache.getFunds(List.of("fund1", "fund2"), ids -> loadFunds(ids, loadedIds), requestContext)
+      .compose(funds -> cache.getFunds(List.of("fund2", "fund3", "fund3"), ids -> loadFunds(ids, loadedIds), requestContext))
+      .onComplete(testContext.succeeding(funds -> testContext.verify(() -> {
+        assertEquals(List.of("fund2", "fund3"), funds.stream().map(Fund::getId).toList());
+        assertEquals(List.of(List.of("fund1", "fund2"), List.of("fund3")), loadedIds);
+        testContext.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldNotShareCachedRecordsBetweenTenants(VertxTestContext testContext) {
+    AtomicInteger loads = new AtomicInteger();
+    RequestContext firstTenant = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "tenant1"));
+    RequestContext secondTenant = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "tenant2"));
+
+    cache.getFiscalYear("fy", () -> loadFiscalYear(loads), firstTenant)
+      .compose(fy -> cache.getFiscalYear("fy", () -> loadFiscalYear(loads), firstTenant))
+      .compose(fy -> cache.getFiscalYear("fy", () -> loadFiscalYear(loads), secondTenant))
+      .onComplete(testContext.succeeding(fy -> testContext.verify(() -> {
+        assertEquals(2, loads.get());
+        testContext.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldNotCacheFailures(VertxTestContext testContext) {
+    RequestContext requestContext = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "tenant"));
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.getFiscalYear("fy", () -> Future.failedFuture(new IllegalStateException("not found")), requestContext)
+      .recover(t -> cache.getFiscalYear("fy", () -> loadFiscalYear(loads), requestContext))
+      .onComplete(testContext.succeeding(fy -> testContext.verify(() -> {
+        assertEquals("fy", fy.getId());
+        assertEquals(1, loads.get());
+        testContext.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldCallLoaderWhenCacheBypassed() {
+    setInternalState(cache, "byPassCache", true);
+    RequestContext requestContext = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "tenant"));
+    List<List<String>> loadedIds = new ArrayList<>();
+
+    cache.getFunds(List.of("fund1"), ids -> loadFunds(ids, loadedIds), requestContext);
+    Future<List<Fund>> future = cache.getFunds(List.of("fund1"), ids -> loadFunds(ids, loadedIds), requestContext);
+
+    assertTrue(future.succeeded());
+    assertEquals(2, loadedIds.size());
+  }
+
+  @Test
+  void shouldLoadCurrentFiscalYearOnceForConcurrentCalls(VertxTestContext testContext) {
+    RequestContext requestContext = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "tenant"));
+    AtomicInteger loads = new AtomicInteger();
+    Promise<FiscalYear> fiscalYear = Promise.promise();
+    Supplier<Future<FiscalYear>> loader = () -> {
+      loads.incrementAndGet();
+      return fiscalYear.future();
+    };
+
+    Future<FiscalYear> first = cache.getCurrentFiscalYear("ledger", loader, requestContext);
+    Future<FiscalYear> second = cache.getCurrentFiscalYear("ledger", loader, requestContext);
+    fiscalYear.complete(new FiscalYear().withId("fy").withPeriodEnd(Date.from(Instant.now().plus(1, ChronoUnit.DAYS))));
+
+    Future.all(first, second)
+      .compose(v -> cache.getCurrentFiscalYear("ledger", loader, requestContext))
+      .onComplete(testContext.succeeding(fy -> testContext.verify(() -> {
+        assertEquals("fy", fy.getId());
+        assertEquals(1, loads.get());
+        testContext.completeNow();
+      })));
+  }
+
+  @Test
+  void shouldNotKeepCurrentFiscalYearAfterEndOfPeriod(VertxTestContext testContext) {
+    RequestContext requestContext = new RequestContext(context, Map.of(OKAPI_HEADER_TENANT, "tenant"));
+    AtomicInteger loads = new AtomicInteger();
+    Supplier<Future<FiscalYear>> loader = () -> {
+      loads.incrementAndGet();
+      return Future.succeededFuture(new FiscalYear().withId("fy").withPeriodEnd(Date.from(Instant.now().minusSeconds(1))));
+    };
+
+    cache.getCurrentFiscalYear("ledger", loader, requestContext)
+      .compose(fy -> context.owner().timer(100))
+      .compose(v -> cache.getCurrentFiscalYear("ledger", loader, requestContext))
+      .onComplete(testContext.succeeding(fy -> testContext.verify(() -> {
+        assertEquals(2, loads.get());
+        testContext.completeNow();
+      })));
+  }
+
+  private Future<List<Fund>> loadFunds(List<String> ids, List<List<String>> loadedIds) {
+    loadedIds.add(ids);
+    return Future.succeededFuture(ids.stream().map(id -> new Fund().withId(id)).toList());
+  }
+
+  private Future<FiscalYear> loadFiscalYear(AtomicInteger loads) {
+    loads.incrementAndGet();
+    return Future.succeededFuture(new FiscalYear().withId("fy"));
+  }
+}
@@ -1,6 +1,7 @@
 package org.folio.services.finance;
 
 import static io.vertx.core.Future.succeededFuture;
+import static org.folio.TestUtils.setInternalState;
 import static org.folio.invoices.utils.ErrorCodes.FUNDS_NOT_FOUND;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
@@ -21,12 +22,12 @@ import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Error;
+import org.folio.services.caches.FinanceReferenceDataCache;
 import org.folio.services.finance.fiscalyear.CurrentFiscalYearService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -37,7 +38,6 @@ import io.vertx.junit5.VertxTestContext;
 @ExtendWith(VertxExtension.class)
 public class CurrentFiscalYearServiceTest {
 
-  @InjectMocks
   private CurrentFiscalYearService currentFiscalYearService;
   @Mock
   private RestClient currentFiscalYearRestClient;
@@ -49,6 +49,9 @@ public class CurrentFiscalYearServiceTest {
   @BeforeEach
   public void initMocks() {
     MockitoAnnotations.openMocks(this);
+    var financeReferenceDataCache = new FinanceReferenceDataCache();
+    setInternalState(financeReferenceDataCache, "byPassCache", true);
+    currentFiscalYearService = new CurrentFiscalYearService(currentFiscalYearRestClient, fundService, financeReferenceDataCache);
   }
 
   @Test
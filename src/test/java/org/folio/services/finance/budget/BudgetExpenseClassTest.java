@@ -9,6 +9,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -16,6 +18,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.models.InvoiceWorkflowDataHolder;
@@ -86,11 +89,14 @@ public class BudgetExpenseClassTest {
                 .withFundDistributions(Collections.singletonList(fundDistributionWithActiveExpenseClass));
         Invoice invoice = new Invoice().withAdjustments(Collections.singletonList(adjustment));
 
-        BudgetExpenseClass active = new BudgetExpenseClass().withBudgetId(UUID.randomUUID().toString())
+        Budget inactiveExpenseClassBudget = new Budget().withId(UUID.randomUUID().toString()).withFundId(UUID.randomUUID().toString());
+        Budget activeExpenseClassBudget = new Budget().withId(UUID.randomUUID().toString()).withFundId(UUID.randomUUID().toString());
+
+        BudgetExpenseClass active = new BudgetExpenseClass().withBudgetId(activeExpenseClassBudget.getId())
                 .withExpenseClassId(activeExpenseClassId)
                 .withStatus(BudgetExpenseClass.Status.ACTIVE)
                 .withId(UUID.randomUUID().toString());
-        BudgetExpenseClass inactive = new BudgetExpenseClass().withBudgetId(UUID.randomUUID().toString())
+        BudgetExpenseClass inactive = new BudgetExpenseClass().withBudgetId(inactiveExpenseClassBudget.getId())
                 .withExpenseClassId(inactiveExpenseClassId)
                 .withStatus(BudgetExpenseClass.Status.INACTIVE)
                 .withId(UUID.randomUUID().toString());
@@ -104,7 +110,7 @@ public class BudgetExpenseClassTest {
                 .withInvoiceLine(invoiceLine)
                 .withFundDistribution(fundDistributionWithInactiveExpenseClass)
                 .withExpenseClass(inactiveExpenseClass)
-                .withBudget(new Budget().withFundId(UUID.randomUUID().toString()))
+                .withBudget(inactiveExpenseClassBudget)
                 .withFund(inactiveExpenseClassFund);
 
         InvoiceWorkflowDataHolder holder2 = new InvoiceWorkflowDataHolder()
@@ -117,7 +123,7 @@ public class BudgetExpenseClassTest {
                 .withInvoice(invoice)
                 .withAdjustment(adjustment)
                 .withFundDistribution(fundDistributionWithActiveExpenseClass)
-                .withBudget(new Budget().withFundId(UUID.randomUUID().toString()))
+                .withBudget(activeExpenseClassBudget)
                 .withExpenseClass(new ExpenseClass().withId(activeExpenseClassId));
 
         holders.add(holder1);
@@ -127,9 +133,11 @@ public class BudgetExpenseClassTest {
         when(restClient.get(any(RequestEntry.class), any(), any()))
                 .thenAnswer(invocation -> {
                     RequestEntry requestEntry = invocation.getArgument(0);
-                    BudgetExpenseClass bec = requestEntry.buildEndpoint().contains(activeExpenseClassId) ? active : inactive;
+                    List<BudgetExpenseClass> budgetExpenseClasses = Stream.of(active, inactive)
+                        .filter(bec -> requestEntry.buildEndpoint().contains(bec.getBudgetId()))
+                        .toList();
                     return succeededFuture(new BudgetExpenseClassCollection()
-                                                          .withBudgetExpenseClasses(Collections.singletonList(bec)).withTotalRecords(1));
+                                                          .withBudgetExpenseClasses(budgetExpenseClasses).withTotalRecords(budgetExpenseClasses.size()));
                 });
 
         when(requestContext.getContext()).thenReturn(Vertx.vertx().getOrCreateContext());
@@ -180,7 +188,9 @@ public class BudgetExpenseClassTest {
                 .withFundDistributions(Collections.singletonList(fundDistributionWithNotAssignedExpenseClass));
         Invoice invoice = new Invoice().withAdjustments(Collections.singletonList(adjustment));
 
-        BudgetExpenseClass active = new BudgetExpenseClass().withBudgetId(UUID.randomUUID().toString())
+        Budget activeExpenseClassBudget = new Budget().withId(UUID.randomUUID().toString()).withFundId(UUID.randomUUID().toString());
+
+        BudgetExpenseClass active = new BudgetExpenseClass().withBudgetId(activeExpenseClassBudget.getId())
                 .withExpenseClassId(activeExpenseClassId)
                 .withStatus(BudgetExpenseClass.Status.ACTIVE)
                 .withId(UUID.randomUUID().toString());
@@ -193,7 +203,7 @@ public class BudgetExpenseClassTest {
                 .withInvoice(invoice)
                 .withInvoiceLine(invoiceLine)
                 .withFundDistribution(fundDistributionWithActiveExpenseClass)
-                .withBudget(new Budget().withFundId(UUID.randomUUID().toString()))
+                .withBudget(activeExpenseClassBudget)
                 .withExpenseClass(new ExpenseClass().withId(activeExpenseClassId));
 
         InvoiceWorkflowDataHolder holder2 = new InvoiceWorkflowDataHolder()
@@ -207,7 +217,7 @@ public class BudgetExpenseClassTest {
                 .withAdjustment(adjustment)
                 .withFundDistribution(fundDistributionWithNotAssignedExpenseClass)
                 .withExpenseClass(notAssignedExpenseClass)
-                .withBudget(new Budget().withFundId(UUID.randomUUID().toString()))
+                .withBudget(new Budget().withId(UUID.randomUUID().toString()).withFundId(UUID.randomUUID().toString()))
                 .withFund(noExpenseClassFund);
 
         holders.add(holder1);
@@ -217,8 +227,8 @@ public class BudgetExpenseClassTest {
         when(restClient.get(any(RequestEntry.class), any(), any()))
             .thenAnswer(invocation -> {
                 RequestEntry requestEntry = invocation.getArgument(0);
-                List<BudgetExpenseClass> budgetExpenseClasses = requestEntry.buildEndpoint().contains(notAssignedExpenseClassId)
-                    ? Collections.emptyList() : Collections.singletonList(active);
+                List<BudgetExpenseClass> budgetExpenseClasses = requestEntry.buildEndpoint().contains(active.getBudgetId())
+                    ? Collections.singletonList(active) : Collections.emptyList();
                 return succeededFuture(new BudgetExpenseClassCollection()
                                                              .withBudgetExpenseClasses(budgetExpenseClasses).withTotalRecords(1));
             });
@@ -245,4 +255,49 @@ public class BudgetExpenseClassTest {
           });
     }
 
+    @Test
+    void shouldCheckExpenseClassesWithOneQueryPerChunkOfBudgets(VertxTestContext vertxTestContext) {
+        String expenseClassId = UUID.randomUUID().toString();
+        String otherExpenseClassId = UUID.randomUUID().toString();
+        Invoice invoice = new Invoice();
+        List<BudgetExpenseClass> budgetExpenseClasses = new ArrayList<>();
+        List<InvoiceWorkflowDataHolder> holders = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Budget budget = new Budget().withId(UUID.randomUUID().toString()).withFundId(UUID.randomUUID().toString());
+            for (String id : List.of(expenseClassId, otherExpenseClassId)) {
+                budgetExpenseClasses.add(new BudgetExpenseClass().withId(UUID.randomUUID().toString())
+                        .withBudgetId(budget.getId())
+                        .withExpenseClassId(id)
+                        .withStatus(BudgetExpenseClass.Status.ACTIVE));
+                FundDistribution fundDistribution = new FundDistribution()
+                        .withFundId(budget.getFundId())
+                        .withExpenseClassId(id);
+                holders.add(new InvoiceWorkflowDataHolder()
+                        .withInvoice(invoice)
+                        .withInvoiceLine(new InvoiceLine().withFundDistributions(List.of(fundDistribution)))
+                        .withFundDistribution(fundDistribution)
+                        .withBudget(budget));
+            }
+        }
+
+        when(restClient.get(any(RequestEntry.class), any(), any()))
+            .thenAnswer(invocation -> {
+                RequestEntry requestEntry = invocation.getArgument(0);
+                List<BudgetExpenseClass> found = budgetExpenseClasses.stream()
+                    .filter(bec -> requestEntry.buildEndpoint().contains(bec.getBudgetId()))
+                    .toList();
+                return succeededFuture(new BudgetExpenseClassCollection()
+                                                             .withBudgetExpenseClasses(found).withTotalRecords(found.size()));
+            });
+
+        Future<List<InvoiceWorkflowDataHolder>> future = budgetExpenseClassService.checkExpenseClasses(holders, requestContext);
+        vertxTestContext.assertComplete(future)
+          .onComplete(result -> {
+            assertEquals(holders, result.result());
+            // 20 distinct budgets are requested in chunks of 15
+            verify(restClient, times(2)).get(any(RequestEntry.class), any(), any());
+            vertxTestContext.completeNow();
+          });
+    }
+
 }
@@ -6,11 +6,15 @@ import io.vertx.junit5.VertxTestContext;
 import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.rest.acq.model.finance.Budget;
 import org.folio.rest.acq.model.finance.BudgetCollection;
+import org.folio.rest.acq.model.finance.FiscalYear;
+import org.folio.rest.acq.model.finance.Fund;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
 import org.folio.rest.jaxrs.model.Error;
 import org.folio.rest.jaxrs.model.Errors;
+import org.folio.services.finance.FundService;
+import org.folio.services.finance.fiscalyear.CurrentFiscalYearService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,8 +26,12 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import static org.folio.invoices.utils.ErrorCodes.BUDGET_NOT_FOUND;
 import static org.folio.invoices.utils.ErrorCodes.BUDGET_NOT_FOUND_USING_FISCAL_YEAR_ID;
+import static org.folio.invoices.utils.ErrorCodes.FUNDS_NOT_FOUND;
+import static org.folio.invoices.utils.HelperUtils.convertIdsToCqlQuery;
 import static org.folio.invoices.utils.HelperUtils.encodeQuery;
 import static org.folio.invoices.utils.ResourcePathResolver.BUDGETS;
 import static org.folio.invoices.utils.ResourcePathResolver.resourcesPath;
@@ -31,6 +39,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -89,11 +101,13 @@ public class BudgetServiceTest {
     List<String> fundIds = List.of(fundId);
     String invoiceFiscalYearId = UUID.randomUUID().toString();
     Budget budget = new Budget()
-      .withId(UUID.randomUUID().toString());
+      .withId(UUID.randomUUID().toString())
+      .withFundId(fundId)
+      .withFiscalYearId(invoiceFiscalYearId);
     BudgetCollection budgetCollection = new BudgetCollection()
       .withBudgets(List.of(budget))
       .withTotalRecords(1);
-    String query = String.format("budgetStatus==Active AND fundId==%s AND fiscalYearId==%s", fundId, invoiceFiscalYearId);
+    String query = String.format("budgetStatus==Active AND fundId==(%s) AND fiscalYearId==%s", fundId, invoiceFiscalYearId);
     ArgumentCaptor<RequestEntry> requestEntryCaptor = ArgumentCaptor.forClass(RequestEntry.class);
     when(restClient.get(requestEntryCaptor.capture(), any(), any()))
       .thenReturn(Future.succeededFuture(budgetCollection));
@@ -137,4 +151,134 @@ public class BudgetServiceTest {
         vertxTestContext.completeNow();
       });
   }
+
+  @Test
+  void shouldRequestBudgetsOfManyFundsByChunks(VertxTestContext vertxTestContext) {
+    List<String> fundIds = Stream.generate(() -> UUID.randomUUID().toString()).limit(20).toList();
+    String invoiceFiscalYearId = UUID.randomUUID().toString();
+    List<Budget> budgets = fundIds.stream()
+      .map(fundId -> new Budget().withId(UUID.randomUUID().toString()).withFundId(fundId).withFiscalYearId(invoiceFiscalYearId))
+      .toList();
+    ArgumentCaptor<RequestEntry> requestEntryCaptor = ArgumentCaptor.forClass(RequestEntry.class);
+    when(restClient.get(requestEntryCaptor.capture(), any(), any()))
+      .thenReturn(Future.succeededFuture(new BudgetCollection().withBudgets(budgets.subList(0, 15)).withTotalRecords(15)))
+      .thenReturn(Future.succeededFuture(new BudgetCollection().withBudgets(budgets.subList(15, 20)).withTotalRecords(5)));
+
+    Future<List<Budget>> f = budgetService.getBudgetsByFundIds(fundIds, invoiceFiscalYearId, false, requestContext);
+
+    vertxTestContext.assertComplete(f)
+      .onComplete(result -> {
+        verify(restClient, times(2)).get(any(RequestEntry.class), any(), any());
+        String query = String.format("budgetStatus==Active AND %s AND fiscalYearId==%s",
+          convertIdsToCqlQuery(fundIds.subList(15, 20), "fundId", true), invoiceFiscalYearId);
+        assertEquals(encodeQuery(query), requestEntryCaptor.getAllValues().get(1).getQueryParams().get("query"));
+        assertEquals(budgets, result.result());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldReportFundWithoutBudgetWhenGettingBudgetsOfManyFunds(VertxTestContext vertxTestContext) {
+    String fundId1 = UUID.randomUUID().toString();
+    String fundId2 = UUID.randomUUID().toString();
+    String invoiceFiscalYearId = UUID.randomUUID().toString();
+    Budget budget = new Budget()
+      .withId(UUID.randomUUID().toString())
+      .withFundId(fundId1)
+      .withFiscalYearId(invoiceFiscalYearId);
+    when(restClient.get(any(RequestEntry.class), any(), any()))
+      .thenReturn(Future.succeededFuture(new BudgetCollection().withBudgets(List.of(budget)).withTotalRecords(1)));
+
+    Future<List<Budget>> f = budgetService.getBudgetsByFundIds(List.of(fundId1, fundId2), invoiceFiscalYearId, false, requestContext);
+
+    vertxTestContext.assertFailure(f)
+      .onComplete(result -> {
+        HttpException exception = (HttpException) result.cause();
+        assertEquals(404, exception.getCode());
+        Error error = exception.getErrors().getErrors().getFirst();
+        assertEquals(BUDGET_NOT_FOUND_USING_FISCAL_YEAR_ID.getCode(), error.getCode());
+        assertEquals(fundId2, error.getParameters().getFirst().getValue());
+        assertEquals(invoiceFiscalYearId, error.getParameters().get(1).getValue());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldResolveCurrentFiscalYearOncePerLedger(VertxTestContext vertxTestContext) {
+    var fundService = mock(FundService.class);
+    var currentFiscalYearService = mock(CurrentFiscalYearService.class);
+    var service = new BudgetService(restClient, null, fundService, currentFiscalYearService);
+    String ledgerId = UUID.randomUUID().toString();
+    String fiscalYearId = UUID.randomUUID().toString();
+    List<Fund> funds = Stream.generate(() -> new Fund().withId(UUID.randomUUID().toString()).withLedgerId(ledgerId))
+      .limit(3)
+      .toList();
+    List<String> fundIds = funds.stream().map(Fund::getId).toList();
+    List<Budget> budgets = fundIds.stream()
+      .map(fundId -> new Budget().withId(UUID.randomUUID().toString()).withFundId(fundId).withFiscalYearId(fiscalYearId))
+      .toList();
+    when(fundService.getFunds(anyCollection(), any())).thenReturn(Future.succeededFuture(funds));
+    when(currentFiscalYearService.getCurrentFiscalYear(eq(ledgerId), any()))
+      .thenReturn(Future.succeededFuture(new FiscalYear().withId(fiscalYearId)));
+    when(restClient.get(any(RequestEntry.class), eq(BudgetCollection.class), any()))
+      .thenReturn(Future.succeededFuture(new BudgetCollection().withBudgets(budgets).withTotalRecords(3)));
+
+    Future<List<Budget>> f = service.getBudgetsByFundIds(fundIds, null, false, requestContext);
+
+    vertxTestContext.assertComplete(f)
+      .onComplete(result -> {
+        verify(currentFiscalYearService, times(1)).getCurrentFiscalYear(eq(ledgerId), any());
+        verify(restClient, times(1)).get(any(RequestEntry.class), any(), any());
+        assertEquals(budgets, result.result());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldUseLedgersOfLoadedFundsToResolveCurrentFiscalYear(VertxTestContext vertxTestContext) {
+    var fundService = mock(FundService.class);
+    var currentFiscalYearService = mock(CurrentFiscalYearService.class);
+    var service = new BudgetService(restClient, null, fundService, currentFiscalYearService);
+    String ledgerId = UUID.randomUUID().toString();
+    String fiscalYearId = UUID.randomUUID().toString();
+    Fund fund = new Fund().withId(UUID.randomUUID().toString()).withLedgerId(ledgerId);
+    Budget budget = new Budget().withId(UUID.randomUUID().toString()).withFundId(fund.getId()).withFiscalYearId(fiscalYearId);
+    when(currentFiscalYearService.getCurrentFiscalYear(eq(ledgerId), any()))
+      .thenReturn(Future.succeededFuture(new FiscalYear().withId(fiscalYearId)));
+    when(restClient.get(any(RequestEntry.class), eq(BudgetCollection.class), any()))
+      .thenReturn(Future.succeededFuture(new BudgetCollection().withBudgets(List.of(budget)).withTotalRecords(1)));
+
+    Future<List<Budget>> f = service.getBudgetsByFundIds(List.of(fund.getId()), List.of(fund), null, false, false, requestContext);
+
+    vertxTestContext.assertComplete(f)
+      .onComplete(result -> {
+        verify(fundService, never()).getFunds(anyCollection(), any());
+        assertEquals(List.of(budget), result.result());
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  void shouldRequestCurrentBudgetPerFundWhenCurrentFiscalYearIsNotResolved(VertxTestContext vertxTestContext) {
+    var fundService = mock(FundService.class);
+    var currentFiscalYearService = mock(CurrentFiscalYearService.class);
+    var service = new BudgetService(restClient, null, fundService, currentFiscalYearService);
+    String fundId = UUID.randomUUID().toString();
+    when(fundService.getFunds(anyCollection(), any()))
+      .thenReturn(Future.failedFuture(new HttpException(404, FUNDS_NOT_FOUND)));
+    when(restClient.get(any(RequestEntry.class), eq(Budget.class), any()))
+      .thenReturn(Future.failedFuture(new HttpException(404, "Not found")));
+
+    Future<List<Budget>> f = service.getBudgetsByFundIds(List.of(fundId), null, false, requestContext);
+
+    vertxTestContext.assertFailure(f)
+      .onComplete(result -> {
+        HttpException exception = (HttpException) result.cause();
+        assertEquals(404, exception.getCode());
+        Error error = exception.getErrors().getErrors().getFirst();
+        assertEquals(BUDGET_NOT_FOUND.getCode(), error.getCode());
+        assertEquals(fundId, error.getParameters().getFirst().getValue());
+        vertxTestContext.completeNow();
+      });
+  }
 }
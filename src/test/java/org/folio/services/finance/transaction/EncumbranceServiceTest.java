@@ -381,4 +381,57 @@ public class EncumbranceServiceTest {
       });
   }
 
+  @Test
+  @DisplayName("use the first matching encumbrance when several encumbrances match a fund distribution")
+  void shouldUseFirstMatchingEncumbrance(VertxTestContext vertxTestContext) {
+    String fiscalYearId = UUID.randomUUID().toString();
+    String poLineId = UUID.randomUUID().toString();
+    String fundId = UUID.randomUUID().toString();
+    String expenseClassId = UUID.randomUUID().toString();
+    Transaction otherExpenseClassEncumbrance1 = buildEncumbrance(fiscalYearId, poLineId, fundId, UUID.randomUUID().toString());
+    Transaction otherExpenseClassEncumbrance2 = buildEncumbrance(fiscalYearId, poLineId, fundId, UUID.randomUUID().toString());
+    Transaction sameExpenseClassEncumbrance1 = buildEncumbrance(fiscalYearId, poLineId, fundId, expenseClassId);
+    Transaction sameExpenseClassEncumbrance2 = buildEncumbrance(fiscalYearId, poLineId, fundId, expenseClassId);
+
+    FundDistribution fdWithExpenseClass = new FundDistribution()
+      .withFundId(fundId)
+      .withExpenseClassId(expenseClassId);
+    FundDistribution fdWithRemovedExpenseClass = new FundDistribution()
+      .withFundId(fundId)
+      .withExpenseClassId(UUID.randomUUID().toString());
+    InvoiceLine line = new InvoiceLine()
+      .withPoLineId(poLineId)
+      .withFundDistributions(List.of(fdWithExpenseClass, fdWithRemovedExpenseClass));
+    List<InvoiceWorkflowDataHolder> holders = List.of(
+      new InvoiceWorkflowDataHolder().withInvoiceLine(line).withFundDistribution(fdWithExpenseClass),
+      new InvoiceWorkflowDataHolder().withInvoiceLine(line).withFundDistribution(fdWithRemovedExpenseClass));
+
+    TransactionCollection transactionCollection = new TransactionCollection()
+      .withTotalRecords(4)
+      .withTransactions(List.of(otherExpenseClassEncumbrance1, sameExpenseClassEncumbrance1, otherExpenseClassEncumbrance2,
+        sameExpenseClassEncumbrance2));
+    when(restClient.get(any(RequestEntry.class), any(), eq(requestContext)))
+      .thenReturn(Future.succeededFuture(transactionCollection));
+
+    Future<List<InvoiceLine>> future = encumbranceService.updateInvoiceLinesEncumbranceLinks(holders, fiscalYearId,
+      requestContext);
+
+    vertxTestContext.assertComplete(future)
+      .onComplete(ar -> {
+        assertEquals(sameExpenseClassEncumbrance1.getId(), fdWithExpenseClass.getEncumbrance());
+        assertEquals(otherExpenseClassEncumbrance1.getId(), fdWithRemovedExpenseClass.getEncumbrance());
+        assertThat(ar.result(), hasSize(1));
+        vertxTestContext.completeNow();
+      });
+  }
+
+  private Transaction buildEncumbrance(String fiscalYearId, String poLineId, String fundId, String expenseClassId) {
+    return new Transaction()
+      .withId(UUID.randomUUID().toString())
+      .withFiscalYearId(fiscalYearId)
+      .withFromFundId(fundId)
+      .withExpenseClassId(expenseClassId)
+      .withEncumbrance(new Encumbrance().withSourcePoLineId(poLineId));
+  }
+
 }
@@ -0,0 +1,36 @@
+package org.folio.services.ftp;
+
+import static org.folio.services.ftp.ConnectionPoolConfig.IDLE_TIMEOUT_PARAM;
+import static org.folio.services.ftp.ConnectionPoolConfig.MAX_IDLE_PER_KEY_PARAM;
+import static org.folio.services.ftp.ConnectionPoolConfig.MAX_IDLE_TOTAL_PARAM;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class ConnectionPoolConfigTest {
+
+  @Test
+  void shouldUseDefaultsWhenNothingConfigured() {
+    var config = new ConnectionPoolConfig(param -> null);
+
+    assertEquals(2, config.getMaxIdlePerKey());
+    assertEquals(20, config.getMaxIdleTotal());
+    assertEquals(Duration.ofSeconds(60), config.getIdleTimeout());
+  }
+
+  @Test
+  void shouldApplyConfiguredLimits() {
+    Map<String, String> properties = Map.of(
+      MAX_IDLE_PER_KEY_PARAM, "1",
+      MAX_IDLE_TOTAL_PARAM, " 5 ",
+      IDLE_TIMEOUT_PARAM, "300");
+    var config = new ConnectionPoolConfig(properties::get);
+
+    assertEquals(1, config.getMaxIdlePerKey());
+    assertEquals(5, config.getMaxIdleTotal());
+    assertEquals(Duration.ofSeconds(300), config.getIdleTimeout());
+  }
+}
@@ -2,10 +2,12 @@ package org.folio.services.ftp;
 
 import static org.folio.services.ftp.FtpUploadService.URL_NOT_FOUND_FOR_FTP;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
@@ -35,6 +37,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockftpserver.fake.FakeFtpServer;
 import org.mockftpserver.fake.UserAccount;
 import org.mockftpserver.fake.filesystem.DirectoryEntry;
+import org.mockftpserver.fake.filesystem.FileEntry;
 import org.mockftpserver.fake.filesystem.FileSystem;
 import org.mockftpserver.fake.filesystem.UnixFakeFileSystem;
 
@@ -248,4 +251,61 @@ public class FtpUploadServiceTest {
     vertxTestContext.assertComplete(future)
       .onSuccess(result -> vertxTestContext.completeNow());
   }
+
+  @Test
+  public void testStreamedUpload(VertxTestContext vertxTestContext) throws URISyntaxException {
+    logger.info("=== Test streamed upload ===");
+
+    String content = "{\"id\":\"" + UUID.randomUUID() + "\"}";
+    String streamedFilename = "streamed_" + filename;
+
+    FtpUploadService helper = new FtpUploadService(context, uri, 0);
+    var future = helper.upload(context, username_valid, password_valid, user_home_dir, streamedFilename,
+        outputStream -> outputStream.write(content.getBytes(StandardCharsets.UTF_8)))
+      .onFailure(t -> Assertions.fail(t.getMessage()));
+    vertxTestContext.assertComplete(future)
+      .onSuccess(result -> vertxTestContext.verify(() -> {
+        FileEntry file = (FileEntry) fakeFtpServer.getFileSystem().getEntry(user_home_dir + "/" + streamedFilename);
+        assertEquals(content, new String(file.getCurrentBytes(), StandardCharsets.UTF_8));
+        vertxTestContext.completeNow();
+      }));
+  }
+
+  @Test
+  public void testUploadOfStringContentInUtf8(VertxTestContext vertxTestContext) throws URISyntaxException {
+    logger.info("=== Test upload of non-ASCII content ===");
+
+    String content = "{\"vendorName\":\"Société Générale – Zürich\"}";
+    String utf8Filename = "utf8_" + filename;
+
+    FtpUploadService helper = new FtpUploadService(context, uri, 0);
+    var future = helper.upload(context, username_valid, password_valid, user_home_dir, utf8Filename, content)
+      .onFailure(t -> Assertions.fail(t.getMessage()));
+    vertxTestContext.assertComplete(future)
+      .onSuccess(result -> vertxTestContext.verify(() -> {
+        FileEntry file = (FileEntry) fakeFtpServer.getFileSystem().getEntry(user_home_dir + "/" + utf8Filename);
+        assertEquals(content, new String(file.getCurrentBytes(), StandardCharsets.UTF_8));
+        vertxTestContext.completeNow();
+      }));
+  }
+
+  @Test
+  public void testStreamedUploadRemovesIncompleteFileOnFailure(VertxTestContext vertxTestContext) throws URISyntaxException {
+    logger.info("=== Test failed streamed upload ===");
+
+    String failedFilename = "failed_" + filename;
+
+    FtpUploadService helper = new FtpUploadService(context, uri, 0);
+    var future = helper.upload(context, username_valid, password_valid, user_home_dir, failedFilename, outputStream -> {
+        outputStream.write("{\"id\":".getBytes(StandardCharsets.UTF_8));
+        throw new IllegalStateException("Conversion failed");
+      })
+      .onSuccess(m -> Assertions.fail("Expected upload failure but got " + m));
+    vertxTestContext.assertFailure(future)
+      .onFailure(t -> vertxTestContext.verify(() -> {
+        assertEquals("Conversion failed", t.getCause().getMessage());
+        assertFalse(fakeFtpServer.getFileSystem().exists(user_home_dir + "/" + failedFilename));
+        vertxTestContext.completeNow();
+      }));
+  }
 }
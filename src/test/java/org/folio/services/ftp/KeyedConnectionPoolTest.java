@@ -0,0 +1,129 @@
+package org.folio.services.ftp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.folio.exceptions.FtpException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class KeyedConnectionPoolTest {
+
+  private static final ConnectionKey KEY = new ConnectionKey("localhost", 21, "user", "password");
+  private static final ConnectionKey OTHER_KEY = new ConnectionKey("localhost", 21, "user", "changed");
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final AtomicLong clock = new AtomicLong();
+  private KeyedConnectionPool<ConnectionKey, TestConnection> pool;
+
+  private static class TestConnection {
+    private final ConnectionKey key;
+    private boolean open = true;
+
+    TestConnection(ConnectionKey key) {
+      this.key = key;
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    pool = new KeyedConnectionPool<>(key -> {
+      created.incrementAndGet();
+      return new TestConnection(key);
+    }, connection -> connection.open, connection -> connection.open = false, 2, 3, Duration.ofSeconds(60), clock::get);
+  }
+
+  @Test
+  void shouldReuseReleasedConnectionOfSameKey() throws Exception {
+    TestConnection connection = pool.borrow(KEY);
+    pool.release(KEY, connection);
+
+    assertSame(connection, pool.borrow(KEY));
+    assertEquals(1, created.get());
+  }
+
+  @Test
+  void shouldNotReuseConnectionOfAnotherKey() throws Exception {
+    TestConnection connection = pool.borrow(KEY);
+    pool.release(KEY, connection);
+
+    TestConnection otherConnection = pool.borrow(OTHER_KEY);
+    assertNotSame(connection, otherConnection);
+    assertEquals(OTHER_KEY, otherConnection.key);
+  }
+
+  @Test
+  void shouldReplaceConnectionFailingValidation() throws Exception {
+    TestConnection connection = pool.borrow(KEY);
+    pool.release(KEY, connection);
+    connection.open = false;
+
+    assertNotSame(connection, pool.borrow(KEY));
+    assertEquals(2, created.get());
+  }
+
+  @Test
+  void shouldDestroyInvalidatedConnection() throws Exception {
+    TestConnection connection = pool.borrow(KEY);
+    pool.invalidate(connection);
+
+    assertFalse(connection.open);
+    assertEquals(0, pool.getIdleCount());
+  }
+
+  @Test
+  void shouldDestroyConnectionsAboveIdleLimits() throws Exception {
+    TestConnection first = pool.borrow(KEY);
+    TestConnection second = pool.borrow(KEY);
+    TestConnection third = pool.borrow(KEY);
+    pool.release(KEY, first);
+    pool.release(KEY, second);
+    pool.release(KEY, third);
+
+    assertTrue(first.open);
+    assertTrue(second.open);
+    assertFalse(third.open);
+
+    TestConnection otherFirst = pool.borrow(OTHER_KEY);
+    TestConnection otherSecond = pool.borrow(OTHER_KEY);
+    pool.release(OTHER_KEY, otherFirst);
+    pool.release(OTHER_KEY, otherSecond);
+
+    assertTrue(otherFirst.open);
+    assertFalse(otherSecond.open);
+    assertEquals(3, pool.getIdleCount());
+  }
+
+  @Test
+  void shouldEvictIdleConnections() throws Exception {
+    TestConnection connection = pool.borrow(KEY);
+    pool.release(KEY, connection);
+
+    clock.addAndGet(Duration.ofSeconds(59).toNanos());
+    pool.evictIdle();
+    assertTrue(connection.open);
+
+    clock.addAndGet(Duration.ofSeconds(1).toNanos());
+    pool.evictIdle();
+    assertFalse(connection.open);
+    assertEquals(0, pool.getIdleCount());
+  }
+
+  @Test
+  void shouldThrowFactoryException() {
+    var failingPool = new KeyedConnectionPool<ConnectionKey, TestConnection>(key -> {
+      throw new FtpException(403, "Unable to connect");
+    }, connection -> true, connection -> {}, 2, 3, Duration.ofSeconds(60), clock::get);
+
+    FtpException exception = assertThrows(FtpException.class, () -> failingPool.borrow(KEY));
+    assertEquals("Unable to connect", exception.getReplyMessage());
+  }
+}
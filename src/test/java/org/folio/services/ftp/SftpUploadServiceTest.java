@@ -31,6 +31,7 @@ import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(VertxExtension.class)
 public class SftpUploadServiceTest {
@@ -77,7 +78,7 @@ public class SftpUploadServiceTest {
     batchVoucher.setBatchGroup(batch_group);
     batchVoucher.setCreated(new Date());
 
-    SftpUploadService helper = new SftpUploadService(uri, 22);
+    SftpUploadService helper = new SftpUploadService(context, uri, 22);
     var future = helper.upload(context, USERNAME, PASSWORD, EXPORT_FOLDER_NAME, FILENAME , JsonObject.mapFrom(batchVoucher).encodePrettily())
       .onSuccess(logger::info)
       .onFailure(t -> {
@@ -119,7 +120,7 @@ public class SftpUploadServiceTest {
     batchVoucher.setBatchGroup(UUID.randomUUID().toString());
     batchVoucher.setCreated(new Date());
 
-    SftpUploadService helper = new SftpUploadService(uri, 22);
+    SftpUploadService helper = new SftpUploadService(context, uri, 22);
     var future = helper.upload(context, USERNAME, PASSWORD, EXPORT_FOLDER_NAME+"/test/long/path", FILENAME , JsonObject.mapFrom(batchVoucher).encodePrettily())
       .onSuccess(logger::info)
       .onFailure(t -> {
@@ -161,7 +162,7 @@ public class SftpUploadServiceTest {
     batchVoucher.setBatchGroup(UUID.randomUUID().toString());
     batchVoucher.setCreated(new Date());
 
-    SftpUploadService helper = new SftpUploadService(uri, 22);
+    SftpUploadService helper = new SftpUploadService(context, uri, 22);
     var future = helper.upload(context, USERNAME, PASSWORD, "", FILENAME , JsonObject.mapFrom(batchVoucher).encodePrettily())
       .onSuccess(logger::info)
       .onFailure(t -> {
@@ -198,7 +199,7 @@ public class SftpUploadServiceTest {
     end.setTime(System.currentTimeMillis() - 864000000);
     BatchVoucher batchVoucher = new BatchVoucher();
 
-    SftpUploadService helper = new SftpUploadService(INVALID_URI, 22);
+    SftpUploadService helper = new SftpUploadService(context, INVALID_URI, 22);
     var future = helper.upload(context, USERNAME, PASSWORD, EXPORT_FOLDER_NAME+"/test/long/path", FILENAME , JsonObject.mapFrom(batchVoucher).encodePrettily())
       .onSuccess(logger::info)
       .onFailure(logger::info)
@@ -207,6 +208,61 @@ public class SftpUploadServiceTest {
       .onComplete(result -> vertxTestContext.completeNow());
   }
 
+  @Test
+  void testConnectionFromEventLoop(VertxTestContext vertxTestContext) throws Exception {
+    logger.info("=== Test connection from event loop ===");
+
+    SftpUploadService helper = new SftpUploadService(context, uri, 22);
+    context.runOnContext(v -> helper.testConnection(USERNAME, PASSWORD)
+      .onComplete(vertxTestContext.succeeding(ok -> helper.testConnection(USERNAME, "invalid")
+        .onComplete(vertxTestContext.failing(t -> vertxTestContext.completeNow())))));
+  }
+
+  @Test
+  void testStreamingUpload(VertxTestContext vertxTestContext) throws Exception {
+    logger.info("=== Test streaming upload ===");
+    String filename = UUID.randomUUID() + ".csv";
+    String content = "voucher line 1\nvoucher line 2\n";
+
+    SftpUploadService helper = new SftpUploadService(context, uri, 22);
+    var future = helper.upload(context, USERNAME, PASSWORD, EXPORT_FOLDER_NAME, filename,
+      outputStream -> {
+        for (String line : content.split("(?<=\n)")) {
+          outputStream.write(line.getBytes(StandardCharsets.UTF_8));
+        }
+      });
+    vertxTestContext.assertComplete(future)
+      .onSuccess(s -> vertxTestContext.verify(() -> {
+        SftpClient sftpClient = getSftpClient(USERNAME, PASSWORD, sftp.getHost(), sftp.getMappedPort(22));
+        byte[] fileBytes = download(sftpClient, EXPORT_FOLDER_NAME + "/" + filename);
+        sftpClient.close();
+
+        assertEquals(content, new String(fileBytes, StandardCharsets.UTF_8));
+        vertxTestContext.completeNow();
+      }))
+      .onFailure(vertxTestContext::failNow);
+  }
+
+  @Test
+  void testFailedStreamingUploadRemovesIncompleteFile(VertxTestContext vertxTestContext) throws Exception {
+    logger.info("=== Test failed streaming upload ===");
+    String filename = UUID.randomUUID() + ".csv";
+
+    SftpUploadService helper = new SftpUploadService(context, uri, 22);
+    var future = helper.upload(context, USERNAME, PASSWORD, EXPORT_FOLDER_NAME, filename,
+      outputStream -> {
+        outputStream.write("incomplete".getBytes(StandardCharsets.UTF_8));
+        throw new IOException("Unable to build the content");
+      });
+    vertxTestContext.assertFailure(future)
+      .onFailure(t -> vertxTestContext.verify(() -> {
+        SftpClient sftpClient = getSftpClient(USERNAME, PASSWORD, sftp.getHost(), sftp.getMappedPort(22));
+        assertThrows(IOException.class, () -> sftpClient.stat(EXPORT_FOLDER_NAME + "/" + filename));
+        sftpClient.close();
+        vertxTestContext.completeNow();
+      }));
+  }
+
   public byte[] download(SftpClient sftpClient, String path) throws IOException {
     byte[] fileBytes = null;
     try (InputStream stream = sftpClient.read(path)) {
@@ -0,0 +1,73 @@
+package org.folio.services.ftp;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+public class UploadCompressionTest {
+
+  private static final String FILE_NAME = "bv_b58dcd02ee14_Amherst College (AC)_2019-12-06_2019-12-07.xml";
+  private static final byte[] CONTENT = "<batchVoucher>".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+  private static class CloseTrackingOutputStream extends ByteArrayOutputStream {
+    private boolean closed;
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  @Test
+  void shouldParseCompressionIgnoringCase() {
+    assertEquals(UploadCompression.NONE, UploadCompression.fromValue(null));
+    assertEquals(UploadCompression.NONE, UploadCompression.fromValue(" "));
+    assertEquals(UploadCompression.GZIP, UploadCompression.fromValue("gzip"));
+    assertEquals(UploadCompression.ZIP, UploadCompression.fromValue("Zip"));
+    assertThrows(IllegalArgumentException.class, () -> UploadCompression.fromValue("bzip2"));
+  }
+
+  @Test
+  void shouldAppendExtensionToFileName() {
+    assertEquals(FILE_NAME, UploadCompression.NONE.getFileName(FILE_NAME));
+    assertEquals(FILE_NAME + ".gz", UploadCompression.GZIP.getFileName(FILE_NAME));
+    assertEquals(FILE_NAME + ".zip", UploadCompression.ZIP.getFileName(FILE_NAME));
+  }
+
+  @Test
+  void shouldGzipContentWithoutClosingStream() throws IOException {
+    var outputStream = new CloseTrackingOutputStream();
+    UploadCompression.GZIP.compress(out -> out.write(CONTENT), FILE_NAME).write(outputStream);
+
+    assertFalse(outputStream.closed);
+    try (var gzip = new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      assertArrayEquals(CONTENT, gzip.readAllBytes());
+    }
+  }
+
+  @Test
+  void shouldZipContentAsSingleEntryWithoutClosingStream() throws IOException {
+    var outputStream = new CloseTrackingOutputStream();
+    UploadCompression.ZIP.compress(out -> out.write(CONTENT), FILE_NAME).write(outputStream);
+
+    assertFalse(outputStream.closed);
+    try (var zip = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      ZipEntry entry = zip.getNextEntry();
+      assertEquals(FILE_NAME, entry.getName());
+      assertArrayEquals(CONTENT, zip.readAllBytes());
+      assertNull(zip.getNextEntry());
+    }
+  }
+}
@@ -152,7 +152,7 @@ public class InvoiceFiscalYearsServiceTest {
     // The query that should be used to get the budgets, using the two fund ids
     String budgetQueryIds = convertIdsToCqlQuery(List.of(fund1.getId(), fund2.getId()), "fundId", true);
     String budgetQueryActive = "budgetStatus==Active";
-    String budgetQuery = String.format("%s AND %s", budgetQueryIds, budgetQueryActive);
+    String budgetQuery = String.format("%s AND %s sortBy id", budgetQueryIds, budgetQueryActive);
 
     // The query that should be used to get the fiscal years, using only fy1
     String queryIds = convertIdsToCqlQuery(List.of(fy1.getId()));
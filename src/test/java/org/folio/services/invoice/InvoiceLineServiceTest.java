@@ -1,6 +1,8 @@
 package org.folio.services.invoice;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.core.models.RequestEntry;
@@ -10,15 +12,19 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.invoices.utils.HelperUtils.encodeQuery;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -28,7 +34,9 @@ import static org.mockito.Mockito.when;
 
 public class InvoiceLineServiceTest {
   private AutoCloseable closeable;
-  @InjectMocks InvoiceLineService invoiceLineService;
+  private static final int PERSIST_CONCURRENCY = 2;
+
+  private InvoiceLineService invoiceLineService;
   @Mock
   private RequestContext requestContext;
   @Mock
@@ -37,6 +45,7 @@ public class InvoiceLineServiceTest {
   @BeforeEach
   public void initMocks() {
     closeable = MockitoAnnotations.openMocks(this);
+    invoiceLineService = new InvoiceLineService(restClient, PERSIST_CONCURRENCY);
   }
 
   @AfterEach
@@ -64,4 +73,66 @@ public class InvoiceLineServiceTest {
     assertEquals(encodeQuery(ids.toString()), requestEntries.getFirst().getQueryParams().get("query"));
     assertEquals(invoiceLines, future.result());
   }
+
+  @Test
+  public void shouldGroupInvoiceLinesOfSeveralInvoicesFetchedInChunks() {
+    List<String> invoiceIds = IntStream.range(0, 20).mapToObj(i -> "invoice" + i).toList();
+    InvoiceLine firstLine = new InvoiceLine().withId("line1").withInvoiceId("invoice0");
+    InvoiceLine secondLine = new InvoiceLine().withId("line2").withInvoiceId("invoice0");
+    InvoiceLine thirdLine = new InvoiceLine().withId("line3").withInvoiceId("invoice19");
+
+    when(restClient.get(any(RequestEntry.class), eq(InvoiceLineCollection.class), eq(requestContext)))
+      .thenReturn(succeededFuture(new InvoiceLineCollection().withInvoiceLines(List.of(firstLine, secondLine))))
+      .thenReturn(succeededFuture(new InvoiceLineCollection().withInvoiceLines(List.of(thirdLine))));
+
+    Future<Map<String, List<InvoiceLine>>> future = invoiceLineService.getInvoiceLinesGroupedByInvoiceId(invoiceIds, requestContext);
+
+    assertTrue(future.succeeded());
+    verify(restClient, times(2)).get(any(RequestEntry.class), eq(InvoiceLineCollection.class), any(RequestContext.class));
+    assertEquals(2, future.result().size());
+    assertEquals(List.of(firstLine, secondLine), future.result().get("invoice0"));
+    assertEquals(List.of(thirdLine), future.result().get("invoice19"));
+  }
+
+  @Test
+  public void shouldLimitConcurrentInvoiceLineUpdates() {
+    List<InvoiceLine> lines = IntStream.range(0, 5).mapToObj(i -> new InvoiceLine().withId("line" + i)).toList();
+    List<Promise<Void>> pendingUpdates = new ArrayList<>();
+    when(restClient.put(any(RequestEntry.class), any(InvoiceLine.class), eq(requestContext)))
+      .thenAnswer(invocation -> {
+        Promise<Void> promise = Promise.promise();
+        pendingUpdates.add(promise);
+        return promise.future();
+      });
+
+    Future<Void> future = invoiceLineService.persistInvoiceLines(lines, requestContext);
+
+    assertEquals(PERSIST_CONCURRENCY, pendingUpdates.size());
+    pendingUpdates.getFirst().complete();
+    assertEquals(PERSIST_CONCURRENCY + 1, pendingUpdates.size());
+    for (int i = 1; i < lines.size(); i++) {
+      pendingUpdates.get(i).complete();
+    }
+    assertTrue(future.succeeded());
+    verify(restClient, times(lines.size())).put(any(RequestEntry.class), any(InvoiceLine.class), eq(requestContext));
+  }
+
+  @Test
+  public void shouldUpdateAllInvoiceLinesAndFailWithFirstLineError() {
+    List<InvoiceLine> lines = IntStream.range(0, 5).mapToObj(i -> new InvoiceLine().withId("line" + i)).toList();
+    HttpException firstError = new HttpException(409, "line1 conflict");
+    HttpException secondError = new HttpException(409, "line3 conflict");
+    when(restClient.put(any(RequestEntry.class), any(InvoiceLine.class), eq(requestContext)))
+      .thenReturn(succeededFuture())
+      .thenReturn(Future.failedFuture(firstError))
+      .thenReturn(succeededFuture())
+      .thenReturn(Future.failedFuture(secondError))
+      .thenReturn(succeededFuture());
+
+    Future<Void> future = invoiceLineService.persistInvoiceLines(lines, requestContext);
+
+    assertFalse(future.succeeded());
+    assertSame(firstError, future.cause());
+    verify(restClient, times(lines.size())).put(any(RequestEntry.class), any(InvoiceLine.class), eq(requestContext));
+  }
 }
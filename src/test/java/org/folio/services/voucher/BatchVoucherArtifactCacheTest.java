@@ -0,0 +1,122 @@
+package org.folio.services.voucher;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.folio.invoices.rest.exceptions.HttpException;
+import org.folio.services.voucher.BatchVoucherArtifactCache.Artifact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BatchVoucherArtifactCacheTest {
+
+  private static final String KEY = BatchVoucherArtifactCache.buildKey("diku", "35657479-83b9-4760-9c39-b58dcd02ee14",
+    "Application/xml", "NONE");
+  private static final byte[] CONTENT = "<batchVoucher/>".getBytes(UTF_8);
+
+  @TempDir
+  Path directory;
+  private BatchVoucherArtifactCache cache;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    cache = new BatchVoucherArtifactCache(directory, 1, 3600);
+  }
+
+  @Test
+  void shouldReuseStoredArtifact() throws IOException {
+    Artifact artifact = cache.store(KEY, "bv.xml", outputStream -> outputStream.write(CONTENT));
+
+    assertTrue(artifact.cached());
+    assertEquals(CONTENT.length, artifact.size());
+    assertEquals(64, artifact.checksum().length());
+    assertTrue(cache.contains(KEY));
+    assertSame(artifact, cache.get(KEY));
+
+    var outputStream = new ByteArrayOutputStream();
+    cache.reader(artifact).write(outputStream);
+    assertArrayEquals(CONTENT, outputStream.toByteArray());
+  }
+
+  @Test
+  void shouldNotReuseArtifactOfAnotherTenant() throws IOException {
+    cache.store(KEY, "bv.xml", outputStream -> outputStream.write(CONTENT));
+
+    assertFalse(cache.contains(BatchVoucherArtifactCache.buildKey("other", "35657479-83b9-4760-9c39-b58dcd02ee14",
+      "Application/xml", "NONE")));
+    assertNull(cache.get(BatchVoucherArtifactCache.buildKey("other", "35657479-83b9-4760-9c39-b58dcd02ee14",
+      "Application/xml", "NONE")));
+  }
+
+  @Test
+  void shouldForgetCorruptedArtifactBeforeReuse() throws IOException {
+    Artifact artifact = cache.store(KEY, "bv.xml", outputStream -> outputStream.write(CONTENT));
+    Files.write(artifact.file(), "<corrupted/>".getBytes(UTF_8));
+
+    assertNull(cache.get(KEY));
+    assertFalse(cache.contains(KEY));
+  }
+
+  @Test
+  void shouldForgetArtifactWithRemovedFile() throws IOException {
+    Artifact artifact = cache.store(KEY, "bv.xml", outputStream -> outputStream.write(CONTENT));
+    Files.delete(artifact.file());
+
+    assertNull(cache.get(KEY));
+    assertFalse(cache.contains(KEY));
+    var reader = cache.reader(artifact);
+    assertThrows(IOException.class, () -> reader.write(new ByteArrayOutputStream()));
+  }
+
+  @Test
+  void shouldDeleteDirectoryOnClose() throws IOException {
+    Artifact artifact = cache.store(KEY, "bv.xml", outputStream -> outputStream.write(CONTENT));
+    Artifact notCached = cache.store(KEY, "bv.xml", outputStream -> outputStream.write(new byte[2 * 1024 * 1024]));
+
+    cache.close();
+
+    assertFalse(cache.contains(KEY));
+    assertFalse(Files.exists(artifact.file()));
+    assertFalse(Files.exists(notCached.file()));
+    try (var paths = Files.list(directory)) {
+      assertEquals(0, paths.count());
+    }
+  }
+
+  @Test
+  void shouldNotCacheArtifactLargerThanCache() throws IOException {
+    Artifact artifact = cache.store(KEY, "bv.xml", outputStream -> outputStream.write(new byte[2 * 1024 * 1024]));
+
+    assertFalse(artifact.cached());
+    assertNull(cache.get(KEY));
+    assertTrue(Files.exists(artifact.file()));
+
+    cache.discard(artifact);
+    assertFalse(Files.exists(artifact.file()));
+  }
+
+  @Test
+  void shouldDeleteFileWhenContentFails() throws IOException {
+    assertThrows(HttpException.class, () -> cache.store(KEY, "bv.xml", outputStream -> {
+      outputStream.write(CONTENT);
+      throw new HttpException(400, "Invalid batch voucher");
+    }));
+
+    assertNull(cache.get(KEY));
+    try (var files = Files.walk(directory)) {
+      assertTrue(files.noneMatch(Files::isRegularFile));
+    }
+  }
+}
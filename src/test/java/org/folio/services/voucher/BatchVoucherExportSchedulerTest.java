@@ -0,0 +1,109 @@
+package org.folio.services.voucher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.folio.invoices.rest.exceptions.HttpException;
+import org.junit.jupiter.api.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+public class BatchVoucherExportSchedulerTest {
+
+  private final List<String> started = new ArrayList<>();
+  private final List<Promise<Void>> exports = new ArrayList<>();
+
+  private Future<Void> schedule(BatchVoucherExportScheduler scheduler, String tenantId, String exportName) {
+    return scheduler.schedule(tenantId, () -> {
+      started.add(exportName);
+      Promise<Void> promise = Promise.promise();
+      exports.add(promise);
+      return promise.future();
+    });
+  }
+
+  @Test
+  void shouldNotRunMoreExportsThanLimit() {
+    var scheduler = new BatchVoucherExportScheduler(2, 10);
+
+    Future<Void> first = schedule(scheduler, "diku", "first");
+    schedule(scheduler, "diku", "second");
+    schedule(scheduler, "diku", "third");
+
+    assertEquals(List.of("first", "second"), started);
+    assertEquals(2, scheduler.getRunning());
+    assertEquals(1, scheduler.getQueued());
+
+    exports.get(0).complete();
+    assertTrue(first.succeeded());
+    assertEquals(List.of("first", "second", "third"), started);
+    assertEquals(2, scheduler.getRunning());
+    assertEquals(0, scheduler.getQueued());
+
+    exports.get(1).fail("Upload failed");
+    exports.get(2).complete();
+    assertEquals(0, scheduler.getRunning());
+  }
+
+  @Test
+  void shouldServeTenantsRoundRobin() {
+    var scheduler = new BatchVoucherExportScheduler(1, 10);
+
+    schedule(scheduler, "tenant1", "running");
+    schedule(scheduler, "tenant1", "tenant1-1");
+    schedule(scheduler, "tenant1", "tenant1-2");
+    schedule(scheduler, "tenant1", "tenant1-3");
+    schedule(scheduler, "tenant2", "tenant2-1");
+    schedule(scheduler, "tenant3", "tenant3-1");
+    schedule(scheduler, "tenant2", "tenant2-2");
+
+    for (int i = 0; i < 7; i++) {
+      exports.get(i).complete();
+    }
+
+    assertEquals(List.of("running", "tenant1-1", "tenant2-1", "tenant3-1", "tenant1-2", "tenant2-2", "tenant1-3"), started);
+    assertEquals(0, scheduler.getRunning());
+    assertEquals(0, scheduler.getQueued());
+  }
+
+  @Test
+  void shouldRejectExportWhenQueueIsFull() {
+    var scheduler = new BatchVoucherExportScheduler(1, 1);
+
+    schedule(scheduler, "diku", "running");
+    Future<Void> queued = schedule(scheduler, "diku", "queued");
+    Future<Void> rejected = schedule(scheduler, "diku", "rejected");
+
+    assertTrue(rejected.failed());
+    HttpException exception = assertInstanceOf(HttpException.class, rejected.cause());
+    assertEquals(429, exception.getCode());
+    assertEquals(1, scheduler.getRejected());
+    assertFalse(started.contains("rejected"));
+
+    exports.get(0).complete();
+    exports.get(1).complete();
+    assertTrue(queued.succeeded());
+  }
+
+  @Test
+  void shouldStartNextExportWhenExportThrows() {
+    var scheduler = new BatchVoucherExportScheduler(1, 10);
+
+    Future<Void> failed = scheduler.schedule("diku", () -> {
+      throw new IllegalStateException("Export failed");
+    });
+    Future<Void> next = schedule(scheduler, "diku", "next");
+
+    assertTrue(failed.failed());
+    assertEquals(List.of("next"), started);
+    exports.get(0).complete();
+    assertTrue(next.succeeded());
+    assertEquals(0, scheduler.getRunning());
+  }
+}
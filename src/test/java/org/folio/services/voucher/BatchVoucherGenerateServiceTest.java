@@ -4,15 +4,24 @@ import static org.folio.ApiTestSuite.mockPort;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static java.util.stream.Collectors.toMap;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
@@ -22,12 +31,17 @@ import io.vertx.junit5.VertxTestContext;
 import org.folio.converters.AddressConverter;
 import org.folio.invoices.rest.exceptions.HttpException;
 import org.folio.rest.RestConstants;
+import org.folio.rest.acq.model.Organization;
+import org.folio.rest.acq.model.VoucherLine;
 import org.folio.rest.core.RestClient;
 import org.folio.rest.core.models.RequestContext;
 import org.folio.rest.impl.ApiTestBase;
+import org.folio.rest.jaxrs.model.BatchGroup;
 import org.folio.rest.jaxrs.model.BatchVoucher;
 import org.folio.rest.jaxrs.model.BatchVoucherExport;
+import org.folio.rest.jaxrs.model.Invoice;
 import org.folio.rest.jaxrs.model.Parameter;
+import org.folio.rest.jaxrs.model.Voucher;
 import org.folio.rest.jaxrs.model.VoucherCollection;
 import org.folio.services.BatchGroupService;
 import org.folio.services.InvoiceLinesRetrieveService;
@@ -131,4 +145,76 @@ public class BatchVoucherGenerateServiceTest extends ApiTestBase {
         vertxTestContext.completeNow();
       });
   }
+
+  @Test
+  void shouldGenerateBatchVoucherByWindowsAndRetryFailedWindow(VertxTestContext vertxTestContext) {
+    String vendorId = UUID.randomUUID().toString();
+    List<Voucher> vouchers = new ArrayList<>();
+    Map<String, Invoice> invoices = new HashMap<>();
+    for (int i = 0; i < 5; i++) {
+      var invoice = new Invoice().withId(UUID.randomUUID().toString()).withVendorId(vendorId).withSubTotal(10d);
+      invoices.put(invoice.getId(), invoice);
+      vouchers.add(new Voucher().withId(UUID.randomUUID().toString())
+        .withInvoiceId(invoice.getId())
+        .withType(Voucher.Type.VOUCHER)
+        .withStatus(Voucher.Status.AWAITING_PAYMENT)
+        .withExchangeRate(1d));
+    }
+
+    VoucherService voucherService = mock(VoucherService.class);
+    doAnswer(invocation -> {
+      int offset = invocation.getArgument(1);
+      int limit = invocation.getArgument(2);
+      var page = vouchers.subList(Math.min(offset, vouchers.size()), Math.min(offset + limit, vouchers.size()));
+      return Future.succeededFuture(new VoucherCollection().withVouchers(new ArrayList<>(page)));
+    }).when(voucherService).getVouchers(anyString(), anyInt(), anyInt(), any(RequestContext.class));
+
+    VoucherLineService voucherLineService = mock(VoucherLineService.class);
+    AtomicInteger voucherLineCalls = new AtomicInteger();
+    doAnswer(invocation -> {
+      VoucherCollection window = invocation.getArgument(0);
+      // The second window fails once and has to be retried alone
+      if (voucherLineCalls.incrementAndGet() == 2) {
+        return Future.failedFuture(new HttpException(500, "Temporary failure"));
+      }
+      return Future.succeededFuture(window.getVouchers().stream()
+        .collect(toMap(Voucher::getId, voucher -> List.<VoucherLine>of())));
+    }).when(voucherLineService).getVoucherLinesMap(any(VoucherCollection.class), any(RequestContext.class));
+
+    InvoiceRetrieveService invoiceRetrieveService = mock(InvoiceRetrieveService.class);
+    doAnswer(invocation -> {
+      VoucherCollection window = invocation.getArgument(0);
+      return Future.succeededFuture(window.getVouchers().stream()
+        .collect(toMap(Voucher::getInvoiceId, voucher -> invoices.get(voucher.getInvoiceId()))));
+    }).when(invoiceRetrieveService).getInvoiceMap(any(VoucherCollection.class), any(RequestContext.class));
+
+    InvoiceLinesRetrieveService invoiceLinesRetrieveService = mock(InvoiceLinesRetrieveService.class);
+    doReturn(Future.succeededFuture(Map.of()))
+      .when(invoiceLinesRetrieveService).getInvoiceLineMap(any(VoucherCollection.class), any(RequestContext.class));
+
+    VendorRetrieveService vendorRetrieveService = mock(VendorRetrieveService.class);
+    doReturn(Future.succeededFuture(Map.of(vendorId, new Organization().withId(vendorId).withName("Vendor"))))
+      .when(vendorRetrieveService).getVendorsMap(anyList(), any(RequestContext.class));
+
+    BatchGroupService batchGroupService = mock(BatchGroupService.class);
+    doReturn(Future.succeededFuture(new BatchGroup().withName("FOLIO")))
+      .when(batchGroupService).getBatchGroup(any(), any(RequestContext.class));
+
+    var batchVoucherGenerateService = new BatchVoucherGenerateService(voucherService, invoiceRetrieveService,
+      invoiceLinesRetrieveService, voucherLineService, vendorRetrieveService, new AddressConverter(), batchGroupService, 2, 2);
+
+    Future<BatchVoucher> future = batchVoucherGenerateService.buildBatchVoucherObject(new BatchVoucherExport(),
+      new RequestContext(context, okapiHeaders));
+    vertxTestContext.assertComplete(future)
+      .onComplete(result -> vertxTestContext.verify(() -> {
+        BatchVoucher batchVoucher = result.result();
+        assertThat(batchVoucher.getTotalRecords(), is(5));
+        assertThat(batchVoucher.getBatchedVouchers().size(), is(5));
+        // 3 windows and one retry
+        verify(voucherLineService, times(4)).getVoucherLinesMap(any(VoucherCollection.class), any(RequestContext.class));
+        // The vendor is fetched once and reused by the next windows
+        verify(vendorRetrieveService, times(1)).getVendorsMap(anyList(), any(RequestContext.class));
+        vertxTestContext.completeNow();
+      }));
+  }
 }
@@ -0,0 +1,77 @@
+package org.folio.services.voucher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.invoices.rest.exceptions.HttpException;
+import org.folio.rest.core.RestClient;
+import org.folio.rest.jaxrs.model.BatchVoucher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+
+@ExtendWith(VertxExtension.class)
+public class BatchVoucherServiceTest {
+
+  private static final String CONVERSION_POOL_NAME = "batch-voucher-conversion";
+
+  private WorkerExecutor conversionExecutor;
+  private BatchVoucherService batchVoucherService;
+
+  @BeforeEach
+  void setUp(Vertx vertx) {
+    // Same executor as the one created by ServicesConfiguration
+    conversionExecutor = vertx.createSharedWorkerExecutor(CONVERSION_POOL_NAME, 4, 600, TimeUnit.SECONDS);
+    batchVoucherService = new BatchVoucherService(mock(RestClient.class), conversionExecutor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    conversionExecutor.close();
+  }
+
+  @Test
+  void shouldConvertBatchVoucherOnConversionExecutor(Vertx vertx, VertxTestContext testContext) {
+    BatchVoucher batchVoucher = new BatchVoucher().withId(UUID.randomUUID().toString());
+    vertx.getOrCreateContext().runOnContext(v -> {
+      assertTrue(Context.isOnEventLoopThread());
+      batchVoucherService.executeConversion(() -> {
+          assertFalse(Context.isOnEventLoopThread());
+          return Thread.currentThread().getName();
+        })
+        .onComplete(testContext.succeeding(threadName -> testContext.verify(() ->
+          assertTrue(threadName.startsWith(CONVERSION_POOL_NAME), threadName))))
+        .compose(threadName -> batchVoucherService.convertBatchVoucherAsync(batchVoucher, "application/json"))
+        .onComplete(testContext.succeeding(json -> testContext.verify(() -> {
+          assertEquals(batchVoucher.getId(), new JsonObject(json).getString("id"));
+          testContext.completeNow();
+        })));
+    });
+  }
+
+  @Test
+  void shouldFailConversionWithUnsupportedContentType(VertxTestContext testContext) {
+    BatchVoucher batchVoucher = new BatchVoucher().withId(UUID.randomUUID().toString());
+
+    batchVoucherService.convertBatchVoucherAsync(batchVoucher, "text/plain")
+      .onComplete(testContext.failing(cause -> testContext.verify(() -> {
+        HttpException exception = assertInstanceOf(HttpException.class, cause);
+        assertEquals(400, exception.getCode());
+        testContext.completeNow();
+      })));
+  }
+}
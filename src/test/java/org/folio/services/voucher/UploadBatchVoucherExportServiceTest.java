@@ -2,7 +2,10 @@ package org.folio.services.voucher;
 
 import static io.vertx.core.Future.succeededFuture;
 import static org.folio.ApiTestSuite.mockPort;
+import static org.folio.invoices.utils.ResourcePathResolver.BATCH_VOUCHER_EXPORT_CONFIGS;
+import static org.folio.rest.impl.MockServer.addMockEntry;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -14,10 +17,12 @@ import static org.mockito.MockitoAnnotations.openMocks;
 
 import javax.ws.rs.core.Response;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import org.folio.config.ApplicationConfig;
@@ -33,6 +38,7 @@ import org.folio.rest.impl.UploadBatchVoucherExportHelper;
 import org.folio.rest.jaxrs.model.BatchVoucher;
 import org.folio.rest.jaxrs.model.BatchVoucherExport;
 import org.folio.rest.jaxrs.model.Credentials;
+import org.folio.rest.jaxrs.model.ExportConfig;
 import org.folio.rest.jaxrs.model.ExportConfigCollection;
 import org.folio.spring.SpringContextUtil;
 import org.junit.jupiter.api.Assertions;
@@ -41,6 +47,11 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
+import org.mockftpserver.fake.FakeFtpServer;
+import org.mockftpserver.fake.UserAccount;
+import org.mockftpserver.fake.filesystem.DirectoryEntry;
+import org.mockftpserver.fake.filesystem.FileSystem;
+import org.mockftpserver.fake.filesystem.UnixFakeFileSystem;
 
 @ExtendWith(VertxExtension.class)
 public class UploadBatchVoucherExportServiceTest extends ApiTestBase {
@@ -191,4 +202,101 @@ public class UploadBatchVoucherExportServiceTest extends ApiTestBase {
       });
   }
 
+  @Test
+  public void testUploadToAllDestinationsRecordsStatusOfEachDestination(VertxTestContext vertxTestContext) {
+    //given
+    UploadBatchVoucherExportHelper serviceSpy = spy(new UploadBatchVoucherExportHelper(okapiHeaders, context));
+    BatchVoucherExport bv = getMockAsJson(BATCH_VOUCHERS_EXPORT_PATH).mapTo(BatchVoucherExport.class);
+    bv.setId("xxxyyyzzb58dcd02ee14");
+    //When
+    var future = serviceSpy.uploadBatchVoucherExport(bv);
+    //Then
+    vertxTestContext.assertFailure(future)
+      .onComplete(event -> {
+        assertEquals(BatchVoucherExport.Status.ERROR, bv.getStatus());
+        // Both export configurations of the mocked batch group point to the same unreachable server
+        String[] destinationStatuses = bv.getMessage().split("; ");
+        assertEquals(2, destinationStatuses.length);
+        for (String destinationStatus : destinationStatuses) {
+          assertTrue(destinationStatus.contains("failed to upload to ftp://ftp.amherst-lib.edu/invoices/"));
+          assertTrue(destinationStatus.endsWith("Unable to connect to ftp.amherst-lib.edu:22"));
+        }
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  public void testUploadToOtherDestinationsWhenCredentialsOfDestinationAreMissing(VertxTestContext vertxTestContext) {
+    //given
+    ExportConfig withCredentials = getMockAsJson(BATCH_VOUCHERS_EXPORT_CONF_COLLECTION_PATH).mapTo(ExportConfigCollection.class)
+      .getExportConfigs().get(0);
+    ExportConfig withoutCredentials = JsonObject.mapFrom(withCredentials).mapTo(ExportConfig.class)
+      .withId(ID_DOES_NOT_EXIST)
+      .withUploadURI("ftp://ftp.other-lib.edu/invoices/");
+    addMockEntry(BATCH_VOUCHER_EXPORT_CONFIGS, withCredentials);
+    addMockEntry(BATCH_VOUCHER_EXPORT_CONFIGS, withoutCredentials);
+    UploadBatchVoucherExportHelper serviceSpy = spy(new UploadBatchVoucherExportHelper(okapiHeaders, context));
+    BatchVoucherExport bv = getMockAsJson(BATCH_VOUCHERS_EXPORT_PATH).mapTo(BatchVoucherExport.class);
+    bv.setId("xxxyyyzzb58dcd02ee14");
+    //When
+    var future = serviceSpy.uploadBatchVoucherExport(bv);
+    //Then
+    vertxTestContext.assertFailure(future)
+      .onComplete(event -> {
+        assertEquals(BatchVoucherExport.Status.ERROR, bv.getStatus());
+        List<String> destinationStatuses = List.of(bv.getMessage().split("; "));
+        assertEquals(2, destinationStatuses.size());
+        // The destination with credentials is still tried
+        assertTrue(destinationStatuses.stream().anyMatch(status -> status.contains("failed to upload to ftp://ftp.amherst-lib.edu/invoices/")
+          && status.endsWith("Unable to connect to ftp.amherst-lib.edu:22")));
+        assertTrue(destinationStatuses.contains("Upload to ftp://ftp.other-lib.edu/invoices/ was skipped: "
+          + "Credentials for FTP upload were not found"));
+        vertxTestContext.completeNow();
+      });
+  }
+
+  @Test
+  public void testErrorStatusWhenOneDestinationIsSkippedAndOtherIsUploaded(VertxTestContext vertxTestContext) {
+    //given
+    FakeFtpServer ftpServer = new FakeFtpServer();
+    ftpServer.setServerControlPort(0);
+    FileSystem fileSystem = new UnixFakeFileSystem();
+    fileSystem.add(new DirectoryEntry("/invoices"));
+    ftpServer.setFileSystem(fileSystem);
+    ftpServer.addUserAccount(new UserAccount("jsmith", "letmein", "/"));
+    ftpServer.start();
+
+    ExportConfig skipped = getMockAsJson(BATCH_VOUCHERS_EXPORT_CONF_COLLECTION_PATH).mapTo(ExportConfigCollection.class)
+      .getExportConfigs().get(0)
+      .withId(ID_DOES_NOT_EXIST)
+      .withUploadURI("ftp://ftp.other-lib.edu/invoices/");
+    ExportConfig uploaded = JsonObject.mapFrom(skipped).mapTo(ExportConfig.class)
+      .withId(CRED_ID)
+      .withFtpFormat(ExportConfig.FtpFormat.FTP)
+      .withUploadURI("ftp://localhost:" + ftpServer.getServerControlPort() + "/")
+      .withUploadDirectory("/invoices");
+    // the skipped destination comes first
+    addMockEntry(BATCH_VOUCHER_EXPORT_CONFIGS, skipped);
+    addMockEntry(BATCH_VOUCHER_EXPORT_CONFIGS, uploaded);
+    UploadBatchVoucherExportHelper serviceSpy = spy(new UploadBatchVoucherExportHelper(okapiHeaders, context));
+    BatchVoucherExport bv = getMockAsJson(BATCH_VOUCHERS_EXPORT_PATH).mapTo(BatchVoucherExport.class);
+    bv.setId("xxxyyyzzb58dcd02ee14");
+    //When
+    var future = serviceSpy.uploadBatchVoucherExport(bv);
+    //Then
+    vertxTestContext.assertFailure(future)
+      .onComplete(event -> {
+        ftpServer.stop();
+        vertxTestContext.verify(() -> {
+          assertEquals(BatchVoucherExport.Status.ERROR, bv.getStatus());
+          List<String> destinationStatuses = List.of(bv.getMessage().split("; "));
+          assertEquals(2, destinationStatuses.size());
+          assertTrue(destinationStatuses.contains("Upload to ftp://ftp.other-lib.edu/invoices/ was skipped: "
+            + "Credentials for FTP upload were not found"));
+          assertTrue(destinationStatuses.stream().anyMatch(status -> status.contains("uploaded to ftp://localhost:")));
+          assertEquals(1, fileSystem.listFiles("/invoices").size());
+        });
+        vertxTestContext.completeNow();
+      });
+  }
 }